@@ -0,0 +1,73 @@
+package main.java.benchmark;
+
+import main.java.distance.Distance;
+import main.java.distance.ch.ContractionHierarchy;
+import main.java.graph.Graph;
+import main.java.utils.io.GraphReader;
+
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Compares contraction hierarchy queries with {@link Distance#dijkstra(Graph, int, int)} on the
+ * {@code large_graphs} data sets.
+ *
+ * <p>The data sets are uniformly random graphs, which unlike road networks have no small
+ * separators. Contracting the denser or larger ones adds close to a quadratic number of
+ * shortcuts, so only the sets where a hierarchy still pays off are measured.
+ */
+public class ContractionHierarchyBenchmark {
+    private static final String DIRECTORY = "src/data/graphs/large_graphs/simple/";
+    private static final String[] GRAPHS = {
+            "simple_order=100_size=SPARSE",
+            "simple_order=100_size=MEDIUM",
+            "simple_order=1000_size=SPARSE"
+    };
+    private static final int QUERIES = 1000;
+
+    public static void main(String[] args) {
+        for (String name : GRAPHS) {
+            Optional<Graph> graph = GraphReader.read(DIRECTORY + name);
+            if (graph.isEmpty()) {
+                continue;
+            }
+
+            run(name, graph.get());
+        }
+    }
+
+    private static void run(String name, Graph graph) {
+        long start = System.nanoTime();
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        long buildTime = System.nanoTime() - start;
+
+        Random random = new Random(42);
+        int[] sources = new int[QUERIES];
+        int[] targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.order());
+            targets[i] = random.nextInt(graph.order());
+        }
+
+        int[] expected = new int[QUERIES];
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            Integer distance = Distance.dijkstra(graph, sources[i], targets[i]);
+            expected[i] = distance == null ? Distance.UNREACHABLE : distance;
+        }
+        long dijkstraTime = System.nanoTime() - start;
+
+        int mismatches = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            if (ch.distance(sources[i], targets[i]) != expected[i]) {
+                mismatches++;
+            }
+        }
+        long chTime = System.nanoTime() - start;
+
+        System.out.printf("%s: order=%d size=%d ch edges=%d build=%.1fms dijkstra=%.1fus/query ch=%.1fus/query mismatches=%d%n",
+                name, graph.order(), graph.size(), ch.size(), buildTime / 1e6,
+                dijkstraTime / 1e3 / QUERIES, chTime / 1e3 / QUERIES, mismatches);
+    }
+}
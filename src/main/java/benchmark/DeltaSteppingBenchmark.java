@@ -0,0 +1,50 @@
+package main.java.benchmark;
+
+import main.java.distance.DeltaStepping;
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.utils.structures.Edge;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how {@link DeltaStepping} scales with the number of threads on a random directed
+ * graph with 10^6 edges and weights 1..10, and checks every result against
+ * {@link Distance#distances(Graph, int)}.
+ */
+public class DeltaSteppingBenchmark {
+    private static final int ORDER = 250_000;
+    private static final int SIZE = 1_000_000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Edge[] edges = new Edge[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            edges[i] = new Edge(random.nextInt(ORDER), random.nextInt(ORDER), random.nextInt(1, 11));
+        }
+        Graph graph = CsrGraph.fromEdgeList(edges, ORDER, true);
+
+        long start = System.nanoTime();
+        int[] expected = Distance.distances(graph, 0);
+        System.out.printf("dijkstra: %.1fms%n", (System.nanoTime() - start) / 1e6);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= Math.max(16, processors); threads *= 2) {
+            try (DeltaStepping deltaStepping = new DeltaStepping(graph, 10, threads)) {
+                long best = Long.MAX_VALUE;
+                boolean matches = true;
+                for (int run = 0; run < RUNS; run++) {
+                    start = System.nanoTime();
+                    int[] distances = deltaStepping.distances(0);
+                    best = Math.min(best, System.nanoTime() - start);
+                    matches &= Arrays.equals(expected, distances);
+                }
+
+                System.out.printf("delta-stepping threads=%d: %.1fms matches=%b%n", threads, best / 1e6, matches);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package main.java.benchmark;
+
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.csr.OffHeapCsrGraph;
+import main.java.search.BreadthFirstSearch;
+import main.java.utils.io.FileType;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Loads a random directed graph with 10^7 edges into an {@link OffHeapCsrGraph} and reports how
+ * much the heap grew, then runs top-down breadth-first searches and Dijkstra from several sources
+ * and reports the collections that happened during them. Finally writes the graph as a
+ * {@link FileType#BINARY_CSR} file and times opening it again, which maps the file instead of
+ * reading it.
+ */
+public class OffHeapGraphBenchmark {
+    private static final int ORDER = 1_000_000;
+    private static final int SIZE = 10_000_000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        // The edges are generated again for each pass instead of being kept on the heap.
+        OffHeapCsrGraph.EdgeSource edges = action -> {
+            SplittableRandom random = new SplittableRandom(42);
+            for (int i = 0; i < SIZE; i++) {
+                action.accept(random.nextInt(ORDER), random.nextInt(ORDER), random.nextInt(1, 11));
+            }
+        };
+
+        try (OffHeapCsrGraph graph = OffHeapCsrGraph.fromEdges(ORDER, true, edges)) {
+            System.out.printf("load: %.1fms, %d edges, heap growth %.1fMB%n",
+                    (System.nanoTime() - start) / 1e6, graph.size(), (usedHeap() - heapBefore) / 1e6);
+
+            long[] collections = collections();
+            start = System.nanoTime();
+            long reached = 0;
+            // Top-down search reads the buffers through the cursor; direction-optimizing search
+            // would take a heap copy of the graph.
+            BreadthFirstSearch search = new BreadthFirstSearch(graph);
+            for (int run = 0; run < RUNS; run++) {
+                for (int distance : search.distances(run)) {
+                    reached += distance >= 0 ? 1 : 0;
+                }
+            }
+            long[] after = collections();
+            System.out.printf("bfs x%d: %.1fms, %d reached, %d collections, %dms collecting%n", RUNS,
+                    (System.nanoTime() - start) / 1e6, reached, after[0] - collections[0], after[1] - collections[1]);
+
+            collections = after;
+            start = System.nanoTime();
+            for (int run = 0; run < RUNS; run++) {
+                Distance.distances(graph, run);
+            }
+            after = collections();
+            System.out.printf("dijkstra x%d: %.1fms, %d collections, %dms collecting%n", RUNS,
+                    (System.nanoTime() - start) / 1e6, after[0] - collections[0], after[1] - collections[1]);
+
+            Path file = Files.createTempFile("graph", ".bcsr");
+            try {
+                start = System.nanoTime();
+                graph.write(FileType.BINARY_CSR, file.toString());
+                System.out.printf("write: %.1fms, %.1fMB%n", (System.nanoTime() - start) / 1e6, Files.size(file) / 1e6);
+
+                start = System.nanoTime();
+                Graph mapped = Graph.read(file.toString()).orElseThrow();
+                System.out.printf("open: %.1fms, %d edges%n", (System.nanoTime() - start) / 1e6, mapped.size());
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of collections and the milliseconds spent in them, over all collectors.
+     */
+    private static long[] collections() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(collector.getCollectionCount(), 0);
+            totals[1] += Math.max(collector.getCollectionTime(), 0);
+        }
+
+        return totals;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
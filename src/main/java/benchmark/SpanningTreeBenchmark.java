@@ -0,0 +1,34 @@
+package main.java.benchmark;
+
+import main.java.connection.Connection;
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
+
+import java.math.BigInteger;
+
+/**
+ * Measures {@link Connection#kirchhoff(Graph)} on random connected undirected graphs of order 1000,
+ * from sparse to complete, and checks the complete graph against Cayley's formula.
+ */
+public class SpanningTreeBenchmark {
+    private static final int ORDER = 1000;
+
+    public static void main(String[] args) {
+        for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+            if (size == GraphBuilder.Size.EMPTY) {
+                continue;
+            }
+
+            Graph graph = new GraphBuilder().graphType(GraphType.UNDIRECTED).order(ORDER).size(size).build();
+            long start = System.nanoTime();
+            BigInteger count = Connection.kirchhoff(graph);
+            System.out.printf("%s: %.1fms, %d bits%n", size, (System.nanoTime() - start) / 1e6, count.bitLength());
+
+            if (size == GraphBuilder.Size.COMPLETE) {
+                System.out.printf("matches Cayley's formula: %b%n",
+                        count.equals(BigInteger.valueOf(ORDER).pow(ORDER - 2)));
+            }
+        }
+    }
+}
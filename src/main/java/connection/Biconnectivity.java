@@ -0,0 +1,353 @@
+package main.java.connection;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.simple.UndirectedGraph;
+import main.java.search.DepthFirstSearch;
+import main.java.utils.structures.Edge;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * The biconnected components (blocks), 2-edge-connected components and block-cut tree of an
+ * undirected graph, found in a single depth-first search.
+ *
+ * <p>The search keeps the low-link value of every vertex, the smallest discovery time its subtree
+ * reaches through one back edge (Hopcroft and Tarjan). A child {@code c} of {@code p} closes a
+ * block when {@code low[c] >= discovery[p]} and is joined to {@code p} by a bridge when
+ * {@code low[c] > discovery[p]}. Blocks share their cut-vertices, while 2-edge-connected
+ * components partition the vertices. A vertex without edges belongs to no block.
+ *
+ * <p>The search tree is kept, so whether removing a vertex or an edge disconnects two vertices is
+ * answered without changing the graph. Removing a vertex {@code x} cuts off the subtree of each
+ * child {@code c} with {@code low[c] >= discovery[x]}, so two vertices are separated when they
+ * fall in different pieces. Removing a bridge cuts off the subtree below it.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * Biconnectivity biconnectivity = Biconnectivity.of(graph);
+ * if (biconnectivity.separates(x, u, v)) {
+ *     // every path from u to v passes through x
+ * }
+ * }</pre>
+ */
+public class Biconnectivity {
+    private final int order;
+    private final int[] parents;
+    private final int[] roots;
+    private final int[] discovery;
+    private final int[] finish;
+    private final int[] low;
+    private final int[] childOffsets;
+    private final int[] children;
+    private final long[] cutVertices;
+    private final int[] blockOffsets;
+    private final int[] blockVertices;
+    private final Components twoEdgeConnectedComponents;
+    private int blockCount = 0;
+
+    /**
+     * Decomposes an undirected graph.
+     *
+     * @throws IllegalArgumentException if the graph is directed.
+     */
+    public static Biconnectivity of(Graph graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Biconnectivity is only defined for undirected graphs");
+        }
+
+        return new Biconnectivity(CsrGraph.of(graph));
+    }
+
+    private Biconnectivity(CsrGraph graph) {
+        order = graph.order();
+        DepthFirstSearch search = new DepthFirstSearch(graph);
+        parents = search.parents();
+        discovery = search.discovery();
+        finish = search.finish();
+        roots = new int[order];
+        low = new int[order];
+        cutVertices = new long[(order + 63) >>> 6];
+        blockOffsets = new int[order + 1];
+
+        Decomposition decomposition = new Decomposition();
+        for (int v = 0; v < order; v++) {
+            if (!search.isVisited(v)) {
+                decomposition.rootChildren = 0;
+                search.run(v, decomposition);
+                if (decomposition.rootChildren > 1) {
+                    markCutVertex(v);
+                }
+            }
+        }
+
+        blockVertices = Arrays.copyOf(decomposition.blockMembers, blockOffsets[blockCount]);
+        twoEdgeConnectedComponents = new Components(decomposition.labels, decomposition.labelCount);
+
+        // Children are listed in discovery order, so the one above a vertex can be binary searched.
+        childOffsets = new int[order + 1];
+        for (int v = 0; v < order; v++) {
+            if (parents[v] != -1) {
+                childOffsets[parents[v] + 1]++;
+            }
+        }
+        for (int v = 0; v < order; v++) {
+            childOffsets[v + 1] += childOffsets[v];
+        }
+        children = new int[childOffsets[order]];
+        int[] positions = Arrays.copyOf(childOffsets, order);
+        for (int v : decomposition.preOrder) {
+            if (parents[v] != -1) {
+                children[positions[parents[v]]++] = v;
+            }
+        }
+    }
+
+    /**
+     * Returns the vertices of a block.
+     */
+    public int[] block(int i) {
+        return Arrays.copyOfRange(blockVertices, blockOffsets[i], blockOffsets[i + 1]);
+    }
+
+    /**
+     * Returns the number of blocks.
+     */
+    public int blockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the block-cut tree: a forest with a node for every block, numbered as the blocks are,
+     * followed by a node for every cut-vertex in ascending order. Each block is joined to the
+     * cut-vertices it contains.
+     */
+    public UndirectedGraph blockCutTree() {
+        int[] nodes = new int[order];
+        int nodeCount = blockCount;
+        for (int v = 0; v < order; v++) {
+            nodes[v] = isCutVertex(v) ? nodeCount++ : -1;
+        }
+
+        UndirectedGraph tree = new UndirectedGraph(nodeCount);
+        for (int i = 0; i < blockCount; i++) {
+            for (int j = blockOffsets[i]; j < blockOffsets[i + 1]; j++) {
+                if (nodes[blockVertices[j]] != -1) {
+                    tree.addEdge(i, nodes[blockVertices[j]]);
+                }
+            }
+        }
+
+        return tree;
+    }
+
+    /**
+     * Returns the blocks as sets of vertices.
+     */
+    public HashSet<HashSet<Integer>> blocks() {
+        HashSet<HashSet<Integer>> blocks = new HashSet<>();
+        for (int i = 0; i < blockCount; i++) {
+            HashSet<Integer> block = new HashSet<>();
+            for (int j = blockOffsets[i]; j < blockOffsets[i + 1]; j++) {
+                block.add(blockVertices[j]);
+            }
+            blocks.add(block);
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Returns both directions of every bridge.
+     */
+    public HashSet<Edge> bridges() {
+        HashSet<Edge> bridges = new HashSet<>();
+        for (int v = 0; v < order; v++) {
+            if (isBridgeChild(v)) {
+                bridges.add(new Edge(parents[v], v));
+                bridges.add(new Edge(v, parents[v]));
+            }
+        }
+
+        return bridges;
+    }
+
+    /**
+     * Checks if two vertices are in the same connected component.
+     */
+    public boolean connected(int u, int v) {
+        return isValidVertex(u) && isValidVertex(v) && roots[u] == roots[v];
+    }
+
+    public boolean isBridge(int v1, int v2) {
+        if (!isValidVertex(v1) || !isValidVertex(v2)) {
+            return false;
+        }
+
+        return (parents[v2] == v1 && isBridgeChild(v2)) || (parents[v1] == v2 && isBridgeChild(v1));
+    }
+
+    public boolean isCutVertex(int v) {
+        return isValidVertex(v) && (cutVertices[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Checks if removing a vertex disconnects two other vertices that are currently connected.
+     */
+    public boolean separates(int x, int u, int v) {
+        if (x == u || x == v || !isCutVertex(x) || !connected(u, v)) {
+            return false;
+        }
+
+        return piece(x, u) != piece(x, v);
+    }
+
+    /**
+     * Checks if removing an edge disconnects two vertices that are currently connected.
+     */
+    public boolean separates(Edge edge, int u, int v) {
+        if (!isBridge(edge.v1, edge.v2) || !connected(u, v)) {
+            return false;
+        }
+
+        int child = parents[edge.v2] == edge.v1 ? edge.v2 : edge.v1;
+        return isDescendant(u, child) != isDescendant(v, child);
+    }
+
+    /**
+     * Returns the 2-edge-connected components, the pieces left once every bridge is removed.
+     */
+    public Components twoEdgeConnectedComponents() {
+        return twoEdgeConnectedComponents;
+    }
+
+    private boolean isBridgeChild(int v) {
+        return parents[v] != -1 && low[v] > discovery[parents[v]];
+    }
+
+    /**
+     * Checks if {@code v} is in the search subtree of {@code ancestor}.
+     */
+    private boolean isDescendant(int v, int ancestor) {
+        return discovery[ancestor] <= discovery[v] && finish[v] <= finish[ancestor];
+    }
+
+    private boolean isValidVertex(int v) {
+        return v >= 0 && v < order;
+    }
+
+    private void markCutVertex(int v) {
+        cutVertices[v >>> 6] |= 1L << v;
+    }
+
+    /**
+     * Identifies the piece containing {@code u} once {@code x} is removed: the child of {@code x}
+     * whose subtree is cut off with {@code u}, or -1 for the piece holding the rest of the tree.
+     */
+    private int piece(int x, int u) {
+        if (!isDescendant(u, x)) {
+            return -1;
+        }
+
+        int lo = childOffsets[x];
+        int hi = childOffsets[x + 1] - 1;
+        while (lo < hi) {
+            int middle = (lo + hi + 1) >>> 1;
+            if (discovery[children[middle]] <= discovery[u]) {
+                lo = middle;
+            } else {
+                hi = middle - 1;
+            }
+        }
+
+        int child = children[lo];
+        return parents[x] == -1 || low[child] >= discovery[x] ? child : -1;
+    }
+
+    /**
+     * Pops blocks and 2-edge-connected components off vertex stacks as the search finishes
+     * each vertex.
+     */
+    private class Decomposition implements DepthFirstSearch.Visitor {
+        private final int[] preOrder = new int[order];
+        private final int[] blockMembers = new int[2 * order];
+        private final int[] blockStack = new int[order];
+        private final int[] componentStack = new int[order];
+        private final int[] labels = new int[order];
+        private int preOrderSize = 0;
+        private int blockDepth = 0;
+        private int componentDepth = 0;
+        private int labelCount = 0;
+        private int rootChildren = 0;
+
+        @Override
+        public boolean preOrder(int v, int parent) {
+            low[v] = discovery[v];
+            roots[v] = parent == -1 ? v : roots[parent];
+            preOrder[preOrderSize++] = v;
+            blockStack[blockDepth++] = v;
+            componentStack[componentDepth++] = v;
+            return false;
+        }
+
+        @Override
+        public boolean postOrder(int v, int parent) {
+            if (parent == -1) {
+                blockDepth--;
+                popComponent(v);
+                return false;
+            }
+
+            low[parent] = Math.min(low[parent], low[v]);
+            if (low[v] >= discovery[parent]) {
+                popBlock(v, parent);
+                if (parents[parent] == -1) {
+                    rootChildren++;
+                } else {
+                    markCutVertex(parent);
+                }
+            }
+            if (low[v] > discovery[parent]) {
+                popComponent(v);
+            }
+            return false;
+        }
+
+        @Override
+        public boolean nonTreeEdge(int v, int target, int parent) {
+            if (target != parent) {
+                low[v] = Math.min(low[v], discovery[target]);
+            }
+            return false;
+        }
+
+        /**
+         * Forms a block from {@code parent} and the vertices above it on the block stack, up to
+         * and including {@code v}.
+         */
+        private void popBlock(int v, int parent) {
+            int size = blockOffsets[blockCount];
+            int u;
+            do {
+                u = blockStack[--blockDepth];
+                blockMembers[size++] = u;
+            } while (u != v);
+            blockMembers[size++] = parent;
+            blockOffsets[++blockCount] = size;
+        }
+
+        /**
+         * Labels the vertices above {@code v} on the component stack, and {@code v} itself, as a
+         * new component.
+         */
+        private void popComponent(int v) {
+            int u;
+            do {
+                u = componentStack[--componentDepth];
+                labels[u] = labelCount;
+            } while (u != v);
+            labelCount++;
+        }
+    }
+}
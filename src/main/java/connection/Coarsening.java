@@ -0,0 +1,193 @@
+package main.java.connection;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.simple.SimpleGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A multilevel coarsening of a graph, as used to partition graphs or approximate their cuts: each
+ * level contracts a heavy-edge matching of the level below with
+ * {@link SimpleGraph#contractAll(int[])}, roughly halving the order.
+ *
+ * <p>Level 0 is the original graph. A solution found on the coarsest level, such as a partition
+ * given as one label per vertex, is carried back to the original vertices with
+ * {@link #project(int[])}.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * Coarsening coarsening = Coarsening.coarsen(graph, 64);
+ * int[] parts = partition(coarsening.coarsest());
+ * int[] partOfVertex = coarsening.project(parts);
+ * }</pre>
+ */
+public class Coarsening {
+    /**
+     * Coarsening stops once a level keeps more than this share of the vertices of the level
+     * below, since few edges are left to match.
+     */
+    private static final double STALL = 0.95;
+
+    private final List<SimpleGraph> graphs;
+    private final List<int[]> mappings;
+
+    Coarsening(List<SimpleGraph> graphs, List<int[]> mappings) {
+        this.graphs = graphs;
+        this.mappings = mappings;
+    }
+
+    /**
+     * Contracts heavy-edge matchings until the graph has at most a given order, or stops
+     * shrinking.
+     *
+     * @param graph The graph to coarsen, which is left unchanged.
+     * @param order The order to coarsen down to.
+     * @return The levels of the coarsening.
+     */
+    public static Coarsening coarsen(SimpleGraph graph, int order) {
+        List<SimpleGraph> graphs = new ArrayList<>();
+        List<int[]> mappings = new ArrayList<>();
+        graphs.add(graph);
+
+        SimpleGraph current = graph;
+        while (current.order() > order) {
+            int[] mapping = heavyEdgeMatching(current);
+            SimpleGraph coarse = current.contractAll(mapping);
+            if (coarse.order() == current.order()) {
+                break;
+            }
+
+            graphs.add(coarse);
+            mappings.add(mapping);
+            if (coarse.order() > current.order() * STALL) {
+                break;
+            }
+            current = coarse;
+        }
+
+        return new Coarsening(graphs, mappings);
+    }
+
+    /**
+     * Matches vertices in pairs along their heaviest edges. Vertices are visited in a seeded
+     * random order, and each unmatched vertex is paired with its unmatched neighbor across the
+     * heaviest edge, or left alone if it has none.
+     *
+     * @return The coarse vertex of each vertex, numbered from 0 in visiting order; matched
+     *         vertices share one.
+     */
+    public static int[] heavyEdgeMatching(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+        int order = csr.order();
+
+        int[] visiting = new int[order];
+        for (int v = 0; v < order; v++) {
+            visiting[v] = v;
+        }
+        SplittableRandom random = new SplittableRandom(order);
+        for (int i = order - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int v = visiting[i];
+            visiting[i] = visiting[j];
+            visiting[j] = v;
+        }
+
+        int[] mapping = new int[order];
+        Arrays.fill(mapping, -1);
+        int count = 0;
+        for (int v : visiting) {
+            if (mapping[v] != -1) {
+                continue;
+            }
+
+            int best = -1;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int t = targets[e];
+                if (t != v && mapping[t] == -1 && (best == -1 || weights[e] > weights[best])) {
+                    best = e;
+                }
+            }
+
+            mapping[v] = count;
+            if (best != -1) {
+                mapping[targets[best]] = count;
+            }
+            count++;
+        }
+
+        return mapping;
+    }
+
+    /**
+     * Returns the coarsest graph.
+     */
+    public SimpleGraph coarsest() {
+        return graphs.get(graphs.size() - 1);
+    }
+
+    /**
+     * Returns the graph at a level, where level 0 is the original graph.
+     */
+    public SimpleGraph graph(int level) {
+        return graphs.get(level);
+    }
+
+    /**
+     * Returns the number of levels, counting the original graph.
+     */
+    public int levels() {
+        return graphs.size();
+    }
+
+    /**
+     * Returns the mapping that contracts a level into the next one.
+     */
+    public int[] mapping(int level) {
+        return mappings.get(level);
+    }
+
+    /**
+     * Carries one value per vertex of the coarsest graph back to the original graph: each
+     * original vertex gets the value of the coarse vertex it was contracted into.
+     *
+     * @param values A value for each vertex of the coarsest graph.
+     * @return A value for each vertex of the original graph.
+     */
+    public int[] project(int[] values) {
+        for (int level = mappings.size() - 1; level >= 0; level--) {
+            int[] mapping = mappings.get(level);
+            int[] finer = new int[mapping.length];
+            for (int v = 0; v < mapping.length; v++) {
+                finer[v] = values[mapping[v]];
+            }
+            values = finer;
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns the number of original vertices contracted into each vertex of a level.
+     */
+    public int[] sizes(int level) {
+        int[] sizes = new int[graphs.get(0).order()];
+        Arrays.fill(sizes, 1);
+        for (int l = 0; l < level; l++) {
+            int[] coarse = new int[graphs.get(l + 1).order()];
+            int[] mapping = mappings.get(l);
+            for (int v = 0; v < mapping.length; v++) {
+                coarse[mapping[v]] += sizes[v];
+            }
+            sizes = coarse;
+        }
+
+        return sizes;
+    }
+}
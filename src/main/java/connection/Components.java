@@ -0,0 +1,77 @@
+package main.java.connection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * A partition of the vertices of a graph into components, stored as one label per vertex.
+ *
+ * <p>Labels run from 0 to {@code count() - 1}. For strongly connected components they are in
+ * reverse topological order: no edge leads from a component to one with a higher label.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * Components components = Connection.tarjan(graph);
+ * if (components.componentOf(u) == components.componentOf(v)) {
+ *     // u and v reach each other
+ * }
+ * }</pre>
+ */
+public class Components {
+    private final int[] labels;
+    private final int count;
+
+    Components(int[] labels, int count) {
+        this.labels = labels;
+        this.count = count;
+    }
+
+    /**
+     * Returns the label of the component containing a vertex.
+     */
+    public int componentOf(int v) {
+        return labels[v];
+    }
+
+    /**
+     * Returns the number of components.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the label of every vertex. The array is shared with this object.
+     */
+    public int[] labels() {
+        return labels;
+    }
+
+    /**
+     * Returns the number of vertices in each component, indexed by label.
+     */
+    public int[] sizes() {
+        int[] sizes = new int[count];
+        for (int label : labels) {
+            sizes[label]++;
+        }
+
+        return sizes;
+    }
+
+    /**
+     * Returns the components as sets of vertices.
+     */
+    public HashSet<HashSet<Integer>> toSets() {
+        int[] sizes = sizes();
+        ArrayList<HashSet<Integer>> components = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            components.add(new HashSet<>(sizes[i] * 4 / 3 + 1));
+        }
+        for (int v = 0; v < labels.length; v++) {
+            components.get(labels[v]).add(v);
+        }
+
+        return new HashSet<>(components);
+    }
+}
@@ -0,0 +1,116 @@
+package main.java.connection;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.utils.Parallel;
+import main.java.utils.structures.ConcurrentUnionFind;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Finds the connected components of a graph in parallel with the Afforest algorithm (Sutton,
+ * Ben-Nun and Barak), treating every edge as undirected.
+ *
+ * <p>Every vertex first links to its first {@link #NEIGHBOR_ROUNDS} neighbors in a
+ * {@link ConcurrentUnionFind}, which on most graphs already gathers the bulk of the vertices into
+ * one giant component. The most frequent root among a sample of vertices identifies that
+ * component, and the remaining edges are only scanned from vertices outside it. An undirected
+ * edge is stored in both directions, so any edge leaving the giant component is still seen from
+ * its other end. A directed graph has no reverse copies, so every remaining edge is scanned.
+ *
+ * <p>All work runs on the common {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * Components components = ConnectedComponents.afforest(graph);
+ * int largest = Arrays.stream(components.sizes()).max().orElse(0);
+ * }</pre>
+ */
+public class ConnectedComponents {
+    /**
+     * The number of neighbors of each vertex linked before the giant component is sampled.
+     */
+    public static final int NEIGHBOR_ROUNDS = 2;
+
+    /**
+     * Vertex ranges at most this long are handled by a single task.
+     */
+    private static final int CHUNK = 2048;
+    private static final int SAMPLES = 1024;
+
+    /**
+     * Finds the connected components of a graph, or the weakly connected components of a
+     * directed graph.
+     *
+     * @return the components, labelled in order of their lowest vertex.
+     */
+    public static Components afforest(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int order = csr.order();
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(order);
+
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int r = round;
+            Parallel.forEach(order, CHUNK, v -> {
+                if (offsets[v] + r < offsets[v + 1]) {
+                    unionFind.union(v, targets[offsets[v] + r]);
+                }
+            });
+        }
+        Parallel.forEach(order, CHUNK, unionFind::find);
+
+        int giant = graph.isDirected() ? -1 : sampleFrequentRoot(unionFind);
+        Parallel.forEach(order, CHUNK, v -> {
+            if (unionFind.find(v) == giant) {
+                return;
+            }
+
+            for (int e = offsets[v] + NEIGHBOR_ROUNDS; e < offsets[v + 1]; e++) {
+                unionFind.union(v, targets[e]);
+            }
+        });
+
+        // Roots are the lowest vertex of each set, so one ascending pass assigns dense labels.
+        int[] labels = new int[order];
+        int count = 0;
+        for (int v = 0; v < order; v++) {
+            int root = unionFind.find(v);
+            labels[v] = root == v ? count++ : labels[root];
+        }
+
+        return new Components(labels, count);
+    }
+
+    /**
+     * Returns the most frequent root among randomly sampled vertices.
+     */
+    private static int sampleFrequentRoot(ConcurrentUnionFind unionFind) {
+        int order = unionFind.size();
+        if (order == 0) {
+            return -1;
+        }
+
+        SplittableRandom random = new SplittableRandom(order);
+        int[] roots = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            roots[i] = unionFind.find(random.nextInt(order));
+        }
+
+        Arrays.sort(roots);
+        int best = roots[0];
+        int bestRun = 0;
+        int run = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            run = i > 0 && roots[i] == roots[i - 1] ? run + 1 : 1;
+            if (run > bestRun) {
+                bestRun = run;
+                best = roots[i];
+            }
+        }
+
+        return best;
+    }
+}
@@ -1,79 +1,74 @@
 package main.java.connection;
 
 import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
 import main.java.graph.simple.UndirectedGraph;
-import main.java.utils.Utils;
-import main.java.utils.structures.Edge;
-import main.java.utils.structures.UnionFind;
+import main.java.utils.Determinant;
 
+import java.math.BigInteger;
 import java.util.HashSet;
-import java.util.Stack;
 
 public class Connection {
     /**
      * Applies Kirchhoff's algorithm to find the number of spanning trees
-     * in the given graph.
+     * in the given graph. For a directed graph, this is the number of spanning
+     * trees with every edge directed towards vertex 0.
+     *
+     * <p>The Laplacian minor is built from the adjacency lists, and its
+     * determinant is bounded by the product of the degrees of the vertices
+     * other than 0, since each of them picks one edge towards the root.
+     * {@link Determinant#compute(long[][], int)} uses that bound to choose
+     * between fraction-free elimination and the multi-modular method.
      *
      * @param graph the input graph
      * @return the number of spanning trees
      */
-    public static int kirchhoff(UndirectedGraph graph) {
-        if (graph.order() == 0) {
-            return 0;
+    public static BigInteger kirchhoff(Graph graph) {
+        int order = graph.order();
+        if (order == 0) {
+            return BigInteger.ZERO;
+        }
+        if (!graph.isDirected() && ConnectedComponents.afforest(graph).count() > 1) {
+            return BigInteger.ZERO;
         }
 
-        int[][] laplacian = new int[graph.order()][graph.order()];
-
-        for (int i = 0; i < graph.order(); i++) {
-            for (int j = 0; j < graph.order(); j++) {
-                if (i == j) {
-                    laplacian[i][j] = graph.degreeOf(i);
-                } else {
-                    laplacian[i][j] = graph.hasEdge(i, j) ? -1 : 0;
+        CsrGraph csr = CsrGraph.of(graph);
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        long[][] minor = new long[order - 1][order - 1];
+        double bits = 0;
+
+        for (int u = 1; u < order; u++) {
+            long[] row = minor[u - 1];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v != u) {
+                    row[u - 1]++;
+                    if (v != 0) {
+                        row[v - 1]--;
+                    }
                 }
             }
-        }
 
-        int[][] minor = Utils.removeRowAndColumn(laplacian, 0, 0);
+            if (row[u - 1] == 0) {
+                return BigInteger.ZERO;
+            }
+            bits += Math.log(row[u - 1]) / Math.log(2);
+        }
 
-        return Math.abs(Utils.determinant(minor));
+        // Allows for rounding in the logarithms.
+        return Determinant.compute(minor, (int) Math.ceil(bits) + 1).abs();
     }
 
     /**
-     * Applies Kosaraju's algorithm to find the number of strongly connected
-     * components in the given graph
+     * Finds the strongly connected components of the given graph. Kept for callers that need
+     * sets of vertices; the components are computed by {@link #tarjan(Graph)}.
      *
      * @param graph the input graph
-     * @return the number of strongly connected components
+     * @return the set of strongly connected components
      */
     public static HashSet<HashSet<Integer>> kosaraju(Graph graph) {
-        HashSet<Integer> visited = new HashSet<>();
-        Stack<Integer> visitingOrder = new Stack<>();
-
-        for (int i = 0; i < graph.order(); i++) {
-            if (!visited.contains(i)) {
-                kosarajuH(graph, i, visited, visitingOrder);
-            }
-        }
-
-        Graph clone = graph.clone().transpose();
-        visited.clear();
-        HashSet<HashSet<Integer>> components = new HashSet<>();
-
-        while (!visitingOrder.isEmpty()) {
-            int v = visitingOrder.pop();
-            if (!visited.contains(v)) {
-                HashSet<Integer> visitedBefore = new HashSet<>();
-
-                kosarajuH(clone, v, visited, null);
-
-                HashSet<Integer> component = new HashSet<>(visited);
-                component.removeAll(visitedBefore);
-                components.add(component);
-            }
-        }
-
-        return components;
+        return tarjan(graph).toSets();
     }
 
     /**
@@ -82,52 +77,95 @@ public class Connection {
      * @param graph the input graph for which the MST is to be found
      * @return the MST of the input graph
      */
-    public static UndirectedGraph kruskal(UndirectedGraph graph) {
-        UndirectedGraph mst = new UndirectedGraph(graph.order());
-        HashSet<Edge> edges = new HashSet<>(graph.getEdges());
-
-        Edge minWeightEdge = null;
-        int minWeight = Integer.MAX_VALUE;
-        for (Edge edge : edges) {
-            if (edge.weight < minWeight) {
-                minWeight = edge.weight;
-                minWeightEdge = edge;
-            }
-        }
-
-        UnionFind unionFind = new UnionFind(graph.order());
+    public static UndirectedGraph kruskal(Graph graph) {
+        return MinimumSpanningTree.kruskal(graph);
+    }
 
-        while (minWeightEdge != null) {
-            mst.addEdge(minWeightEdge.v1, minWeightEdge.v2, graph.getEdgeWeight(minWeightEdge.v1, minWeightEdge.v2));
-            unionFind.union(minWeightEdge.v1, minWeightEdge.v2);
-            edges.remove(minWeightEdge);
+    /**
+     * Applies Pearce's iterative variant of Tarjan's algorithm to find the strongly connected
+     * components of the given graph in a single depth-first pass.
+     *
+     * <p>A vertex's {@code rindex} holds its discovery index while it is open and its component
+     * label once it is assigned. Labels are handed out downwards from {@code order - 1}, above every
+     * open index, so an edge into a finished component never lowers an index. The call stack grows
+     * from the front of one array and the component stack from the back.
+     *
+     * @param graph the input graph
+     * @return the strongly connected components, labelled in reverse topological order
+     */
+    public static Components tarjan(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        return tarjan(csr.offsets(), csr.targets());
+    }
 
-            minWeightEdge = null;
-            minWeight = Integer.MAX_VALUE;
+    /**
+     * Finds the strongly connected components of a graph given as CSR arrays.
+     */
+    static Components tarjan(int[] offsets, int[] targets) {
+        int order = offsets.length - 1;
+        int[] rindex = new int[order];
+        int[] positions = new int[order];
+        int[] stack = new int[order];
+        long[] roots = new long[(order + 63) >>> 6];
+        int index = 1;
+        int label = order - 1;
+        int component = order;
+
+        for (int start = 0; start < order; start++) {
+            if (rindex[start] != 0) {
+                continue;
+            }
 
-            for (Edge edge : edges) {
-                if (!unionFind.connected(edge.v1, edge.v2)) {
-                    if (edge.weight < minWeight) {
-                        minWeight = edge.weight;
-                        minWeightEdge = edge;
+            int depth = 0;
+            stack[depth++] = start;
+            rindex[start] = index++;
+            roots[start >>> 6] |= 1L << start;
+            positions[start] = offsets[start];
+
+            while (depth > 0) {
+                int v = stack[depth - 1];
+
+                if (positions[v] < offsets[v + 1]) {
+                    int w = targets[positions[v]++];
+                    if (rindex[w] == 0) {
+                        stack[depth++] = w;
+                        rindex[w] = index++;
+                        roots[w >>> 6] |= 1L << w;
+                        positions[w] = offsets[w];
+                    } else if (rindex[w] < rindex[v]) {
+                        rindex[v] = rindex[w];
+                        roots[v >>> 6] &= ~(1L << v);
                     }
+                    continue;
                 }
-            }
-        }
 
-        return mst;
-    }
+                depth--;
+                if ((roots[v >>> 6] & (1L << v)) != 0) {
+                    index--;
+                    while (component < order && rindex[v] <= rindex[stack[component]]) {
+                        rindex[stack[component++]] = label;
+                        index--;
+                    }
+                    rindex[v] = label--;
+                } else {
+                    stack[--component] = v;
+                }
 
-    private static void kosarajuH(Graph graph, int v, HashSet<Integer> visited, Stack<Integer> stack) {
-        visited.add(v);
-        for (Integer i : graph.neighborsOf(v)) {
-            if (!visited.contains(i)) {
-                kosarajuH(graph, i, visited, stack);
+                if (depth > 0) {
+                    int parent = stack[depth - 1];
+                    if (rindex[v] < rindex[parent]) {
+                        rindex[parent] = rindex[v];
+                        roots[parent >>> 6] &= ~(1L << parent);
+                    }
+                }
             }
         }
 
-        if (stack != null) {
-            stack.push(v);
+        int[] labels = new int[order];
+        for (int v = 0; v < order; v++) {
+            labels[v] = order - 1 - rindex[v];
         }
+
+        return new Components(labels, order - 1 - label);
     }
 }
\ No newline at end of file
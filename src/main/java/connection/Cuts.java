@@ -0,0 +1,397 @@
+package main.java.connection;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.utils.structures.Edge;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Every cut-edge and cut-vertex of a graph, found in linear time.
+ *
+ * <p>An edge or vertex is a cut if removing it increases {@link Graph#numComponents()}. On
+ * undirected graphs these are the bridges and articulation points, taken from the
+ * {@link Biconnectivity} decomposition. Both directions of a bridge are reported.
+ *
+ * <p>On directed graphs they are the strong bridges and strong articulation points (Italiano,
+ * Laura and Santaroni). Within each strongly connected component with an arbitrary root
+ * {@code r}, a vertex other than {@code r} is a cut if it dominates another vertex in the flow
+ * graph from {@code r} or in its reverse, and an edge is a cut if it is a bridge of either flow
+ * graph. Dominators are found with Lengauer and Tarjan's algorithm. Each root is then checked by
+ * finding the components that remain once every root is removed.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * Cuts cuts = Cuts.of(graph);
+ * for (int v : cuts.vertices()) {
+ *     ...
+ * }
+ * }</pre>
+ */
+public class Cuts {
+    private final HashSet<Edge> edges = new HashSet<>();
+    private final long[] vertices;
+
+    private Cuts(int order) {
+        vertices = new long[(order + 63) >>> 6];
+    }
+
+    /**
+     * Finds the cut-edges and cut-vertices of a graph.
+     */
+    public static Cuts of(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        Cuts cuts = new Cuts(csr.order());
+        if (graph.isDirected()) {
+            cuts.findStrong(csr.offsets(), csr.targets());
+        } else {
+            Biconnectivity biconnectivity = Biconnectivity.of(csr);
+            cuts.edges.addAll(biconnectivity.bridges());
+            for (int v = 0; v < csr.order(); v++) {
+                if (biconnectivity.isCutVertex(v)) {
+                    cuts.mark(v);
+                }
+            }
+        }
+
+        return cuts;
+    }
+
+    /**
+     * Returns the cut-edges.
+     */
+    public Set<Edge> edges() {
+        return Collections.unmodifiableSet(edges);
+    }
+
+    public boolean isCutEdge(int v1, int v2) {
+        return edges.contains(new Edge(v1, v2));
+    }
+
+    public boolean isCutVertex(int v) {
+        return v >= 0 && v < vertices.length << 6 && (vertices[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Returns the cut-vertices.
+     */
+    public Set<Integer> vertices() {
+        HashSet<Integer> set = new HashSet<>();
+        for (int word = 0; word < vertices.length; word++) {
+            for (long bits = vertices[word]; bits != 0; bits &= bits - 1) {
+                set.add(word << 6 | Long.numberOfTrailingZeros(bits));
+            }
+        }
+
+        return set;
+    }
+
+    private void mark(int v) {
+        vertices[v >>> 6] |= 1L << v;
+    }
+
+    /**
+     * Finds the strong bridges and strong articulation points of a directed graph.
+     */
+    private void findStrong(int[] offsets, int[] targets) {
+        int order = offsets.length - 1;
+        int[] labels = Connection.tarjan(offsets, targets).labels();
+
+        // Keep only the edges inside a component, in both directions.
+        int[] forwardOffsets = new int[order + 1];
+        int[] reverseOffsets = new int[order + 1];
+        for (int u = 0; u < order; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (labels[targets[e]] == labels[u]) {
+                    forwardOffsets[u + 1]++;
+                    reverseOffsets[targets[e] + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < order; v++) {
+            forwardOffsets[v + 1] += forwardOffsets[v];
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+
+        int[] forwardTargets = new int[forwardOffsets[order]];
+        int[] reverseTargets = new int[forwardOffsets[order]];
+        int[] positions = Arrays.copyOf(reverseOffsets, order);
+        for (int u = 0, f = 0; u < order; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int w = targets[e];
+                if (labels[w] == labels[u]) {
+                    forwardTargets[f++] = w;
+                    reverseTargets[positions[w]++] = u;
+                }
+            }
+        }
+
+        // The lowest vertex of each component is its root.
+        int[] roots = new int[order];
+        boolean[] isRoot = new boolean[order];
+        int componentCount = 0;
+        int[] rootOf = new int[order];
+        Arrays.fill(rootOf, -1);
+        for (int v = 0; v < order; v++) {
+            if (rootOf[labels[v]] == -1) {
+                rootOf[labels[v]] = v;
+                roots[componentCount++] = v;
+                isRoot[v] = true;
+            }
+        }
+        roots = Arrays.copyOf(roots, componentCount);
+
+        DominatorTree forward = new DominatorTree(forwardOffsets, forwardTargets, reverseOffsets, reverseTargets, roots);
+        DominatorTree reverse = new DominatorTree(reverseOffsets, reverseTargets, forwardOffsets, forwardTargets, roots);
+
+        for (int w = 0; w < order; w++) {
+            if (forward.idom[w] != -1 && !isRoot[forward.idom[w]]) {
+                mark(forward.idom[w]);
+            }
+            if (reverse.idom[w] != -1 && !isRoot[reverse.idom[w]]) {
+                mark(reverse.idom[w]);
+            }
+        }
+
+        for (int u = 0; u < order; u++) {
+            for (int e = forwardOffsets[u]; e < forwardOffsets[u + 1]; e++) {
+                int w = forwardTargets[e];
+                if (forward.isBridge(u, w, reverseOffsets, reverseTargets)
+                        || reverse.isBridge(w, u, forwardOffsets, forwardTargets)) {
+                    edges.add(new Edge(u, w));
+                }
+            }
+        }
+
+        findStrongRoots(forwardOffsets, forwardTargets, labels, rootOf, isRoot);
+    }
+
+    /**
+     * Marks each root whose removal splits its component. Removing every root at once leaves the
+     * components independent, so a single search finds the pieces left behind by each root.
+     */
+    private void findStrongRoots(int[] offsets, int[] targets, int[] labels, int[] rootOf, boolean[] isRoot) {
+        int order = offsets.length - 1;
+        int[] remainingOffsets = new int[order + 1];
+        int[] remainingTargets = new int[targets.length];
+        int size = 0;
+        for (int u = 0; u < order; u++) {
+            if (!isRoot[u]) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    if (!isRoot[targets[e]]) {
+                        remainingTargets[size++] = targets[e];
+                    }
+                }
+            }
+            remainingOffsets[u + 1] = size;
+        }
+
+        int[] pieces = Connection.tarjan(remainingOffsets, remainingTargets).labels();
+        boolean[] counted = new boolean[order];
+        int[] piecesPerComponent = new int[order];
+        for (int v = 0; v < order; v++) {
+            if (!isRoot[v] && !counted[pieces[v]]) {
+                counted[pieces[v]] = true;
+                piecesPerComponent[labels[v]]++;
+            }
+        }
+
+        for (int component = 0; component < order && rootOf[component] != -1; component++) {
+            if (piecesPerComponent[component] > 1) {
+                mark(rootOf[component]);
+            }
+        }
+    }
+
+    /**
+     * The dominator forest of a graph searched from several roots, where no edge joins the trees.
+     */
+    private static class DominatorTree {
+        private final int[] idom;
+        private final int[] pre;
+        private final int[] post;
+
+        /**
+         * Applies the simple version of Lengauer and Tarjan's algorithm.
+         */
+        DominatorTree(int[] offsets, int[] targets, int[] predOffsets, int[] predTargets, int[] roots) {
+            int order = offsets.length - 1;
+            int[] number = new int[order];
+            int[] vertex = new int[order];
+            int[] parent = new int[order];
+            int[] stack = new int[order];
+            int[] positions = new int[order];
+            Arrays.fill(number, -1);
+            int count = 0;
+
+            for (int root : roots) {
+                number[root] = count;
+                vertex[count++] = root;
+                parent[root] = -1;
+                positions[root] = offsets[root];
+                stack[0] = root;
+                int depth = 1;
+
+                while (depth > 0) {
+                    int v = stack[depth - 1];
+                    if (positions[v] == offsets[v + 1]) {
+                        depth--;
+                        continue;
+                    }
+
+                    int w = targets[positions[v]++];
+                    if (number[w] == -1) {
+                        number[w] = count;
+                        vertex[count++] = w;
+                        parent[w] = v;
+                        positions[w] = offsets[w];
+                        stack[depth++] = w;
+                    }
+                }
+            }
+
+            int[] semi = number.clone();
+            int[] ancestor = new int[order];
+            int[] label = new int[order];
+            int[] bucket = new int[order];
+            int[] next = new int[order];
+            idom = new int[order];
+            Arrays.fill(ancestor, -1);
+            Arrays.fill(bucket, -1);
+            Arrays.fill(idom, -1);
+            for (int v = 0; v < order; v++) {
+                label[v] = v;
+            }
+
+            for (int i = count - 1; i >= 0; i--) {
+                int w = vertex[i];
+                int p = parent[w];
+                if (p == -1) {
+                    continue;
+                }
+
+                for (int e = predOffsets[w]; e < predOffsets[w + 1]; e++) {
+                    int u = eval(predTargets[e], ancestor, label, semi, stack);
+                    semi[w] = Math.min(semi[w], semi[u]);
+                }
+                next[w] = bucket[vertex[semi[w]]];
+                bucket[vertex[semi[w]]] = w;
+                ancestor[w] = p;
+
+                for (int v = bucket[p]; v != -1; v = next[v]) {
+                    int u = eval(v, ancestor, label, semi, stack);
+                    idom[v] = semi[u] < semi[v] ? u : p;
+                }
+                bucket[p] = -1;
+            }
+
+            for (int i = 0; i < count; i++) {
+                int w = vertex[i];
+                if (parent[w] != -1 && idom[w] != vertex[semi[w]]) {
+                    idom[w] = idom[idom[w]];
+                }
+            }
+
+            pre = new int[order];
+            post = new int[order];
+            numberTree(roots);
+        }
+
+        /**
+         * Returns the vertex with the smallest semidominator on the forest path above {@code v},
+         * compressing the path on the way.
+         */
+        private static int eval(int v, int[] ancestor, int[] label, int[] semi, int[] path) {
+            if (ancestor[v] == -1) {
+                return v;
+            }
+
+            int size = 0;
+            for (int x = v; ancestor[ancestor[x]] != -1; x = ancestor[x]) {
+                path[size++] = x;
+            }
+            while (size > 0) {
+                int x = path[--size];
+                int a = ancestor[x];
+                if (semi[label[a]] < semi[label[x]]) {
+                    label[x] = label[a];
+                }
+                ancestor[x] = ancestor[a];
+            }
+
+            return label[v];
+        }
+
+        private boolean dominates(int v, int w) {
+            return pre[v] <= pre[w] && post[w] <= post[v];
+        }
+
+        /**
+         * Checks if every path from the root to {@code w} ends with the edge from {@code u}: that
+         * is, {@code u} is the immediate dominator of {@code w} and {@code w} dominates its other
+         * predecessors.
+         */
+        private boolean isBridge(int u, int w, int[] predOffsets, int[] predTargets) {
+            if (idom[w] != u) {
+                return false;
+            }
+
+            for (int e = predOffsets[w]; e < predOffsets[w + 1]; e++) {
+                if (predTargets[e] != u && !dominates(w, predTargets[e])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Numbers the dominator forest in pre-order and post-order, for constant-time ancestor checks.
+         */
+        private void numberTree(int[] roots) {
+            int order = idom.length;
+            int[] childOffsets = new int[order + 1];
+            for (int v = 0; v < order; v++) {
+                if (idom[v] != -1) {
+                    childOffsets[idom[v] + 1]++;
+                }
+            }
+            for (int v = 0; v < order; v++) {
+                childOffsets[v + 1] += childOffsets[v];
+            }
+
+            int[] children = new int[childOffsets[order]];
+            int[] positions = Arrays.copyOf(childOffsets, order);
+            for (int v = 0; v < order; v++) {
+                if (idom[v] != -1) {
+                    children[positions[idom[v]]++] = v;
+                }
+            }
+
+            int[] stack = new int[order];
+            int time = 0;
+            for (int root : roots) {
+                positions[root] = childOffsets[root];
+                pre[root] = time++;
+                stack[0] = root;
+                int depth = 1;
+
+                while (depth > 0) {
+                    int v = stack[depth - 1];
+                    if (positions[v] == childOffsets[v + 1]) {
+                        post[v] = time++;
+                        depth--;
+                    } else {
+                        int child = children[positions[v]++];
+                        positions[child] = childOffsets[child];
+                        pre[child] = time++;
+                        stack[depth++] = child;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package main.java.connection;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.simple.UndirectedGraph;
+import main.java.utils.Parallel;
+import main.java.utils.structures.UnionFind;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Computes a minimum spanning forest of a graph, treating every edge as undirected.
+ *
+ * <p>{@link #compute(Graph)} picks a strategy from the size and density of the graph:
+ * <ul>
+ *     <li>Prim's algorithm with a plain key array, {@code O(V^2)}, for dense graphs.</li>
+ *     <li>Parallel Boruvka for large sparse graphs. Each round finds the cheapest edge out of every
+ *     component with a compare-and-set minimum over the edge list, then merges along them.</li>
+ *     <li>Kruskal's algorithm otherwise. Edges are sorted as primitive keys, with a counting sort
+ *     when the weights span a small range, and joined with a {@link UnionFind}.</li>
+ * </ul>
+ *
+ * <p>Ties are broken by edge index, so every strategy returns a forest of the same weight, and the
+ * parallel rounds never close a cycle. Each result is an {@link UndirectedGraph} on the same
+ * vertices, with one tree per connected component.
+ */
+public class MinimumSpanningTree {
+    /**
+     * The edge density at and above which {@link #compute(Graph)} uses Prim's algorithm.
+     */
+    public static final double DENSE_THRESHOLD = 0.25;
+    /**
+     * The number of edges at and above which {@link #compute(Graph)} uses parallel Boruvka.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Edge lists at most this long are scanned by a single task.
+     */
+    private static final int CHUNK = 4096;
+    private static final long NONE = Long.MAX_VALUE;
+
+    /**
+     * Computes a minimum spanning forest with the strategy suited to the graph.
+     */
+    public static UndirectedGraph compute(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        long order = csr.order();
+        double density = order < 2 ? 0 : csr.targets().length / (double) (order * (order - 1));
+
+        if (density >= DENSE_THRESHOLD) {
+            return prim(csr);
+        }
+        if (csr.targets().length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return boruvka(csr);
+        }
+
+        return kruskal(csr);
+    }
+
+    /**
+     * Computes a minimum spanning forest with Boruvka's algorithm, scanning edges in parallel on
+     * the common {@link ForkJoinPool}.
+     */
+    public static UndirectedGraph boruvka(Graph graph) {
+        Edges edges = new Edges(CsrGraph.of(graph));
+        int order = graph.order();
+        UnionFind unionFind = new UnionFind(order);
+        int[] components = new int[order];
+        for (int v = 0; v < order; v++) {
+            components[v] = v;
+        }
+
+        AtomicLongArray cheapest = new AtomicLongArray(order);
+        int[] live = new int[edges.count];
+        int liveCount = edges.count;
+        for (int i = 0; i < liveCount; i++) {
+            live[i] = i;
+        }
+
+        boolean[] chosen = new boolean[edges.count];
+        while (liveCount > 0) {
+            for (int v = 0; v < order; v++) {
+                cheapest.set(v, NONE);
+            }
+
+            int[] scan = live;
+            Parallel.forRanges(liveCount, CHUNK, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int e = scan[i];
+                    long key = edges.key(e);
+                    lowerTo(cheapest, components[edges.sources[e]], key);
+                    lowerTo(cheapest, components[edges.targets[e]], key);
+                }
+            });
+
+            for (int v = 0; v < order; v++) {
+                long key = cheapest.get(v);
+                if (key != NONE) {
+                    int e = (int) key;
+                    if (unionFind.union(edges.sources[e], edges.targets[e])) {
+                        chosen[e] = true;
+                    }
+                }
+            }
+
+            Parallel.forRanges(order, CHUNK, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    components[v] = unionFind.find(v);
+                }
+            });
+
+            int next = 0;
+            for (int i = 0; i < liveCount; i++) {
+                int e = live[i];
+                if (components[edges.sources[e]] != components[edges.targets[e]]) {
+                    live[next++] = e;
+                }
+            }
+            liveCount = next;
+        }
+
+        UndirectedGraph forest = new UndirectedGraph(order);
+        for (int e = 0; e < edges.count; e++) {
+            if (chosen[e]) {
+                forest.addEdge(edges.sources[e], edges.targets[e], edges.weights[e]);
+            }
+        }
+
+        return forest;
+    }
+
+    /**
+     * Computes a minimum spanning forest with Kruskal's algorithm.
+     */
+    public static UndirectedGraph kruskal(Graph graph) {
+        Edges edges = new Edges(CsrGraph.of(graph));
+        int order = graph.order();
+        UnionFind unionFind = new UnionFind(order);
+        UndirectedGraph forest = new UndirectedGraph(order);
+
+        for (int e : edges.sorted()) {
+            if (unionFind.union(edges.sources[e], edges.targets[e])) {
+                forest.addEdge(edges.sources[e], edges.targets[e], edges.weights[e]);
+                if (unionFind.count() == 1) {
+                    break;
+                }
+            }
+        }
+
+        return forest;
+    }
+
+    /**
+     * Computes a minimum spanning forest with Prim's algorithm, selecting the next vertex by a
+     * linear scan of the keys instead of a heap.
+     */
+    public static UndirectedGraph prim(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        if (graph.isDirected()) {
+            csr = CsrGraph.of(new Edges(csr).toUndirected(graph.order()));
+        }
+
+        int order = csr.order();
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+        int[] keys = new int[order];
+        int[] parents = new int[order];
+        boolean[] inTree = new boolean[order];
+        Arrays.fill(keys, Integer.MAX_VALUE);
+        Arrays.fill(parents, -1);
+        UndirectedGraph forest = new UndirectedGraph(order);
+
+        for (int added = 0; added < order; added++) {
+            int u = -1;
+            for (int v = 0; v < order; v++) {
+                if (!inTree[v] && (u == -1 || keys[v] < keys[u])) {
+                    u = v;
+                }
+            }
+
+            // A vertex never reached starts the next tree of the forest.
+            inTree[u] = true;
+            if (parents[u] != -1) {
+                forest.addEdge(parents[u], u, keys[u]);
+            }
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (!inTree[v] && weights[e] < keys[v]) {
+                    keys[v] = weights[e];
+                    parents[v] = u;
+                }
+            }
+        }
+
+        return forest;
+    }
+
+    /**
+     * Lowers the value at an index to a key with compare-and-set.
+     */
+    private static void lowerTo(AtomicLongArray values, int index, long key) {
+        long current = values.get(index);
+        while (key < current && !values.compareAndSet(index, current, key)) {
+            current = values.get(index);
+        }
+    }
+
+    /**
+     * The edges of a graph as parallel arrays, each undirected edge listed once.
+     */
+    private static class Edges {
+        private final int[] sources;
+        private final int[] targets;
+        private final int[] weights;
+        private final int count;
+
+        Edges(CsrGraph graph) {
+            int[] offsets = graph.offsets();
+            int[] csrTargets = graph.targets();
+            int[] csrWeights = graph.weights();
+            boolean directed = graph.isDirected();
+            sources = new int[csrTargets.length];
+            targets = new int[csrTargets.length];
+            weights = new int[csrTargets.length];
+
+            int size = 0;
+            for (int u = 0; u < graph.order(); u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = csrTargets[e];
+                    if (v != u && (directed || u < v)) {
+                        sources[size] = u;
+                        targets[size] = v;
+                        weights[size++] = csrWeights[e];
+                    }
+                }
+            }
+            count = size;
+        }
+
+        /**
+         * Orders edges by weight, then by index.
+         */
+        long key(int e) {
+            return (long) weights[e] << 32 | e;
+        }
+
+        /**
+         * Returns the edge indices in ascending order of {@link #key(int)}.
+         */
+        int[] sorted() {
+            int[] order = new int[count];
+            if (count == 0) {
+                return order;
+            }
+
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int e = 0; e < count; e++) {
+                min = Math.min(min, weights[e]);
+                max = Math.max(max, weights[e]);
+            }
+
+            // A stable counting sort when the weights span no more values than there are edges.
+            if ((long) max - min < count) {
+                int[] starts = new int[max - min + 2];
+                for (int e = 0; e < count; e++) {
+                    starts[weights[e] - min + 1]++;
+                }
+                for (int w = 1; w < starts.length; w++) {
+                    starts[w] += starts[w - 1];
+                }
+                for (int e = 0; e < count; e++) {
+                    order[starts[weights[e] - min]++] = e;
+                }
+                return order;
+            }
+
+            long[] keys = new long[count];
+            for (int e = 0; e < count; e++) {
+                keys[e] = key(e);
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < count; i++) {
+                order[i] = (int) keys[i];
+            }
+
+            return order;
+        }
+
+        /**
+         * Builds an undirected graph with these edges, keeping the lighter of two opposite edges.
+         */
+        UndirectedGraph toUndirected(int order) {
+            UndirectedGraph graph = new UndirectedGraph(order);
+            for (int e : sorted()) {
+                if (!graph.hasEdge(sources[e], targets[e])) {
+                    graph.addEdge(sources[e], targets[e], weights[e]);
+                }
+            }
+
+            return graph;
+        }
+    }
+}
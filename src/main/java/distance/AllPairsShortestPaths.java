@@ -0,0 +1,176 @@
+package main.java.distance;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.utils.Parallel;
+
+import java.util.Arrays;
+
+/**
+ * Computes shortest path distances between all pairs of vertices.
+ *
+ * <p>{@link #compute(Graph)} picks a strategy by density. Dense graphs use a cache-blocked
+ * Floyd-Warshall over a flat {@code int[]} matrix, where each round updates the pivot block, then
+ * the pivot row and column, then every remaining block in parallel. Sparse graphs run one heap
+ * Dijkstra per source, each source a fork-join task. Johnson's reweighting step is unnecessary
+ * because edge weights are never negative here, so the sparse strategy is plain repeated Dijkstra.
+ *
+ * <p>All work runs on the common {@link java.util.concurrent.ForkJoinPool}.
+ */
+public class AllPairsShortestPaths {
+    /**
+     * The edge density at and above which {@link #compute(Graph)} uses Floyd-Warshall.
+     */
+    public static final double DENSE_THRESHOLD = 0.25;
+
+    private static final int BLOCK = 64;
+    /**
+     * Unreachable pairs during Floyd-Warshall. Half of {@code Integer.MAX_VALUE}, so the sum of two
+     * entries never overflows.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /**
+     * Computes all distances with the strategy suited to the graph's density.
+     *
+     * @throws IllegalArgumentException if the matrix would not fit in one array, see
+     *                                  {@link #cells(int)}.
+     */
+    public static DistanceMatrix compute(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        long order = csr.order();
+        double density = order < 2 ? 0 : csr.targets().length / (double) (order * (order - 1));
+
+        return density >= DENSE_THRESHOLD ? floydWarshall(csr) : dijkstra(csr);
+    }
+
+    /**
+     * Computes all distances by running Dijkstra's Algorithm from every vertex in parallel.
+     *
+     * @throws IllegalArgumentException if the matrix would not fit in one array, see
+     *                                  {@link #cells(int)}.
+     */
+    public static DistanceMatrix dijkstra(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int order = csr.order();
+        int[] distances = new int[cells(order)];
+
+        Parallel.forEach(order, 1, v -> System.arraycopy(Distance.distances(csr, v), 0, distances, v * order, order));
+
+        return new DistanceMatrix(order, distances);
+    }
+
+    /**
+     * Computes the eccentricity of every vertex without keeping the full distance matrix, so
+     * memory stays linear in the order of the graph.
+     *
+     * @see DistanceMatrix#eccentricity(int)
+     */
+    public static int[] eccentricities(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int order = csr.order();
+        int[] eccentricities = new int[order];
+
+        Parallel.forEach(order, 1, v -> eccentricities[v] = Distance.eccentricity(Distance.distances(csr, v), 0, order, v));
+
+        return eccentricities;
+    }
+
+    /**
+     * Computes all distances with a cache-blocked, parallel Floyd-Warshall. Distances must stay
+     * below {@code Integer.MAX_VALUE / 2}; longer paths are reported as unreachable.
+     *
+     * @throws IllegalArgumentException if the matrix would not fit in one array, see
+     *                                  {@link #cells(int)}.
+     */
+    public static DistanceMatrix floydWarshall(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int order = csr.order();
+        int[] distances = new int[cells(order)];
+        Arrays.fill(distances, INFINITY);
+
+        for (int v = 0; v < order; v++) {
+            distances[v * order + v] = 0;
+            for (int e = csr.offsets()[v]; e < csr.offsets()[v + 1]; e++) {
+                distances[v * order + csr.targets()[e]] = csr.weights()[e];
+            }
+        }
+
+        int blocks = (order + BLOCK - 1) / BLOCK;
+        for (int k = 0; k < blocks; k++) {
+            int pivot = k;
+            updateBlock(distances, order, pivot, pivot, pivot);
+            Parallel.forEach(2 * blocks, 1, i -> {
+                int block = i / 2;
+                if (block != pivot) {
+                    if (i % 2 == 0) {
+                        updateBlock(distances, order, pivot, block, pivot);
+                    } else {
+                        updateBlock(distances, order, block, pivot, pivot);
+                    }
+                }
+            });
+            Parallel.forEach(blocks * blocks, 1, i -> {
+                int row = i / blocks;
+                int col = i % blocks;
+                if (row != pivot && col != pivot) {
+                    updateBlock(distances, order, row, col, pivot);
+                }
+            });
+        }
+
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] >= INFINITY) {
+                distances[i] = Distance.UNREACHABLE;
+            }
+        }
+
+        return new DistanceMatrix(order, distances);
+    }
+
+    /**
+     * Returns the number of cells in the distance matrix of a graph. The matrix is one flat
+     * array, so every index fits in an int once this has passed.
+     *
+     * @throws IllegalArgumentException if the order is above 46340, where the matrix would
+     *                                  exceed the int array limit. {@link #eccentricities(Graph)}
+     *                                  needs only linear memory.
+     */
+    private static int cells(int order) {
+        long cells = (long) order * order;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A distance matrix of order " + order
+                    + " exceeds the array limit; use eccentricities(Graph) for per-vertex results.");
+        }
+
+        return (int) cells;
+    }
+
+    /**
+     * Relaxes block {@code (row, col)} through every intermediate vertex of block {@code pivot}.
+     */
+    private static void updateBlock(int[] distances, int order, int row, int col, int pivot) {
+        int rowEnd = Math.min(order, (row + 1) * BLOCK);
+        int colStart = col * BLOCK;
+        int colEnd = Math.min(order, colStart + BLOCK);
+        int pivotEnd = Math.min(order, (pivot + 1) * BLOCK);
+
+        for (int k = pivot * BLOCK; k < pivotEnd; k++) {
+            int kOffset = k * order;
+            for (int i = row * BLOCK; i < rowEnd; i++) {
+                int iOffset = i * order;
+                int ik = distances[iOffset + k];
+                if (ik == INFINITY) {
+                    continue;
+                }
+
+                for (int j = colStart; j < colEnd; j++) {
+                    int candidate = ik + distances[kOffset + j];
+                    if (candidate < distances[iOffset + j]) {
+                        distances[iOffset + j] = candidate;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package main.java.distance;
+
+import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
+import main.java.graph.csr.CsrGraph;
+import main.java.utils.Log;
+import main.java.utils.structures.IndexedMinHeap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * A landmark index that answers repeated shortest path queries on a static weighted graph
+ * with A*, landmarks and the triangle inequality (ALT).
+ *
+ * <p>For every landmark {@code L} the index stores the distances {@code d(L, v)} and, for directed
+ * graphs, {@code d(v, L)}. Both give lower bounds on {@code d(v, t)}, which guide the search
+ * toward the target and let it settle far fewer vertices than Dijkstra's Algorithm. Each
+ * landmark costs {@code 4 * order} bytes per stored direction, and the number of landmarks is
+ * capped by the memory budget passed to {@link #build(Graph, int, LandmarkSelection, long)}.
+ *
+ * <p>The tables can be saved next to the graph file with {@link #write(String)} and restored with
+ * {@link #read(Graph, String)}. A saved index is only accepted if it was built for an identical
+ * graph. Queries reuse per-instance working arrays, so an index must not be shared between threads,
+ * and the graph must not be modified after the index is built.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * AltIndex index = AltIndex.load(graph, "graph.txt", 16, AltIndex.LandmarkSelection.FARTHEST, 64 << 20);
+ * int distance = index.distance(0, 42);
+ * }</pre>
+ */
+public class AltIndex {
+    private static final int MAGIC = 0x414C5431;
+    private static final String EXTENSION = ".alt";
+
+    private final Graph graph;
+    private final int[] landmarks;
+    private final int[] forward;
+    private final int[] backward;
+    private final long fingerprint;
+
+    private final IndexedMinHeap heap;
+    private final long[] distances;
+    private final long[] potentials;
+    private final int[] predecessors;
+    private final int[] labels;
+    private final int[] settled;
+    private int generation = 0;
+
+    /**
+     * How landmarks are chosen when an index is built.
+     */
+    public enum LandmarkSelection {
+        /**
+         * Picks the vertices with the largest degree.
+         */
+        DEGREE,
+        /**
+         * Repeatedly picks the vertex farthest from the landmarks chosen so far. This usually
+         * gives tighter bounds than {@link #DEGREE} at the same preprocessing cost.
+         */
+        FARTHEST
+    }
+
+    private AltIndex(Graph graph, int[] landmarks, int[] forward, int[] backward, long fingerprint) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.forward = forward;
+        this.backward = backward;
+        this.fingerprint = fingerprint;
+
+        int order = graph.order();
+        heap = new IndexedMinHeap(order);
+        distances = new long[order];
+        potentials = new long[order];
+        predecessors = new int[order];
+        labels = new int[order];
+        settled = new int[order];
+    }
+
+    /**
+     * Builds an index with the farthest-point landmark selection and no memory limit.
+     */
+    public static AltIndex build(Graph graph, int landmarks) {
+        return build(graph, landmarks, LandmarkSelection.FARTHEST, Long.MAX_VALUE);
+    }
+
+    /**
+     * Selects landmarks and precomputes their distance tables.
+     *
+     * @param graph the graph to index. Edge weights must be non-negative.
+     * @param landmarks the requested number of landmarks.
+     * @param selection how landmarks are chosen.
+     * @param memoryBudget the maximum number of bytes the distance tables may use. Fewer landmarks
+     *                     than requested are chosen if they would not fit.
+     * @return the index.
+     */
+    public static AltIndex build(Graph graph, int landmarks, LandmarkSelection selection, long memoryBudget) {
+        int order = graph.order();
+        long bytesPerLandmark = 4L * order * (graph.isDirected() ? 2 : 1);
+        long affordable = bytesPerLandmark == 0 ? order : memoryBudget / bytesPerLandmark;
+        // Each table holds k * order ints in one array, so k is also bounded by the array size.
+        long addressable = order == 0 ? 0 : Integer.MAX_VALUE / order;
+        int k = (int) Math.max(0, Math.min(Math.min(Math.min(landmarks, order), affordable), addressable));
+        if (k < landmarks) {
+            Log.i("ALT index limited to " + k + " of " + landmarks + " requested landmarks");
+        }
+
+        Graph reverse = graph.isDirected() ? CsrGraph.of(graph).transpose() : graph;
+        int[] chosen = new int[k];
+        int[] forward = new int[k * order];
+        int[] backward = graph.isDirected() ? new int[k * order] : forward;
+
+        boolean[] isLandmark = new boolean[order];
+        int[] degreeOrder = selection == LandmarkSelection.DEGREE ? verticesByDegree(graph) : null;
+        int next = -1;
+        if (degreeOrder == null && k > 0) {
+            // The first landmark is the vertex farthest from a high-degree seed.
+            next = farthest(Distance.distances(graph, degreeSeed(graph)), unbounded(order), isLandmark);
+        }
+        long[] nearest = unbounded(order);
+
+        for (int i = 0; i < k; i++) {
+            int landmark = degreeOrder != null ? degreeOrder[i] : next;
+            chosen[i] = landmark;
+            isLandmark[landmark] = true;
+
+            int[] from = Distance.distances(graph, landmark);
+            int[] to = graph.isDirected() ? Distance.distances(reverse, landmark) : from;
+            for (int v = 0; v < order; v++) {
+                forward[v * k + i] = from[v];
+                backward[v * k + i] = to[v];
+            }
+
+            if (degreeOrder == null) {
+                next = farthest(from, nearest, isLandmark);
+            }
+        }
+
+        return new AltIndex(graph, chosen, forward, backward, fingerprint(graph));
+    }
+
+    /**
+     * Restores an index saved next to the graph file, or builds and saves a new one if there is
+     * none or it does not match the graph.
+     *
+     * @see #build(Graph, int, LandmarkSelection, long)
+     */
+    public static AltIndex load(Graph graph, String graphPath, int landmarks, LandmarkSelection selection, long memoryBudget) {
+        Optional<AltIndex> saved = read(graph, graphPath);
+        if (saved.isPresent()) {
+            return saved.get();
+        }
+
+        AltIndex index = build(graph, landmarks, selection, memoryBudget);
+        index.write(graphPath);
+
+        return index;
+    }
+
+    /**
+     * Reads the index saved next to a graph file.
+     *
+     * @param graph the graph the index was built for.
+     * @param graphPath the path of the graph file. The index is read from this path with {@code .alt} appended.
+     * @return the index, or empty if it is missing, malformed or was built for a different graph.
+     */
+    public static Optional<AltIndex> read(Graph graph, String graphPath) {
+        String path = graphPath + EXTENSION;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                Log.w("Landmark file '" + path + "' is invalid");
+                return Optional.empty();
+            }
+
+            int order = in.readInt();
+            int size = in.readInt();
+            boolean directed = in.readBoolean();
+            long fingerprint = in.readLong();
+            if (order != graph.order() || size != graph.size() || directed != graph.isDirected()
+                    || fingerprint != fingerprint(graph)) {
+                Log.w("Landmark file '" + path + "' does not match the graph");
+                return Optional.empty();
+            }
+
+            int k = in.readInt();
+            if (k < 0 || k > order || (long) k * order > Integer.MAX_VALUE) {
+                Log.w("Landmark file '" + path + "' is invalid");
+                return Optional.empty();
+            }
+
+            int[] landmarks = readInts(in, k);
+            int[] forward = readInts(in, k * order);
+            int[] backward = directed ? readInts(in, k * order) : forward;
+
+            return Optional.of(new AltIndex(graph, landmarks, forward, backward, fingerprint));
+        } catch (IOException e) {
+            Log.i("No landmark file at '" + path + "'");
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Saves the index next to a graph file, at the graph's path with {@code .alt} appended.
+     */
+    public void write(String graphPath) {
+        String path = graphPath + EXTENSION;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(graph.order());
+            out.writeInt(graph.size());
+            out.writeBoolean(graph.isDirected());
+            out.writeLong(fingerprint);
+            out.writeInt(landmarks.length);
+            writeInts(out, landmarks);
+            writeInts(out, forward);
+            if (graph.isDirected()) {
+                writeInts(out, backward);
+            }
+        } catch (IOException e) {
+            Log.e("Could not write landmark path '" + path + "'");
+        }
+    }
+
+    /**
+     * Computes the shortest distance between two vertices.
+     *
+     * @return The distance, or {@link Distance#UNREACHABLE}.
+     */
+    public int distance(int source, int target) {
+        return search(source, target);
+    }
+
+    /**
+     * Returns the chosen landmark vertices.
+     */
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Computes a shortest path between two vertices.
+     *
+     * @return The vertices on the path, or null if the target is unreachable.
+     */
+    public ArrayList<Integer> path(int source, int target) {
+        if (search(source, target) == Distance.UNREACHABLE) {
+            return null;
+        }
+
+        ArrayList<Integer> path = new ArrayList<>();
+        for (int v = target; v != -1; v = predecessors[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    /**
+     * Returns the largest landmark lower bound on {@code d(v, target)}, or {@link Long#MAX_VALUE}
+     * if a landmark proves that the target cannot be reached from {@code v}.
+     */
+    private long lowerBound(int v, int target) {
+        int k = landmarks.length;
+        long bound = 0;
+
+        for (int i = 0; i < k; i++) {
+            int fromV = forward[v * k + i];
+            int fromT = forward[target * k + i];
+            int toV = backward[v * k + i];
+            int toT = backward[target * k + i];
+
+            // L reaches v but not t, or t reaches L but v does not: no path from v to t exists.
+            if ((fromV != Distance.UNREACHABLE && fromT == Distance.UNREACHABLE)
+                    || (toT != Distance.UNREACHABLE && toV == Distance.UNREACHABLE)) {
+                return Long.MAX_VALUE;
+            }
+            if (fromV != Distance.UNREACHABLE) {
+                bound = Math.max(bound, fromT - fromV);
+            }
+            if (toT != Distance.UNREACHABLE) {
+                bound = Math.max(bound, toV - toT);
+            }
+        }
+
+        return bound;
+    }
+
+    private int search(int source, int target) {
+        int order = graph.order();
+        heap.clear();
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(labels, 0);
+            Arrays.fill(settled, 0);
+            generation = 1;
+        }
+        if (source < 0 || source >= order || target < 0 || target >= order) {
+            return Distance.UNREACHABLE;
+        }
+
+        potentials[source] = lowerBound(source, target);
+        if (potentials[source] == Long.MAX_VALUE) {
+            return Distance.UNREACHABLE;
+        }
+
+        NeighborCursor cursor = graph.neighborCursor(source);
+        distances[source] = 0;
+        predecessors[source] = -1;
+        labels[source] = generation;
+        heap.insert(source, potentials[source]);
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[u] = generation;
+            if (u == target) {
+                return Math.toIntExact(distances[u]);
+            }
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                long distance = distances[u] + cursor.weight();
+                if (settled[v] == generation || (labels[v] == generation && distance >= distances[v])) {
+                    continue;
+                }
+
+                if (labels[v] != generation) {
+                    potentials[v] = lowerBound(v, target);
+                    labels[v] = generation;
+                    if (potentials[v] == Long.MAX_VALUE) {
+                        settled[v] = generation;
+                        continue;
+                    }
+                }
+
+                distances[v] = distance;
+                predecessors[v] = u;
+                heap.insertOrDecrease(v, distance + potentials[v]);
+            }
+        }
+
+        return Distance.UNREACHABLE;
+    }
+
+    /**
+     * Returns the vertex with the largest degree, the lowest such index on ties.
+     */
+    private static int degreeSeed(Graph graph) {
+        int seed = 0;
+        for (int v = 1; v < graph.order(); v++) {
+            if (graph.degreeOf(v) > graph.degreeOf(seed)) {
+                seed = v;
+            }
+        }
+
+        return seed;
+    }
+
+    /**
+     * Folds the latest landmark distances into each vertex's distance to its nearest landmark and
+     * returns the vertex farthest from all landmarks. Unreachable vertices count as infinitely far,
+     * so every component eventually receives a landmark.
+     */
+    private static int farthest(int[] distances, long[] nearest, boolean[] isLandmark) {
+        int farthest = -1;
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] != Distance.UNREACHABLE) {
+                nearest[v] = Math.min(nearest[v], distances[v]);
+            }
+            if (!isLandmark[v] && (farthest == -1 || nearest[v] > nearest[farthest])) {
+                farthest = v;
+            }
+        }
+
+        return farthest;
+    }
+
+    /**
+     * Hashes the weighted edge set independently of neighbor iteration order.
+     */
+    private static long fingerprint(Graph graph) {
+        long hash = graph.order();
+        for (int v = 0; v < graph.order(); v++) {
+            NeighborCursor cursor = graph.neighborCursor(v);
+            while (cursor.next()) {
+                long edge = ((long) v * 0x9E3779B97F4A7C15L) ^ ((long) cursor.target() << 20) ^ cursor.weight();
+                hash += edge * 0xBF58476D1CE4E5B9L ^ (edge >>> 31);
+            }
+        }
+
+        return hash;
+    }
+
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+
+        return values;
+    }
+
+    private static long[] unbounded(int order) {
+        long[] values = new long[order];
+        Arrays.fill(values, Long.MAX_VALUE);
+
+        return values;
+    }
+
+    private static int[] verticesByDegree(Graph graph) {
+        return IntStream.range(0, graph.order())
+                .boxed()
+                .sorted((v1, v2) -> graph.degreeOf(v1) != graph.degreeOf(v2)
+                        ? Integer.compare(graph.degreeOf(v2), graph.degreeOf(v1))
+                        : Integer.compare(v1, v2))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package main.java.distance;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Computes single-source shortest path distances with parallel delta-stepping.
+ *
+ * <p>Tentative distances are grouped into buckets of width {@code delta}. The vertices of the
+ * lowest non-empty bucket are settled together: their light edges (weight at most {@code delta})
+ * are relaxed in parallel until the bucket stops refilling, then the heavy edges of every vertex
+ * removed from the bucket are relaxed once. Relaxations race on an {@link AtomicIntegerArray}
+ * with a compare-and-set minimum, so no locks are taken.
+ *
+ * <p>A small {@code delta} approaches Dijkstra's Algorithm with little parallelism, and a large
+ * one approaches Bellman-Ford with wasted relaxations. The maximum edge weight is a good default
+ * for the 1..10 weights produced by {@link main.java.graph.GraphBuilder}.
+ *
+ * <p>The results are identical to {@link Distance#distances(Graph, int)}. The graph is copied
+ * into a light-first CSR layout when the instance is created, so later changes to it are not
+ * seen. An instance owns a {@link ForkJoinPool} and should be closed when no longer needed.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * try (DeltaStepping deltaStepping = new DeltaStepping(graph, 10, 8)) {
+ *     int[] distances = deltaStepping.distances(0);
+ * }
+ * }</pre>
+ */
+public class DeltaStepping implements AutoCloseable {
+    /**
+     * Frontiers smaller than this are relaxed on the calling thread.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final int delta;
+    private final int threads;
+    private final ForkJoinPool pool;
+    private final int[] offsets;
+    private final int[] lightEnds;
+    private final int[] targets;
+    private final int[] weights;
+
+    /**
+     * Creates an instance using the maximum edge weight as {@code delta} and one thread per
+     * available processor.
+     */
+    public DeltaStepping(Graph graph) {
+        this(graph, maxWeight(graph), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param graph the graph to search. Edge weights must be non-negative.
+     * @param delta the bucket width. Must be positive.
+     * @param threads the number of worker threads. Must be positive.
+     */
+    public DeltaStepping(Graph graph, int delta, int threads) {
+        if (delta <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("delta and threads must be positive");
+        }
+
+        this.delta = delta;
+        this.threads = threads;
+        pool = new ForkJoinPool(threads);
+
+        // Reorder each CSR row so its light edges come first.
+        CsrGraph csr = CsrGraph.of(graph);
+        int order = csr.order();
+        offsets = csr.offsets();
+        lightEnds = new int[order];
+        targets = new int[offsets[order]];
+        weights = new int[offsets[order]];
+
+        for (int v = 0; v < order; v++) {
+            int light = offsets[v];
+            int heavy = offsets[v + 1];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int slot = csr.weights()[e] <= delta ? light++ : --heavy;
+                targets[slot] = csr.targets()[e];
+                weights[slot] = csr.weights()[e];
+            }
+            lightEnds[v] = light;
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Computes the shortest path distances from the start vertex to all other vertices.
+     *
+     * @param start the starting vertex.
+     * @return an array where the value at index {@code v} is the shortest distance from the start vertex
+     *         to vertex {@code v}, or {@link Distance#UNREACHABLE}.
+     * @throws ArithmeticException if a distance does not fit in an {@code int}.
+     */
+    public int[] distances(int start) {
+        int order = lightEnds.length;
+        int[] result = new int[order];
+        Arrays.fill(result, Distance.UNREACHABLE);
+        if (start < 0 || start >= order) {
+            return result;
+        }
+
+        AtomicIntegerArray distances = new AtomicIntegerArray(order);
+        for (int v = 0; v < order; v++) {
+            distances.set(v, INFINITY);
+        }
+        distances.set(start, 0);
+
+        ArrayList<IntList> buckets = new ArrayList<>();
+        bucket(buckets, 0).add(start);
+        // Stamps deduplicate bucket entries: a vertex is expanded at most once per pass over a bucket,
+        // and collected for heavy relaxation at most once per bucket.
+        int[] expanded = new int[order];
+        int[] removed = new int[order];
+        int pass = 0;
+
+        for (int i = 0; i < buckets.size(); i++) {
+            IntList settled = new IntList();
+
+            while (!buckets.get(i).isEmpty()) {
+                IntList entries = buckets.get(i);
+                buckets.set(i, new IntList());
+                pass++;
+
+                IntList frontier = new IntList();
+                for (int j = 0; j < entries.size; j++) {
+                    int v = entries.values[j];
+                    if (expanded[v] != pass && distances.get(v) / delta == i) {
+                        expanded[v] = pass;
+                        frontier.add(v);
+                        if (removed[v] != i + 1) {
+                            removed[v] = i + 1;
+                            settled.add(v);
+                        }
+                    }
+                }
+
+                relax(frontier, true, distances, buckets);
+            }
+
+            relax(settled, false, distances, buckets);
+        }
+
+        for (int v = 0; v < order; v++) {
+            if (distances.get(v) != INFINITY) {
+                result[v] = distances.get(v);
+            }
+        }
+
+        return result;
+    }
+
+    public int delta() {
+        return delta;
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    private static IntList bucket(ArrayList<IntList> buckets, int i) {
+        while (buckets.size() <= i) {
+            buckets.add(new IntList());
+        }
+
+        return buckets.get(i);
+    }
+
+    private static int maxWeight(Graph graph) {
+        int max = 1;
+        for (int weight : CsrGraph.of(graph).weights()) {
+            max = Math.max(max, weight);
+        }
+
+        return max;
+    }
+
+    /**
+     * Relaxes the light or heavy edges of the given vertices and files every improved vertex
+     * into the bucket of its new distance.
+     */
+    private void relax(IntList vertices, boolean light, AtomicIntegerArray distances, ArrayList<IntList> buckets) {
+        if (vertices.isEmpty()) {
+            return;
+        }
+
+        ConcurrentLinkedQueue<IntList> improved = new ConcurrentLinkedQueue<>();
+        Relaxation relaxation = new Relaxation(vertices.values, 0, vertices.size, light, distances, improved);
+        if (vertices.size < SEQUENTIAL_THRESHOLD || threads == 1) {
+            relaxation.compute();
+        } else {
+            pool.invoke(relaxation);
+        }
+
+        for (IntList list : improved) {
+            for (int j = 0; j < list.size; j++) {
+                int v = list.values[j];
+                bucket(buckets, distances.get(v) / delta).add(v);
+            }
+        }
+    }
+
+    /**
+     * Relaxes the edges of a range of vertices, splitting the range across the pool.
+     */
+    private class Relaxation extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final boolean light;
+        private final AtomicIntegerArray distances;
+        private final ConcurrentLinkedQueue<IntList> improved;
+
+        Relaxation(int[] vertices, int from, int to, boolean light, AtomicIntegerArray distances,
+                   ConcurrentLinkedQueue<IntList> improved) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+            this.distances = distances;
+            this.improved = improved;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD && getPool() == pool) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Relaxation(vertices, from, middle, light, distances, improved),
+                        new Relaxation(vertices, middle, to, light, distances, improved));
+                return;
+            }
+
+            IntList local = new IntList();
+            for (int i = from; i < to; i++) {
+                int u = vertices[i];
+                long distance = distances.get(u);
+                int start = light ? offsets[u] : lightEnds[u];
+                int end = light ? lightEnds[u] : offsets[u + 1];
+
+                for (int e = start; e < end; e++) {
+                    int v = targets[e];
+                    int candidate = Math.toIntExact(distance + weights[e]);
+                    int current = distances.get(v);
+                    while (candidate < current) {
+                        if (distances.compareAndSet(v, current, candidate)) {
+                            local.add(v);
+                            break;
+                        }
+                        current = distances.get(v);
+                    }
+                }
+            }
+
+            if (!local.isEmpty()) {
+                improved.add(local);
+            }
+        }
+    }
+
+    /**
+     * A growable list of primitive ints.
+     */
+    private static class IntList {
+        private int[] values = new int[8];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
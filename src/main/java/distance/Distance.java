@@ -1,53 +1,36 @@
 package main.java.distance;
 
 import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
+import main.java.utils.structures.IndexedMinHeap;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Distance {
+    /**
+     * The distance reported for vertices that cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+
     /**
      * Computes the shortest path distances from the start vertex to all other vertices
      * in the given graph using Dijkstra's Algorithm.
      *
      * @param graph the graph on which to run Dijkstra's algorithm.
      * @param start the starting vertex from which to calculate the shortest path distances.
-     * @return an array where the value at index {@code v} is the shortest distance from the start vertex to vertex {@code v}.
+     * @return an array where the value at index {@code v} is the shortest distance from the start vertex to vertex {@code v},
+     *         or null if {@code v} is unreachable.
      */
     public static Integer[] dijkstra(Graph graph, int start) {
-        Integer[] distances = new Integer[graph.order()];
-        HashSet<Integer> unvisited = new HashSet<>();
+        int[] distances = distances(graph, start);
+        Integer[] boxed = new Integer[distances.length];
 
-        for (int v = 0; v < graph.order(); v++) {
-            distances[v] = null;
-            unvisited.add(v);
+        for (int v = 0; v < distances.length; v++) {
+            boxed[v] = distances[v] == UNREACHABLE ? null : distances[v];
         }
-        distances[start] = 0;
-        unvisited.remove(start);
-
-        int current = start;
-        for (int i = 0; i < graph.order() - 1; i++) {
-            int minVertex = current;
-            int minDist = Integer.MAX_VALUE;
-
-            for (int vertex : unvisited) {
-                Integer dist = distances[vertex];
-                int weight = graph.getEdgeWeight(current, vertex);
-                if (weight != 0 && (dist == null || distances[current] + weight < dist)) {
-                    dist = distances[current] + weight;
-                }
-                distances[vertex] = dist;
 
-                if (dist != null && dist < minDist) {
-                    minDist = dist;
-                    minVertex = vertex;
-                }
-            }
-
-            current = minVertex;
-            unvisited.remove(current);
-        }
-        
-        return distances;
+        return boxed;
     }
 
     /**
@@ -57,9 +40,91 @@ public class Distance {
      * @param graph the graph on which to run Dijkstra's algorithm.
      * @param start the starting vertex from which to calculate the shortest path distance.
      * @param end the ending vertex to which the shortest path distance is calculated.
-     * @return the shortest distance from the start vertex to the end vertex.
+     * @return the shortest distance from the start vertex to the end vertex, or null if it is unreachable.
      */
     public static Integer dijkstra(Graph graph, int start, int end) {
-        return dijkstra(graph, start)[end];
+        int distance = new ShortestPathQuery(graph).distance(start, end);
+        return distance == UNREACHABLE ? null : distance;
+    }
+
+    /**
+     * Computes the shortest path distances from the start vertex to all other vertices
+     * using Dijkstra's Algorithm over an indexed binary heap. Only real out-edges are
+     * relaxed, so this runs in O((V + E) log V). Edge weights must be non-negative.
+     *
+     * @param graph the graph on which to run Dijkstra's algorithm.
+     * @param start the starting vertex from which to calculate the shortest path distances.
+     * @return an array where the value at index {@code v} is the shortest distance from the start vertex
+     *         to vertex {@code v}, or {@link #UNREACHABLE}.
+     * @throws ArithmeticException if a distance does not fit in an {@code int}.
+     */
+    public static int[] distances(Graph graph, int start) {
+        return dijkstra(graph, start, null);
+    }
+
+    /**
+     * Returns the largest reachable entry of {@code distances[offset..offset+length)}, skipping
+     * the entry of {@code v} itself, or {@link #UNREACHABLE} if there is none.
+     */
+    static int eccentricity(int[] distances, int offset, int length, int v) {
+        int eccentricity = UNREACHABLE;
+        for (int i = 0; i < length; i++) {
+            if (i != v) {
+                eccentricity = Math.max(eccentricity, distances[offset + i]);
+            }
+        }
+
+        return eccentricity;
+    }
+
+    /**
+     * Computes a shortest path from the start vertex to the end vertex, stopping as soon
+     * as the end vertex is settled.
+     *
+     * @param graph the graph to search.
+     * @param start the first vertex of the path.
+     * @param end the last vertex of the path.
+     * @return the vertices on the path, or null if the end vertex is unreachable.
+     */
+    public static ArrayList<Integer> shortestPath(Graph graph, int start, int end) {
+        return new ShortestPathQuery(graph).path(start, end);
+    }
+
+    /**
+     * Runs Dijkstra's Algorithm and optionally records the predecessor of every reached
+     * vertex ({@code -1} for the start and for unreachable vertices).
+     */
+    static int[] dijkstra(Graph graph, int start, int[] predecessors) {
+        int order = graph.order();
+        int[] distances = new int[order];
+        Arrays.fill(distances, UNREACHABLE);
+        if (predecessors != null) {
+            Arrays.fill(predecessors, -1);
+        }
+        if (start < 0 || start >= order) {
+            return distances;
+        }
+
+        IndexedMinHeap heap = new IndexedMinHeap(order);
+        NeighborCursor cursor = graph.neighborCursor(start);
+        boolean[] settled = new boolean[order];
+        heap.insert(start, 0);
+
+        while (!heap.isEmpty()) {
+            long distance = heap.peekKey();
+            int u = heap.poll();
+            settled[u] = true;
+            distances[u] = Math.toIntExact(distance);
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (!settled[v] && heap.insertOrDecrease(v, distance + cursor.weight()) && predecessors != null) {
+                    predecessors[v] = u;
+                }
+            }
+        }
+
+        return distances;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package main.java.distance;
+
+/**
+ * The shortest path distances between every pair of vertices, stored row-major in a flat
+ * {@code int[]}.
+ *
+ * <p>Eccentricities follow {@link main.java.graph.Graph#center()}: the eccentricity of a vertex is
+ * its largest distance to any other vertex it can reach, and vertices that reach nothing else are
+ * ignored by the center, diameter and radius queries.
+ *
+ * @see AllPairsShortestPaths
+ */
+public class DistanceMatrix {
+    private final int order;
+    private final int[] distances;
+
+    /**
+     * @param order the number of vertices.
+     * @param distances the row-major distances, with {@link Distance#UNREACHABLE} for unreachable pairs.
+     */
+    DistanceMatrix(int order, int[] distances) {
+        this.order = order;
+        this.distances = distances;
+    }
+
+    /**
+     * Returns the vertex with the lowest eccentricity, the lowest such index on ties, or -1 if the
+     * graph is empty.
+     */
+    public int center() {
+        if (order == 0) {
+            return -1;
+        }
+
+        int center = 0;
+        int minEccentricity = Integer.MAX_VALUE;
+        for (int v = 0; v < order; v++) {
+            int eccentricity = eccentricity(v);
+            if (eccentricity != Distance.UNREACHABLE && eccentricity < minEccentricity) {
+                minEccentricity = eccentricity;
+                center = v;
+            }
+        }
+
+        return center;
+    }
+
+    /**
+     * Returns the largest eccentricity, or {@link Distance#UNREACHABLE} if no vertex reaches another.
+     */
+    public int diameter() {
+        int diameter = Distance.UNREACHABLE;
+        for (int v = 0; v < order; v++) {
+            diameter = Math.max(diameter, eccentricity(v));
+        }
+
+        return diameter;
+    }
+
+    /**
+     * Returns the distance from one vertex to another, or {@link Distance#UNREACHABLE}.
+     */
+    public int distance(int v1, int v2) {
+        return distances[v1 * order + v2];
+    }
+
+    /**
+     * Returns the largest distance from a vertex to any other vertex it reaches, or
+     * {@link Distance#UNREACHABLE} if it reaches none.
+     */
+    public int eccentricity(int v) {
+        return Distance.eccentricity(distances, v * order, order, v);
+    }
+
+    public int[] eccentricities() {
+        int[] eccentricities = new int[order];
+        for (int v = 0; v < order; v++) {
+            eccentricities[v] = eccentricity(v);
+        }
+
+        return eccentricities;
+    }
+
+    public int order() {
+        return order;
+    }
+
+    /**
+     * Returns the smallest eccentricity, or {@link Distance#UNREACHABLE} if no vertex reaches another.
+     */
+    public int radius() {
+        int radius = Integer.MAX_VALUE;
+        for (int v = 0; v < order; v++) {
+            int eccentricity = eccentricity(v);
+            if (eccentricity != Distance.UNREACHABLE) {
+                radius = Math.min(radius, eccentricity);
+            }
+        }
+
+        return radius == Integer.MAX_VALUE ? Distance.UNREACHABLE : radius;
+    }
+
+    /**
+     * Returns a copy of the distances from a vertex.
+     */
+    public int[] row(int v) {
+        int[] row = new int[order];
+        System.arraycopy(distances, v * order, row, 0, order);
+
+        return row;
+    }
+}
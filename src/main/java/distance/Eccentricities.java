@@ -0,0 +1,187 @@
+package main.java.distance;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Computes exact eccentricities, the center, the radius and the diameter of a graph, running as
+ * few single-source searches as possible.
+ *
+ * <p>On undirected graphs every search from a vertex {@code s} bounds the eccentricity of each
+ * vertex {@code v} in its component by the triangle inequality:
+ * {@code max(d(s, v), ecc(s) - d(s, v)) <= ecc(v) <= ecc(s) + d(s, v)}. Vertices whose bounds
+ * show they cannot affect the answer are pruned, and the next source alternates between the
+ * candidate with the smallest lower bound and the one with the largest upper bound, preferring
+ * high degrees (Takes and Kosters). The bounds are kept between calls, so later queries reuse
+ * the earlier searches.
+ *
+ * <p>Eccentricities follow {@link Graph#center()}: they only consider reachable vertices, and a
+ * vertex that reaches no other vertex has eccentricity {@link Distance#UNREACHABLE} and is never
+ * the center. The bounds do not hold on directed graphs, where every eccentricity is computed
+ * directly.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * Eccentricities eccentricities = new Eccentricities(graph);
+ * int center = eccentricities.center();
+ * int diameter = eccentricities.diameter();
+ * }</pre>
+ */
+public class Eccentricities {
+    private final CsrGraph graph;
+    private final int[] lower;
+    private final int[] upper;
+    private boolean smallestLowerNext = true;
+    private int traversals = 0;
+
+    public Eccentricities(Graph graph) {
+        this.graph = CsrGraph.of(graph);
+        int order = graph.order();
+        lower = new int[order];
+        upper = new int[order];
+
+        if (graph.isDirected()) {
+            int[] eccentricities = AllPairsShortestPaths.eccentricities(this.graph);
+            System.arraycopy(eccentricities, 0, lower, 0, order);
+            System.arraycopy(eccentricities, 0, upper, 0, order);
+            traversals = order;
+            return;
+        }
+
+        Arrays.fill(upper, Integer.MAX_VALUE);
+        for (int v = 0; v < order; v++) {
+            if (this.graph.degreeOf(v) == 0) {
+                lower[v] = Distance.UNREACHABLE;
+                upper[v] = Distance.UNREACHABLE;
+            }
+        }
+    }
+
+    /**
+     * Returns the vertex with the lowest eccentricity, the lowest such index on ties, 0 if no
+     * vertex reaches another, or -1 if the graph is empty.
+     */
+    public int center() {
+        if (graph.order() == 0) {
+            return -1;
+        }
+
+        int radius = radius();
+        for (int v = 0; v < graph.order(); v++) {
+            if (upper[v] == radius && lower[v] == radius) {
+                return v;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the largest eccentricity, or {@link Distance#UNREACHABLE} if no vertex reaches another.
+     */
+    public int diameter() {
+        while (true) {
+            int maxLower = Distance.UNREACHABLE;
+            for (int v = 0; v < graph.order(); v++) {
+                maxLower = Math.max(maxLower, lower[v]);
+            }
+
+            // Only vertices that might still exceed the best lower bound matter.
+            int bound = maxLower;
+            int source = select(v -> upper[v] > lower[v] && upper[v] > bound);
+            if (source == -1) {
+                return maxLower;
+            }
+            refine(source);
+        }
+    }
+
+    /**
+     * Returns the eccentricity of every vertex.
+     */
+    public int[] eccentricities() {
+        int source;
+        while ((source = select(v -> upper[v] > lower[v])) != -1) {
+            refine(source);
+        }
+
+        return upper.clone();
+    }
+
+    /**
+     * Returns the smallest eccentricity, or {@link Distance#UNREACHABLE} if no vertex reaches another.
+     */
+    public int radius() {
+        while (true) {
+            int minUpper = Integer.MAX_VALUE;
+            for (int v = 0; v < graph.order(); v++) {
+                if (upper[v] != Distance.UNREACHABLE) {
+                    minUpper = Math.min(minUpper, upper[v]);
+                }
+            }
+
+            // A vertex whose lower bound exceeds some upper bound cannot be a center.
+            int bound = minUpper;
+            int source = select(v -> upper[v] > lower[v] && lower[v] <= bound);
+            if (source == -1) {
+                return minUpper == Integer.MAX_VALUE ? Distance.UNREACHABLE : minUpper;
+            }
+            refine(source);
+        }
+    }
+
+    /**
+     * Returns the number of single-source searches run so far.
+     */
+    public int traversals() {
+        return traversals;
+    }
+
+    /**
+     * Tightens the bounds of every vertex in the component of a source.
+     */
+    private void refine(int source) {
+        int[] distances = Distance.distances(graph, source);
+        int eccentricity = Distance.eccentricity(distances, 0, distances.length, source);
+        traversals++;
+
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] != Distance.UNREACHABLE) {
+                lower[v] = Math.max(lower[v], Math.max(distances[v], eccentricity - distances[v]));
+                upper[v] = Math.min(upper[v], eccentricity + distances[v]);
+            }
+        }
+    }
+
+    /**
+     * Picks the next source among the candidates, alternating between the smallest lower bound and
+     * the largest upper bound and breaking ties by degree.
+     *
+     * @return The source, or -1 if there are no candidates.
+     */
+    private int select(IntPredicate candidate) {
+        boolean smallestLower = smallestLowerNext;
+        smallestLowerNext = !smallestLowerNext;
+        int best = -1;
+
+        for (int v = 0; v < graph.order(); v++) {
+            if (!candidate.test(v)) {
+                continue;
+            }
+            if (best == -1) {
+                best = v;
+                continue;
+            }
+
+            int comparison = smallestLower ? Integer.compare(lower[best], lower[v]) : Integer.compare(upper[v], upper[best]);
+            if (comparison > 0 || (comparison == 0 && graph.degreeOf(v) > graph.degreeOf(best))) {
+                best = v;
+            }
+        }
+
+        return best;
+    }
+}
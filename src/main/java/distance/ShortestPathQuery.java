@@ -0,0 +1,259 @@
+package main.java.distance;
+
+import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
+import main.java.graph.csr.CsrGraph;
+import main.java.utils.structures.IndexedMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Answers point-to-point shortest path queries on a fixed graph.
+ *
+ * <p>Unlike {@link Distance#distances(Graph, int)}, a query stops as soon as the target is
+ * settled. The bidirectional mode additionally searches backward from the target over the
+ * reversed graph and stops once the two frontiers can no longer improve the best meeting
+ * point, which typically settles far fewer vertices.
+ *
+ * <p>All working arrays are allocated once per instance and invalidated between queries
+ * with a generation counter, so a query only touches the vertices it visits. The reversed
+ * adjacency is built on the first bidirectional query and cached. The graph must not be
+ * modified while the query object is in use, and edge weights must be non-negative.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * ShortestPathQuery query = new ShortestPathQuery(graph);
+ * int distance = query.bidirectionalDistance(0, 42);
+ * ArrayList<Integer> path = query.path(0, 42);
+ * }</pre>
+ */
+public class ShortestPathQuery {
+    private final Graph graph;
+    private Graph reverse;
+    private final Side forward;
+    private final Side backward;
+    private int generation = 0;
+    private int meetingVertex = -1;
+
+    public ShortestPathQuery(Graph graph) {
+        this.graph = graph;
+        forward = new Side(graph.order());
+        backward = new Side(graph.order());
+    }
+
+    /**
+     * Computes the shortest distance between two vertices with a bidirectional search.
+     *
+     * @return The distance, or {@link Distance#UNREACHABLE}.
+     */
+    public int bidirectionalDistance(int source, int target) {
+        return runBidirectional(source, target);
+    }
+
+    /**
+     * Computes a shortest path between two vertices with a bidirectional search.
+     *
+     * @return The vertices on the path, or null if the target is unreachable.
+     */
+    public ArrayList<Integer> bidirectionalPath(int source, int target) {
+        if (runBidirectional(source, target) == Distance.UNREACHABLE) {
+            return null;
+        }
+
+        ArrayList<Integer> path = forward.pathTo(meetingVertex, generation);
+        Collections.reverse(path);
+        ArrayList<Integer> tail = backward.pathTo(meetingVertex, generation);
+        path.addAll(tail.subList(1, tail.size()));
+
+        return path;
+    }
+
+    /**
+     * Computes the shortest distance between two vertices, stopping once the target is settled.
+     *
+     * @return The distance, or {@link Distance#UNREACHABLE}.
+     */
+    public int distance(int source, int target) {
+        return runForward(source, target);
+    }
+
+    /**
+     * Computes a shortest path between two vertices, stopping once the target is settled.
+     *
+     * @return The vertices on the path, or null if the target is unreachable.
+     */
+    public ArrayList<Integer> path(int source, int target) {
+        if (runForward(source, target) == Distance.UNREACHABLE) {
+            return null;
+        }
+
+        ArrayList<Integer> path = forward.pathTo(target, generation);
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    private boolean isValidVertex(int v) {
+        return v >= 0 && v < graph.order();
+    }
+
+    private void nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            forward.reset();
+            backward.reset();
+            generation = 1;
+        }
+        forward.heap.clear();
+        backward.heap.clear();
+    }
+
+    private Graph reverse() {
+        if (reverse == null) {
+            reverse = graph.isDirected() ? CsrGraph.of(graph).transpose() : graph;
+        }
+
+        return reverse;
+    }
+
+    private int runBidirectional(int source, int target) {
+        nextGeneration();
+        if (!isValidVertex(source) || !isValidVertex(target)) {
+            return Distance.UNREACHABLE;
+        }
+
+        meetingVertex = source;
+        if (source == target) {
+            forward.label(source, 0, -1, generation);
+            backward.label(target, 0, -1, generation);
+            return 0;
+        }
+
+        NeighborCursor forwardCursor = graph.neighborCursor(source);
+        NeighborCursor backwardCursor = reverse().neighborCursor(target);
+        forward.label(source, 0, -1, generation);
+        backward.label(target, 0, -1, generation);
+        long best = Long.MAX_VALUE;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            if (forward.heap.peekKey() + backward.heap.peekKey() >= best) {
+                break;
+            }
+
+            boolean forwardStep = forward.heap.peekKey() <= backward.heap.peekKey();
+            Side side = forwardStep ? forward : backward;
+            Side other = forwardStep ? backward : forward;
+            NeighborCursor cursor = forwardStep ? forwardCursor : backwardCursor;
+
+            long distance = side.heap.peekKey();
+            int u = side.heap.poll();
+            side.settled[u] = generation;
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                long candidate = distance + cursor.weight();
+                if (side.settled[v] == generation || !side.relax(v, candidate, u, generation)) {
+                    continue;
+                }
+
+                if (other.labels[v] == generation && candidate + other.distances[v] < best) {
+                    best = candidate + other.distances[v];
+                    meetingVertex = v;
+                }
+            }
+        }
+
+        return best == Long.MAX_VALUE ? Distance.UNREACHABLE : Math.toIntExact(best);
+    }
+
+    private int runForward(int source, int target) {
+        nextGeneration();
+        if (!isValidVertex(source) || !isValidVertex(target)) {
+            return Distance.UNREACHABLE;
+        }
+
+        NeighborCursor cursor = graph.neighborCursor(source);
+        forward.label(source, 0, -1, generation);
+
+        while (!forward.heap.isEmpty()) {
+            long distance = forward.heap.peekKey();
+            int u = forward.heap.poll();
+            forward.settled[u] = generation;
+
+            if (u == target) {
+                return Math.toIntExact(distance);
+            }
+
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (forward.settled[v] != generation) {
+                    forward.relax(v, distance + cursor.weight(), u, generation);
+                }
+            }
+        }
+
+        return Distance.UNREACHABLE;
+    }
+
+    /**
+     * The labels of one search direction. An entry is only meaningful when its generation
+     * stamp matches the current query.
+     */
+    private static class Side {
+        private final long[] distances;
+        private final int[] predecessors;
+        private final int[] labels;
+        private final int[] settled;
+        private final IndexedMinHeap heap;
+
+        Side(int order) {
+            distances = new long[order];
+            predecessors = new int[order];
+            labels = new int[order];
+            settled = new int[order];
+            heap = new IndexedMinHeap(order);
+        }
+
+        void label(int v, long distance, int predecessor, int generation) {
+            distances[v] = distance;
+            predecessors[v] = predecessor;
+            labels[v] = generation;
+            heap.insert(v, distance);
+        }
+
+        /**
+         * Walks predecessors from a labeled vertex back to the root of this search.
+         */
+        ArrayList<Integer> pathTo(int v, int generation) {
+            ArrayList<Integer> path = new ArrayList<>();
+            for (int u = v; u != -1 && labels[u] == generation; u = predecessors[u]) {
+                path.add(u);
+            }
+
+            return path;
+        }
+
+        boolean relax(int v, long distance, int predecessor, int generation) {
+            if (labels[v] != generation) {
+                label(v, distance, predecessor, generation);
+                return true;
+            }
+            if (distance < distances[v]) {
+                distances[v] = distance;
+                predecessors[v] = predecessor;
+                heap.decreaseKey(v, distance);
+                return true;
+            }
+
+            return false;
+        }
+
+        void reset() {
+            Arrays.fill(labels, 0);
+            Arrays.fill(settled, 0);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package main.java.distance.ch;
+
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.utils.Log;
+import main.java.utils.structures.IndexedMinHeap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * A contraction hierarchy over a static weighted graph, answering shortest path queries by
+ * searching only toward more important vertices.
+ *
+ * <p>Every vertex has a rank given by the order in which it was contracted. The hierarchy keeps
+ * the upward edges {@code v -> w} with {@code rank(w) > rank(v)} and, for the backward search,
+ * the downward edges {@code u -> v} with {@code rank(u) > rank(v)} indexed by {@code v}. Both are
+ * stored in flat CSR arrays together with the middle vertex of each shortcut, so paths can be
+ * unpacked to the original edges. A query runs a forward search on the upward edges and a
+ * backward search on the downward edges and meets at the highest ranked vertex of a shortest
+ * path.
+ *
+ * <p>A hierarchy does not refer to the graph it was built from and can be saved with
+ * {@link #write(String)} and restored with {@link #read(String)}. Queries reuse per-instance
+ * working arrays, so a hierarchy must not be shared between threads.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * ContractionHierarchy ch = ContractionHierarchy.build(graph);
+ * int distance = ch.distance(0, 42);
+ * ArrayList<Integer> path = ch.path(0, 42);
+ * }</pre>
+ */
+public class ContractionHierarchy {
+    /**
+     * The default number of vertices a witness search may settle before a shortcut is added anyway.
+     */
+    public static final int DEFAULT_WITNESS_LIMIT = 500;
+
+    private static final int MAGIC = 0x43483031;
+
+    private final int[] rank;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddles;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downWeights;
+    private final int[] downMiddles;
+
+    private final Search forward;
+    private final Search backward;
+    private int generation = 0;
+
+    private ContractionHierarchy(int[] rank, int[] upOffsets, int[] upTargets, int[] upWeights, int[] upMiddles,
+                                 int[] downOffsets, int[] downSources, int[] downWeights, int[] downMiddles) {
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+
+        forward = new Search(rank.length);
+        backward = new Search(rank.length);
+    }
+
+    /**
+     * Builds a hierarchy with the {@link #DEFAULT_WITNESS_LIMIT}.
+     */
+    public static ContractionHierarchy build(Graph graph) {
+        return build(graph, DEFAULT_WITNESS_LIMIT);
+    }
+
+    /**
+     * Contracts every vertex of a graph.
+     *
+     * @param graph the graph, directed or undirected. Edge weights must be non-negative.
+     * @param witnessLimit the number of vertices a witness search may settle. Lower limits build
+     *                     faster but may add unnecessary shortcuts.
+     * @return the hierarchy.
+     */
+    public static ContractionHierarchy build(Graph graph, int witnessLimit) {
+        return new Contractor(graph, witnessLimit).contract();
+    }
+
+    /**
+     * Assembles a hierarchy from per-vertex {@code [vertex, weight, middle]} triples.
+     */
+    static ContractionHierarchy fromEdges(int[] rank, int[][] up, int[][] down) {
+        int order = rank.length;
+        int[] upOffsets = offsets(up);
+        int[] downOffsets = offsets(down);
+        int[] upTargets = new int[upOffsets[order]];
+        int[] upWeights = new int[upOffsets[order]];
+        int[] upMiddles = new int[upOffsets[order]];
+        int[] downSources = new int[downOffsets[order]];
+        int[] downWeights = new int[downOffsets[order]];
+        int[] downMiddles = new int[downOffsets[order]];
+
+        for (int v = 0; v < order; v++) {
+            unpackTriples(up[v], upOffsets[v], upTargets, upWeights, upMiddles);
+            unpackTriples(down[v], downOffsets[v], downSources, downWeights, downMiddles);
+        }
+
+        return new ContractionHierarchy(rank, upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles);
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write(String)}.
+     *
+     * @return the hierarchy, or empty if the file is missing or malformed.
+     */
+    public static Optional<ContractionHierarchy> read(String path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                Log.w("Contraction hierarchy file '" + path + "' is invalid");
+                return Optional.empty();
+            }
+
+            // Every length is checked against the ints left in the file before it is allocated.
+            long remaining = new File(path).length() / Integer.BYTES - 2;
+            int order = in.readInt();
+            if (order < 0 || 3L * order + 2 > remaining) {
+                Log.w("Contraction hierarchy file '" + path + "' is invalid");
+                return Optional.empty();
+            }
+
+            int[] rank = readInts(in, order);
+            int[] upOffsets = readInts(in, order + 1);
+            remaining -= 2L * order + 1;
+            if (!isValidOffsets(upOffsets) || 3L * upOffsets[order] + order + 1 > remaining) {
+                Log.w("Contraction hierarchy file '" + path + "' is invalid");
+                return Optional.empty();
+            }
+
+            int[] upTargets = readInts(in, upOffsets[order]);
+            int[] upWeights = readInts(in, upOffsets[order]);
+            int[] upMiddles = readInts(in, upOffsets[order]);
+            int[] downOffsets = readInts(in, order + 1);
+            remaining -= 3L * upOffsets[order] + order + 1;
+            if (!isValidOffsets(downOffsets) || 3L * downOffsets[order] != remaining) {
+                Log.w("Contraction hierarchy file '" + path + "' is invalid");
+                return Optional.empty();
+            }
+
+            int[] downSources = readInts(in, downOffsets[order]);
+            int[] downWeights = readInts(in, downOffsets[order]);
+            int[] downMiddles = readInts(in, downOffsets[order]);
+
+            return Optional.of(new ContractionHierarchy(rank, upOffsets, upTargets, upWeights, upMiddles,
+                    downOffsets, downSources, downWeights, downMiddles));
+        } catch (IOException e) {
+            Log.e("Could not read contraction hierarchy path '" + path + "'");
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Saves the hierarchy in a compact binary format.
+     */
+    public void write(String path) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(order());
+            for (int[] array : new int[][] {rank, upOffsets, upTargets, upWeights, upMiddles,
+                    downOffsets, downSources, downWeights, downMiddles}) {
+                for (int value : array) {
+                    out.writeInt(value);
+                }
+            }
+        } catch (IOException e) {
+            Log.e("Could not write contraction hierarchy path '" + path + "'");
+        }
+    }
+
+    /**
+     * Computes the shortest distance between two vertices.
+     *
+     * @return The distance, or {@link Distance#UNREACHABLE}.
+     */
+    public int distance(int source, int target) {
+        int meeting = search(source, target);
+        return meeting == -1 ? Distance.UNREACHABLE : Math.toIntExact(forward.distances[meeting] + backward.distances[meeting]);
+    }
+
+    public int order() {
+        return rank.length;
+    }
+
+    /**
+     * Computes a shortest path between two vertices, with all shortcuts unpacked.
+     *
+     * @return The vertices on the path, or null if the target is unreachable.
+     */
+    public ArrayList<Integer> path(int source, int target) {
+        int meeting = search(source, target);
+        if (meeting == -1) {
+            return null;
+        }
+
+        ArrayList<Integer> upward = new ArrayList<>();
+        for (int v = meeting; v != source; v = forward.predecessors[v]) {
+            upward.add(v);
+        }
+        upward.add(source);
+        Collections.reverse(upward);
+
+        ArrayList<Integer> path = new ArrayList<>();
+        path.add(source);
+        for (int i = 1; i < upward.size(); i++) {
+            int v = upward.get(i);
+            unpack(upward.get(i - 1), v, upMiddles[forward.edges[v]], path);
+        }
+        for (int v = meeting; v != target; v = backward.predecessors[v]) {
+            unpack(v, backward.predecessors[v], downMiddles[backward.edges[v]], path);
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the contraction rank of a vertex. Lower ranks were contracted first.
+     */
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    /**
+     * Returns the number of upward and downward edges, including shortcuts.
+     */
+    public int size() {
+        return upTargets.length + downSources.length;
+    }
+
+    private static int[] offsets(int[][] triples) {
+        int[] offsets = new int[triples.length + 1];
+        for (int v = 0; v < triples.length; v++) {
+            offsets[v + 1] = offsets[v] + triples[v].length / 3;
+        }
+
+        return offsets;
+    }
+
+    /**
+     * Checks that row offsets start at 0 and never decrease.
+     */
+    private static boolean isValidOffsets(int[] offsets) {
+        if (offsets[0] != 0) {
+            return false;
+        }
+
+        for (int v = 1; v < offsets.length; v++) {
+            if (offsets[v] < offsets[v - 1]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+
+        return values;
+    }
+
+    private static void unpackTriples(int[] triples, int offset, int[] vertices, int[] weights, int[] middles) {
+        for (int i = 0; i < triples.length / 3; i++) {
+            vertices[offset + i] = triples[3 * i];
+            weights[offset + i] = triples[3 * i + 1];
+            middles[offset + i] = triples[3 * i + 2];
+        }
+    }
+
+    /**
+     * Runs the forward and backward upward searches.
+     *
+     * @return The vertex where the shortest path meets, or -1 if the target is unreachable.
+     */
+    private int search(int source, int target) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(forward.labels, 0);
+            Arrays.fill(backward.labels, 0);
+            generation = 1;
+        }
+        forward.heap.clear();
+        backward.heap.clear();
+        if (source < 0 || source >= order() || target < 0 || target >= order()) {
+            return -1;
+        }
+
+        forward.label(source, 0, -1, -1, generation);
+        backward.label(target, 0, -1, -1, generation);
+        long best = Long.MAX_VALUE;
+        int meeting = -1;
+        boolean forwardTurn = true;
+
+        while (true) {
+            boolean forwardActive = !forward.heap.isEmpty() && forward.heap.peekKey() < best;
+            boolean backwardActive = !backward.heap.isEmpty() && backward.heap.peekKey() < best;
+            if (!forwardActive && !backwardActive) {
+                break;
+            }
+
+            boolean forwardStep = forwardActive && (forwardTurn || !backwardActive);
+            forwardTurn = !forwardTurn;
+            Search side = forwardStep ? forward : backward;
+            Search other = forwardStep ? backward : forward;
+            int[] offsets = forwardStep ? upOffsets : downOffsets;
+            int[] vertices = forwardStep ? upTargets : downSources;
+            int[] weights = forwardStep ? upWeights : downWeights;
+
+            long distance = side.heap.peekKey();
+            int u = side.heap.poll();
+            if (other.labels[u] == generation && distance + other.distances[u] < best) {
+                best = distance + other.distances[u];
+                meeting = u;
+            }
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                side.relax(vertices[e], distance + weights[e], u, e, generation);
+            }
+        }
+
+        return meeting;
+    }
+
+    /**
+     * Appends the original vertices after {@code v1} on the edge {@code v1 -> v2}.
+     */
+    private void unpack(int v1, int v2, int middle, ArrayList<Integer> path) {
+        if (middle == -1) {
+            path.add(v2);
+            return;
+        }
+
+        // The middle vertex was contracted before both endpoints, so v1 -> middle is a
+        // downward edge stored at the middle and middle -> v2 is an upward edge of the middle.
+        int downMiddle = -1;
+        for (int e = downOffsets[middle]; e < downOffsets[middle + 1]; e++) {
+            if (downSources[e] == v1) {
+                downMiddle = downMiddles[e];
+                break;
+            }
+        }
+        int upMiddle = -1;
+        for (int e = upOffsets[middle]; e < upOffsets[middle + 1]; e++) {
+            if (upTargets[e] == v2) {
+                upMiddle = upMiddles[e];
+                break;
+            }
+        }
+
+        unpack(v1, middle, downMiddle, path);
+        unpack(middle, v2, upMiddle, path);
+    }
+
+    /**
+     * The labels of one search direction. An entry is only meaningful when its generation
+     * stamp matches the current query.
+     */
+    private static class Search {
+        private final long[] distances;
+        private final int[] predecessors;
+        private final int[] edges;
+        private final int[] labels;
+        private final IndexedMinHeap heap;
+
+        Search(int order) {
+            distances = new long[order];
+            predecessors = new int[order];
+            edges = new int[order];
+            labels = new int[order];
+            heap = new IndexedMinHeap(order);
+        }
+
+        void label(int v, long distance, int predecessor, int edge, int generation) {
+            distances[v] = distance;
+            predecessors[v] = predecessor;
+            edges[v] = edge;
+            labels[v] = generation;
+            heap.insert(v, distance);
+        }
+
+        void relax(int v, long distance, int predecessor, int edge, int generation) {
+            if (labels[v] != generation) {
+                label(v, distance, predecessor, edge, generation);
+            } else if (distance < distances[v] && heap.contains(v)) {
+                distances[v] = distance;
+                predecessors[v] = predecessor;
+                edges[v] = edge;
+                heap.decreaseKey(v, distance);
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package main.java.distance.ch;
+
+import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
+import main.java.utils.structures.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * Contracts the vertices of a graph one at a time to produce a {@link ContractionHierarchy}.
+ *
+ * <p>Vertices are ordered lazily by their edge difference (shortcuts added minus edges removed)
+ * plus the number of already contracted neighbors, which spreads contraction evenly over the
+ * graph. A shortcut {@code u -> w} is only inserted when a bounded witness search from {@code u}
+ * that avoids the contracted vertex finds no path at least as short.
+ */
+class Contractor {
+    private final int order;
+    private final int witnessLimit;
+    private final Adjacency[] out;
+    private final Adjacency[] in;
+    private final boolean[] contracted;
+    private final int[] contractedNeighbors;
+
+    private final IndexedMinHeap witnessHeap;
+    private final long[] witnessDistances;
+    private final int[] witnessLabels;
+    private int generation = 0;
+
+    Contractor(Graph graph, int witnessLimit) {
+        this.order = graph.order();
+        this.witnessLimit = witnessLimit;
+        out = new Adjacency[order];
+        in = new Adjacency[order];
+        contracted = new boolean[order];
+        contractedNeighbors = new int[order];
+        witnessHeap = new IndexedMinHeap(order);
+        witnessDistances = new long[order];
+        witnessLabels = new int[order];
+
+        for (int v = 0; v < order; v++) {
+            out[v] = new Adjacency();
+            in[v] = new Adjacency();
+        }
+
+        for (int v = 0; v < order; v++) {
+            NeighborCursor cursor = graph.neighborCursor(v);
+            while (cursor.next()) {
+                if (cursor.target() != v) {
+                    addEdge(v, cursor.target(), cursor.weight(), -1);
+                }
+            }
+        }
+    }
+
+    ContractionHierarchy contract() {
+        IndexedMinHeap queue = new IndexedMinHeap(order);
+        for (int v = 0; v < order; v++) {
+            queue.insert(v, priority(v));
+        }
+
+        int[] rank = new int[order];
+        int[][] up = new int[order][];
+        int[][] down = new int[order][];
+        int next = 0;
+
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            long priority = priority(v);
+            if (!queue.isEmpty() && priority > queue.peekKey()) {
+                queue.insert(v, priority);
+                continue;
+            }
+
+            rank[v] = next++;
+            up[v] = out[v].toArray();
+            down[v] = in[v].toArray();
+            contract(v, false);
+        }
+
+        return ContractionHierarchy.fromEdges(rank, up, down);
+    }
+
+    private void addEdge(int v1, int v2, int weight, int middle) {
+        out[v1].put(v2, weight, middle);
+        in[v2].put(v1, weight, middle);
+    }
+
+    /**
+     * Contracts a vertex, or only counts the shortcuts its contraction would need.
+     *
+     * @return The number of shortcuts.
+     */
+    private int contract(int v, boolean simulate) {
+        Adjacency sources = in[v];
+        Adjacency targets = out[v];
+        int shortcuts = 0;
+
+        for (int i = 0; i < sources.size; i++) {
+            int u = sources.vertices[i];
+            if (contracted[u]) {
+                continue;
+            }
+
+            long limit = 0;
+            for (int j = 0; j < targets.size; j++) {
+                limit = Math.max(limit, (long) sources.weights[i] + targets.weights[j]);
+            }
+            witnessSearch(u, v, limit);
+
+            for (int j = 0; j < targets.size; j++) {
+                int w = targets.vertices[j];
+                long viaV = (long) sources.weights[i] + targets.weights[j];
+                if (w == u || contracted[w] || (witnessLabels[w] == generation && witnessDistances[w] <= viaV)) {
+                    continue;
+                }
+
+                shortcuts++;
+                if (!simulate) {
+                    addEdge(u, w, Math.toIntExact(viaV), v);
+                }
+            }
+        }
+
+        if (!simulate) {
+            contracted[v] = true;
+            for (int i = 0; i < sources.size; i++) {
+                out[sources.vertices[i]].remove(v);
+                contractedNeighbors[sources.vertices[i]]++;
+            }
+            for (int j = 0; j < targets.size; j++) {
+                in[targets.vertices[j]].remove(v);
+                contractedNeighbors[targets.vertices[j]]++;
+            }
+        }
+
+        return shortcuts;
+    }
+
+    private long priority(int v) {
+        int edgeDifference = contract(v, true) - in[v].size - out[v].size;
+        return edgeDifference + contractedNeighbors[v];
+    }
+
+    /**
+     * Runs a Dijkstra search from a source that ignores one vertex and gives up after settling
+     * {@code witnessLimit} vertices or passing the distance limit.
+     */
+    private void witnessSearch(int source, int ignored, long limit) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(witnessLabels, 0);
+            generation = 1;
+        }
+        witnessHeap.clear();
+        witnessDistances[source] = 0;
+        witnessLabels[source] = generation;
+        witnessHeap.insert(source, 0);
+
+        for (int settled = 0; settled < witnessLimit && !witnessHeap.isEmpty(); settled++) {
+            long distance = witnessHeap.peekKey();
+            if (distance > limit) {
+                break;
+            }
+
+            Adjacency edges = out[witnessHeap.poll()];
+            for (int i = 0; i < edges.size; i++) {
+                int w = edges.vertices[i];
+                long candidate = distance + edges.weights[i];
+                if (w == ignored || contracted[w]) {
+                    continue;
+                }
+
+                if (witnessLabels[w] != generation) {
+                    witnessLabels[w] = generation;
+                    witnessDistances[w] = candidate;
+                    witnessHeap.insert(w, candidate);
+                } else if (candidate < witnessDistances[w] && witnessHeap.contains(w)) {
+                    witnessDistances[w] = candidate;
+                    witnessHeap.decreaseKey(w, candidate);
+                }
+            }
+        }
+    }
+
+    /**
+     * The remaining edges on one side of a vertex, as parallel growable arrays. Each neighbor
+     * appears at most once, keeping the lightest edge.
+     */
+    private static class Adjacency {
+        private int[] vertices = new int[4];
+        private int[] weights = new int[4];
+        private int[] middles = new int[4];
+        private int size = 0;
+
+        void put(int v, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (vertices[i] == v) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+            vertices[size] = v;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        void remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (vertices[i] == v) {
+                    size--;
+                    vertices[i] = vertices[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns the edges as {@code [vertex, weight, middle]} triples.
+         */
+        int[] toArray() {
+            int[] edges = new int[3 * size];
+            for (int i = 0; i < size; i++) {
+                edges[3 * i] = vertices[i];
+                edges[3 * i + 1] = weights[i];
+                edges[3 * i + 2] = middles[i];
+            }
+
+            return edges;
+        }
+    }
+}
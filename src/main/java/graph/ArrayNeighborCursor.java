@@ -0,0 +1,40 @@
+package main.java.graph;
+
+/**
+ * The default {@link NeighborCursor}, which snapshots {@link Graph#neighborsArray(int)} and looks
+ * up each weight with {@link Graph#getEdgeWeight(int, int)}.
+ */
+class ArrayNeighborCursor implements NeighborCursor {
+    private final Graph graph;
+    private int vertex;
+    private int[] neighbors;
+    private int index;
+
+    ArrayNeighborCursor(Graph graph, int v) {
+        this.graph = graph;
+        reset(v);
+    }
+
+    @Override
+    public NeighborCursor reset(int v) {
+        vertex = v;
+        neighbors = graph.neighborsArray(v);
+        index = -1;
+        return this;
+    }
+
+    @Override
+    public boolean next() {
+        return ++index < neighbors.length;
+    }
+
+    @Override
+    public int target() {
+        return neighbors[index];
+    }
+
+    @Override
+    public int weight() {
+        return graph.getEdgeWeight(vertex, neighbors[index]);
+    }
+}
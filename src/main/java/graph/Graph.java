@@ -2,6 +2,7 @@ package main.java.graph;
 
 import main.java.connection.Connection;
 import main.java.distance.Distance;
+import main.java.distance.Eccentricities;
 import main.java.search.Search;
 import main.java.utils.io.FileType;
 import main.java.utils.io.GraphReader;
@@ -10,6 +11,7 @@ import main.java.utils.structures.Edge;
 import main.java.walk.Tour;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 
 public interface Graph {
     /**
@@ -74,34 +76,7 @@ public interface Graph {
      * max distance to each other vertex.
      */
     default int center() {
-        if (order() == 0) {
-            return -1;
-        }
-
-        int center = 0;
-        int minEccentricity = Integer.MAX_VALUE;
-
-        for (int v = 0; v < order(); v++) {
-            Integer[] distances = Distance.dijkstra(this, v);
-            int maxDistance = Integer.MIN_VALUE;
-
-            for (int i = 0; i < distances.length; i++) {
-                if (i != v && distances[i] != null) {
-                    maxDistance = Math.max(maxDistance, distances[i]);
-                }
-            }
-
-            if (maxDistance == Integer.MIN_VALUE) {
-                continue;
-            }
-
-            if (maxDistance < minEccentricity) {
-                minEccentricity = maxDistance;
-                center = v;
-            }
-        }
-
-        return center;
+        return new Eccentricities(this).center();
     }
 
     /**
@@ -133,6 +108,16 @@ public interface Graph {
      */
     void contract(int v1, int v2);
 
+    /**
+     * Returns every cut-edge (bridge) of the graph.
+     */
+    Set<Edge> cutEdges();
+
+    /**
+     * Returns every cut-vertex (articulation point) of the graph.
+     */
+    Set<Integer> cutVertices();
+
     /**
      * Returns the degree of a specified vertex.
      */
@@ -180,6 +165,17 @@ public interface Graph {
         return distance;
     }
 
+    /**
+     * Finds a shortest weighted path between two vertices.
+     *
+     * @param v1 The starting vertex.
+     * @param v2 The target vertex.
+     * @return The vertices on the path from v1 to v2, or null if v2 is unreachable.
+     */
+    default ArrayList<Integer> shortestPath(int v1, int v2) {
+        return Distance.shortestPath(this, v1, v2);
+    }
+
     /**
      * Returns the adjacency matrix of the graph.
      */
@@ -218,16 +214,22 @@ public interface Graph {
     int getEdgeWeight(int v1, int v2);
 
     /**
-     * Returns a maximum tour of the graph if it is Eulerian.
+     * Returns an Euler tour of the graph if it is Eulerian, found by {@link Tour#hierholzer(Graph)}.
      *
-     * @return A list of vertices in the maximum tour, or null if the graph is not Eulerian.
+     * @return A list of vertices in the tour, or null if the graph is not Eulerian.
      */
     default ArrayList<Integer> getEulerTour() {
         if (!isEulerian()) {
             return null;
         }
 
-        return Tour.fleury(this);
+        int[] tour = Tour.hierholzer(this);
+        ArrayList<Integer> vertices = new ArrayList<>(tour.length);
+        for (int v : tour) {
+            vertices.add(v);
+        }
+
+        return vertices;
     }
 
     GraphType getType();
@@ -320,7 +322,8 @@ public interface Graph {
     boolean isEmpty();
 
     /**
-     * Checks if the graph is Eulerian.
+     * Checks if the graph is Eulerian: every vertex has equal in-degree and out-degree, or even
+     * degree if the graph is undirected, and all edges lie in one connected component.
      */
     boolean isEulerian();
 
@@ -379,11 +382,48 @@ public interface Graph {
         return getEdgeInducedSubgraph(minusEdges);
     }
 
+    /**
+     * Performs an action for each neighbor of a specified vertex, without boxing.
+     */
+    default void forEachNeighbor(int v, IntConsumer action) {
+        for (int n : neighborsOf(v)) {
+            action.accept(n);
+        }
+    }
+
+    /**
+     * Returns a cursor over the out-edges of a specified vertex. The cursor can be
+     * repositioned with {@link NeighborCursor#reset(int)}, so traversals should create
+     * one cursor and reuse it for every vertex they scan.
+     */
+    default NeighborCursor neighborCursor(int v) {
+        return new ArrayNeighborCursor(this, v);
+    }
+
     /**
      * Returns the neighbors of a specified vertex.
      */
     HashSet<Integer> neighborsOf(int v);
 
+    /**
+     * Returns the neighbors of a specified vertex as a primitive array, in the same
+     * order as {@link #neighborsOf(int)}.
+     */
+    default int[] neighborsArray(int v) {
+        HashSet<Integer> neighbors = neighborsOf(v);
+        if (neighbors == null) {
+            return new int[0];
+        }
+
+        int[] array = new int[neighbors.size()];
+        int i = 0;
+        for (int n : neighbors) {
+            array[i++] = n;
+        }
+
+        return array;
+    }
+
     /**
      * Create a new graph instance of the same type.
      */
@@ -1,5 +1,8 @@
 package main.java.graph;
 
+import main.java.utils.structures.Edge;
+
+import java.util.ArrayList;
 import java.util.Random;
 
 /**
@@ -59,22 +62,23 @@ public class GraphBuilder {
     /**
      * Builds the graph based on the configured parameters.
      *
-     * <p>This method creates a new {@link Graph} instance and populates it with edges
-     * based on the size and order specified. If the graph is weighted, the edges will
-     * have random weights between 1 and 10. Otherwise, all edges will have a weight
-     * of 1.
+     * <p>This method generates edges based on the size and order specified and passes them
+     * to {@link GraphType#fromEdgeList(Edge[], int)}, so immutable graph types are built as
+     * well. If the graph is weighted, the edges will have random weights between 1 and 10.
+     * Otherwise, all edges will have a weight of 1.
      *
      * @return the constructed {@link Graph} instance
      */
     public Graph build() {
-        Graph graph = graphType.newInstance(order);
+        boolean directed = graphType.newInstance().isDirected();
         Random random = new Random();
-        int size = this.size.getSize(order, graph.isDirected());
-        double probability = (double) size / Size.COMPLETE.getSize(order, graph.isDirected());
-        if (!graph.isDirected()) {
+        int size = this.size.getSize(order, directed);
+        double probability = (double) size / Size.COMPLETE.getSize(order, directed);
+        if (!directed) {
             probability *= 2;
         }
 
+        ArrayList<Edge> edges = new ArrayList<>();
         for (int row = 0; row < order; row++) {
             for (int col = 0; col < order; col++) {
                 if (row == col) {
@@ -83,12 +87,12 @@ public class GraphBuilder {
 
                 if (random.nextDouble() < probability) {
                     int weight = weighted ? random.nextInt(1, 11) : 1;
-                    graph.addEdge(row, col, weight );
+                    edges.add(new Edge(row, col, weight));
                 }
             }
         }
 
-        return graph;
+        return graphType.fromEdgeList(edges.toArray(new Edge[0]), order).orElseThrow();
     }
 
     public GraphBuilder graphType(GraphType graphType) {
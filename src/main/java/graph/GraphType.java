@@ -1,5 +1,8 @@
 package main.java.graph;
 
+import main.java.graph.bitset.BitsetGraph;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.csr.UndirectedCsrGraph;
 import main.java.graph.simple.SimpleGraph;
 import main.java.graph.simple.UndirectedGraph;
 import main.java.utils.structures.Edge;
@@ -9,9 +12,34 @@ import java.util.HashSet;
 import java.util.Optional;
 
 public enum GraphType {
+    /**
+     * Any directed graph, with the representation chosen from the data: large dense graphs, per
+     * {@link BitsetGraph#isDense(int, long)}, become a {@link BitsetGraph} and the rest a
+     * {@link SimpleGraph}. Use {@link #SIMPLE} or {@link #DENSE_BITSET} to fix the class instead.
+     */
     GRAPH {
+        public Optional<Graph> fromAdjacencyList(HashMap<Integer, HashSet<Integer>> adjacencyList, int order) {
+            long edges = 0;
+            for (HashSet<Integer> neighbors : adjacencyList.values()) {
+                edges += neighbors.size();
+            }
+
+            GraphType graphType = BitsetGraph.isDense(order, edges) ? DENSE_BITSET : SIMPLE;
+            return graphType.fromAdjacencyList(adjacencyList, order);
+        }
+
+        public Optional<Graph> fromAdjacencyMatrix(int[][] adjacencyMatrix) {
+            GraphType graphType = BitsetGraph.isDense(adjacencyMatrix) ? DENSE_BITSET : SIMPLE;
+            return graphType.fromAdjacencyMatrix(adjacencyMatrix);
+        }
+
+        public Optional<Graph> fromEdgeList(Edge[] edgeList, int order) {
+            GraphType graphType = BitsetGraph.isDense(order, edgeList.length) ? DENSE_BITSET : SIMPLE;
+            return graphType.fromEdgeList(edgeList, order);
+        }
+
         public Graph newInstance(int order) {
-            return null;
+            return new SimpleGraph(order);
         }
     },
     SIMPLE {
@@ -23,6 +51,49 @@ public enum GraphType {
         public Graph newInstance(int order) {
             return new UndirectedGraph(order);
         }
+    },
+    CSR {
+        public Optional<Graph> fromAdjacencyList(HashMap<Integer, HashSet<Integer>> adjacencyList, int order) {
+            return Optional.of(CsrGraph.fromAdjacencyList(adjacencyList, order, true));
+        }
+
+        public Optional<Graph> fromAdjacencyMatrix(int[][] adjacencyMatrix) {
+            return Optional.of(CsrGraph.fromAdjacencyMatrix(adjacencyMatrix, true));
+        }
+
+        public Optional<Graph> fromEdgeList(Edge[] edgeList, int order) {
+            return Optional.of(CsrGraph.fromEdgeList(edgeList, order, true));
+        }
+
+        public Graph newInstance(int order) {
+            return new CsrGraph(order);
+        }
+    },
+    UNDIRECTED_CSR {
+        public Optional<Graph> fromAdjacencyList(HashMap<Integer, HashSet<Integer>> adjacencyList, int order) {
+            return Optional.of(CsrGraph.fromAdjacencyList(adjacencyList, order, false));
+        }
+
+        public Optional<Graph> fromAdjacencyMatrix(int[][] adjacencyMatrix) {
+            return Optional.of(CsrGraph.fromAdjacencyMatrix(adjacencyMatrix, false));
+        }
+
+        public Optional<Graph> fromEdgeList(Edge[] edgeList, int order) {
+            return Optional.of(CsrGraph.fromEdgeList(edgeList, order, false));
+        }
+
+        public Graph newInstance(int order) {
+            return new UndirectedCsrGraph(order);
+        }
+    },
+    DENSE_BITSET {
+        public Optional<Graph> fromAdjacencyMatrix(int[][] adjacencyMatrix) {
+            return Optional.of(BitsetGraph.fromAdjacencyMatrix(adjacencyMatrix));
+        }
+
+        public Graph newInstance(int order) {
+            return new BitsetGraph(order);
+        }
     };
 
     public static final GraphType DEFAULT_GRAPH_TYPE = SIMPLE;
@@ -59,6 +130,9 @@ public enum GraphType {
             case "graph" -> GRAPH;
             case "simple" -> SIMPLE;
             case "undirected" -> UNDIRECTED;
+            case "csr" -> CSR;
+            case "undirected_csr" -> UNDIRECTED_CSR;
+            case "dense_bitset" -> DENSE_BITSET;
             default -> DEFAULT_GRAPH_TYPE;
         };
     }
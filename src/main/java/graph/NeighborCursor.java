@@ -0,0 +1,43 @@
+package main.java.graph;
+
+/**
+ * A reusable cursor over the out-edges of a vertex.
+ *
+ * <p>A cursor is positioned before the first neighbor; each call to {@link #next()} advances
+ * it by one edge. Calling {@link #reset(int)} repositions the same cursor at another vertex,
+ * so a traversal can scan every adjacency list with a single cursor instead of allocating a
+ * collection per vertex.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * NeighborCursor cursor = graph.neighborCursor(v);
+ * while (cursor.next()) {
+ *     relax(cursor.target(), cursor.weight());
+ * }
+ * }</pre>
+ */
+public interface NeighborCursor {
+    /**
+     * Repositions this cursor before the first neighbor of a vertex.
+     *
+     * @return This cursor.
+     */
+    NeighborCursor reset(int v);
+
+    /**
+     * Advances to the next neighbor.
+     *
+     * @return True if there was another neighbor, false if the cursor is exhausted.
+     */
+    boolean next();
+
+    /**
+     * Returns the head of the current edge.
+     */
+    int target();
+
+    /**
+     * Returns the weight of the current edge.
+     */
+    int weight();
+}
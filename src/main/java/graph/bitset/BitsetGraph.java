@@ -0,0 +1,1087 @@
+package main.java.graph.bitset;
+
+import main.java.connection.Connection;
+import main.java.connection.Cuts;
+import main.java.graph.Graph;
+import main.java.graph.GraphType;
+import main.java.graph.NeighborCursor;
+import main.java.graph.simple.SimpleGraph;
+import main.java.search.DepthFirstSearch;
+import main.java.utils.structures.Edge;
+import main.java.walk.Degrees;
+import main.java.walk.Tour;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * A directed graph without loops or multi-edges, stored as an adjacency matrix of bits.
+ *
+ * <p>Row {@code v} is a {@code long[]} whose bit {@code t} is set when the edge {@code (v, t)}
+ * exists, so {@link #hasEdge(int, int)} is a single bit test and a dense graph takes one bit per
+ * vertex pair instead of a hash map entry per edge. Weights live in a separate {@code int}
+ * matrix that is only allocated once an edge gets a weight other than 1.
+ *
+ * <p>Operations between two bitset graphs, such as {@link #intersect(Graph)},
+ * {@link #isEdgeDisjoint(Graph)} and {@link #isSubgraphOf(Graph)}, combine whole rows 64 vertices
+ * at a time, as does {@link #complement()}. Neighbors are found by skipping to the next set bit
+ * with {@link Long#numberOfTrailingZeros(long)}.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * BitsetGraph graph = new BitsetGraph(1000);
+ * graph.addEdge(0, 1);
+ * Graph missing = graph.complement();
+ * }</pre>
+ */
+public class BitsetGraph implements Graph {
+    /**
+     * The least order at which {@link #isDense(int[][])} recommends a bitset graph.
+     */
+    public static final int DENSE_ORDER = 64;
+    /**
+     * The least share of vertex pairs joined by an edge at which {@link #isDense(int[][])}
+     * recommends a bitset graph.
+     */
+    public static final double DENSE_DENSITY = 0.5;
+
+    private long[][] rows;
+    /**
+     * The weight of each edge, or null while every edge weighs 1.
+     */
+    private int[][] weights;
+    private int order;
+    private int size;
+    private Cuts cuts;
+    private Degrees degrees;
+
+    public BitsetGraph(int order) {
+        this.order = order;
+        int capacity = Math.max(order, 64);
+        rows = new long[capacity][words(capacity)];
+    }
+
+    private BitsetGraph(BitsetGraph bitsetGraph) {
+        order = bitsetGraph.order;
+        size = bitsetGraph.size;
+        rows = new long[bitsetGraph.rows.length][];
+        for (int v = 0; v < rows.length; v++) {
+            rows[v] = bitsetGraph.rows[v].clone();
+        }
+        if (bitsetGraph.weights != null) {
+            weights = new int[bitsetGraph.weights.length][];
+            for (int v = 0; v < weights.length; v++) {
+                weights[v] = bitsetGraph.weights[v].clone();
+            }
+        }
+    }
+
+    /**
+     * Creates a bitset graph from an adjacency matrix, where a non-zero entry is an edge weight.
+     */
+    public static BitsetGraph fromAdjacencyMatrix(int[][] adjacencyMatrix) {
+        BitsetGraph graph = new BitsetGraph(adjacencyMatrix.length);
+        graph.init(adjacencyMatrix);
+
+        return graph;
+    }
+
+    /**
+     * Checks if an adjacency matrix is large and dense enough that a bitset graph beats a
+     * {@link SimpleGraph}, per {@link #isDense(int, long)}. {@link GraphType#GRAPH} uses this to
+     * pick a representation; {@link GraphType#SIMPLE} always gives a {@link SimpleGraph}.
+     */
+    public static boolean isDense(int[][] adjacencyMatrix) {
+        int order = adjacencyMatrix.length;
+        if (order < DENSE_ORDER) {
+            return false;
+        }
+
+        long edges = 0;
+        for (int row = 0; row < order; row++) {
+            for (int col = 0; col < adjacencyMatrix[row].length; col++) {
+                if (row != col && adjacencyMatrix[row][col] != 0) {
+                    edges++;
+                }
+            }
+        }
+
+        return isDense(order, edges);
+    }
+
+    /**
+     * Checks if a graph with a given number of directed edges is large and dense enough that a
+     * bitset graph beats a {@link SimpleGraph}: at least {@link #DENSE_ORDER} vertices, with edges
+     * between at least {@link #DENSE_DENSITY} of the ordered pairs.
+     */
+    public static boolean isDense(int order, long edges) {
+        return order >= DENSE_ORDER && edges >= DENSE_DENSITY * order * (order - 1);
+    }
+
+    /**
+     * Adds an edge, or removes it if the weight is 0.
+     */
+    @Override
+    public void addEdge(int v1, int v2, int weight) {
+        if (!isValidEdge(v1, v2)) {
+            return;
+        }
+        if (weight == 0) {
+            removeEdge(v1, v2);
+            return;
+        }
+
+        if (!hasEdge(v1, v2)) {
+            rows[v1][v2 >>> 6] |= 1L << v2;
+            size++;
+        }
+        if (weights == null && weight != 1) {
+            weights = new int[rows.length][rows.length];
+            for (int v = 0; v < order; v++) {
+                int[] weightRow = weights[v];
+                forEachNeighbor(v, n -> weightRow[n] = 1);
+            }
+        }
+        if (weights != null) {
+            weights[v1][v2] = weight;
+        }
+        changed();
+    }
+
+    @Override
+    public int addVertex() {
+        ensureCapacity(order + 1);
+        order++;
+        changed();
+        return order - 1;
+    }
+
+    /**
+     * Inserts a vertex at an index, moving the vertices at and above it up by one. Every row
+     * shifts its bits above the index by one, in {@code O(V^2 / 64)}.
+     */
+    @Override
+    public void addVertex(int v) {
+        v = Math.max(0, Math.min(v, order));
+        ensureCapacity(order + 1);
+
+        for (int row = 0; row < order; row++) {
+            insertBit(rows[row], v, order);
+            if (weights != null) {
+                System.arraycopy(weights[row], v, weights[row], v + 1, order - v);
+                weights[row][v] = 0;
+            }
+        }
+
+        long[] empty = rows[order];
+        System.arraycopy(rows, v, rows, v + 1, order - v);
+        rows[v] = empty;
+        if (weights != null) {
+            int[] emptyWeights = weights[order];
+            System.arraycopy(weights, v, weights, v + 1, order - v);
+            weights[v] = emptyWeights;
+        }
+
+        order++;
+        changed();
+    }
+
+    @Override
+    public boolean adjacent(int v1, int v2) {
+        return hasEdge(v1, v2);
+    }
+
+    @Override
+    public BitsetGraph clone() {
+        return new BitsetGraph(this);
+    }
+
+    /**
+     * Returns the complement, built by inverting each row one word at a time.
+     */
+    @Override
+    public BitsetGraph complement() {
+        BitsetGraph graph = new BitsetGraph(order);
+        int words = words(order);
+
+        for (int v = 0; v < order; v++) {
+            long[] row = rows[v];
+            long[] complement = graph.rows[v];
+            for (int w = 0; w < words; w++) {
+                complement[w] = ~row[w];
+            }
+            complement[v >>> 6] &= ~(1L << v);
+            if ((order & 63) != 0) {
+                complement[words - 1] &= -1L >>> (64 - (order & 63));
+            }
+        }
+        graph.size = order * (order - 1) - size;
+
+        return graph;
+    }
+
+    /**
+     * Contracts two vertices into {@code v2}, summing the weights of edges that meet and dropping
+     * the edge between them, and removes {@code v1}.
+     */
+    @Override
+    public void contract(int v1, int v2) {
+        if (!isValidVertex(v1) || !isValidVertex(v2) || v1 == v2) {
+            return;
+        }
+
+        int[] targets = neighborsArray(v1);
+        for (int target : targets) {
+            if (target != v2) {
+                addEdge(v2, target, getEdgeWeight(v2, target) + getEdgeWeight(v1, target));
+            }
+        }
+        for (int source = 0; source < order; source++) {
+            if (source != v2 && hasEdge(source, v1)) {
+                addEdge(source, v2, getEdgeWeight(source, v2) + getEdgeWeight(source, v1));
+            }
+        }
+
+        removeVertex(v1);
+    }
+
+    @Override
+    public Set<Edge> cutEdges() {
+        return cuts().edges();
+    }
+
+    @Override
+    public Set<Integer> cutVertices() {
+        return cuts().vertices();
+    }
+
+    @Override
+    public int degreeOf(int v) {
+        if (!isValidVertex(v)) {
+            return -1;
+        }
+
+        int degree = 0;
+        for (long word : rows[v]) {
+            degree += Long.bitCount(word);
+        }
+
+        return degree;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+
+        BitsetGraph that = (BitsetGraph) o;
+        if (order != that.order || size != that.size) {
+            return false;
+        }
+
+        for (int v = 0; v < order; v++) {
+            if (!Arrays.equals(rows[v], 0, words(order), that.rows[v], 0, words(order))) {
+                return false;
+            }
+            if (weights != null || that.weights != null) {
+                long[] row = rows[v];
+                for (int n = nextSetBit(row, 0); n >= 0; n = nextSetBit(row, n + 1)) {
+                    if (getEdgeWeight(v, n) != that.getEdgeWeight(v, n)) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = order;
+        for (int v = 0; v < order; v++) {
+            hash = 31 * hash + Arrays.hashCode(Arrays.copyOf(rows[v], words(order)));
+        }
+
+        return hash;
+    }
+
+    @Override
+    public void forEachNeighbor(int v, IntConsumer action) {
+        if (!isValidVertex(v)) {
+            return;
+        }
+
+        long[] row = rows[v];
+        for (int w = 0; w < row.length; w++) {
+            long word = row[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public int[][] getAdjacencyMatrix() {
+        int[][] adjacencyMatrix = new int[order][order];
+
+        for (int v = 0; v < order; v++) {
+            int[] row = adjacencyMatrix[v];
+            int source = v;
+            forEachNeighbor(v, n -> row[n] = weight(source, n));
+        }
+
+        return adjacencyMatrix;
+    }
+
+    @Override
+    public Graph getEdgeInducedSubgraph(Set<Edge> edges) {
+        HashSet<Integer> vertices = new HashSet<>();
+
+        for (Edge edge : edges) {
+            if (hasEdge(edge)) {
+                vertices.add(edge.v1);
+                vertices.add(edge.v2);
+            }
+        }
+
+        int[] vertexMap = new int[order];
+        int count = 0;
+        for (int v = 0; v < order; v++) {
+            vertexMap[v] = vertices.contains(v) ? count++ : -1;
+        }
+
+        BitsetGraph graph = new BitsetGraph(count);
+        for (Edge edge : edges) {
+            if (hasEdge(edge)) {
+                graph.addEdge(vertexMap[edge.v1], vertexMap[edge.v2], edge.weight);
+            }
+        }
+
+        return graph;
+    }
+
+    @Override
+    public Set<Edge> getEdges() {
+        HashSet<Edge> edges = new HashSet<>(Math.max(16, (int) (size / .75f) + 1));
+
+        for (int v = 0; v < order; v++) {
+            int source = v;
+            forEachNeighbor(v, n -> edges.add(new Edge(source, n, weight(source, n))));
+        }
+
+        return edges;
+    }
+
+    @Override
+    public int getEdgeWeight(int v1, int v2) {
+        if (!isValidEdge(v1, v2) || !hasBit(rows[v1], v2)) {
+            return 0;
+        }
+
+        return weight(v1, v2);
+    }
+
+    @Override
+    public GraphType getType() {
+        return GraphType.DENSE_BITSET;
+    }
+
+    @Override
+    public Graph getUnderlyingSimpleSubgraph() {
+        return this;
+    }
+
+    @Override
+    public Graph getVertexInducedSubgraph(Set<Integer> vertices) {
+        int[] vertexMap = new int[order];
+        Arrays.fill(vertexMap, -1);
+
+        int vertexCount = 0;
+        for (Integer v : vertices) {
+            if (isValidVertex(v) && vertexMap[v] == -1) {
+                vertexMap[v] = vertexCount++;
+            }
+        }
+
+        BitsetGraph graph = new BitsetGraph(vertexCount);
+        for (int v = 0; v < order; v++) {
+            if (vertexMap[v] == -1) {
+                continue;
+            }
+
+            int source = v;
+            forEachNeighbor(v, n -> {
+                if (vertexMap[n] != -1) {
+                    graph.addEdge(vertexMap[source], vertexMap[n], weight(source, n));
+                }
+            });
+        }
+
+        return graph;
+    }
+
+    @Override
+    public boolean hasEdge(int v1, int v2) {
+        return isValidEdge(v1, v2) && hasBit(rows[v1], v2);
+    }
+
+    @Override
+    public void init(HashMap<Integer, HashSet<Integer>> adjacencyList) {
+        for (int v = 0; v < order; v++) {
+            HashSet<Integer> neighbors = adjacencyList.get(v);
+            if (neighbors == null) {
+                continue;
+            }
+
+            for (int neighbor : neighbors) {
+                addEdge(v, neighbor);
+            }
+        }
+    }
+
+    @Override
+    public void init(int[][] adjacencyMatrix) {
+        for (int row = 0; row < order; row++) {
+            for (int col = 0; col < adjacencyMatrix[row].length; col++) {
+                if (adjacencyMatrix[row][col] != 0) {
+                    addEdge(row, col, adjacencyMatrix[row][col]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void init(Edge[] edgeList) {
+        for (Edge edge : edgeList) {
+            addEdge(edge);
+        }
+    }
+
+    /**
+     * Returns the edges of this graph that the other graph also has, keeping the weights of this
+     * graph. Another bitset graph is intersected one word at a time.
+     */
+    @Override
+    public Graph intersect(Graph graph) {
+        int newOrder = Math.min(order, graph.order());
+        BitsetGraph intersection = new BitsetGraph(newOrder);
+
+        if (graph instanceof BitsetGraph that) {
+            int words = words(newOrder);
+            for (int v = 0; v < newOrder; v++) {
+                long[] row = intersection.rows[v];
+                for (int w = 0; w < words; w++) {
+                    row[w] = rows[v][w] & that.rows[v][w];
+                }
+                if ((newOrder & 63) != 0) {
+                    row[words - 1] &= -1L >>> (64 - (newOrder & 63));
+                }
+            }
+            intersection.copyWeights(this);
+        } else {
+            for (int v = 0; v < newOrder; v++) {
+                int source = v;
+                forEachNeighbor(v, n -> {
+                    if (graph.hasEdge(source, n)) {
+                        intersection.addEdge(source, n, weight(source, n));
+                    }
+                });
+            }
+        }
+
+        return intersection;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return size == order * (order - 1);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return numComponents() == 1;
+    }
+
+    @Override
+    public boolean isCutEdge(int v1, int v2) {
+        return cuts().isCutEdge(v1, v2);
+    }
+
+    @Override
+    public boolean isCutVertex(int v) {
+        return cuts().isCutVertex(v);
+    }
+
+    @Override
+    public boolean isCyclic() {
+        if (isEmpty()) {
+            return false;
+        }
+
+        // Reports an edge back to the DFS parent of a vertex, searching afresh from every root.
+        DepthFirstSearch search = new DepthFirstSearch(this);
+        DepthFirstSearch.Visitor visitor = new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean nonTreeEdge(int v, int target, int parent) {
+                return target == parent;
+            }
+        };
+
+        for (int v = 0; v < order; v++) {
+            search.reset();
+            if (search.run(v, visitor)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return true;
+    }
+
+    /**
+     * Checks if this graph shares no edge with another graph. Another bitset graph is compared
+     * one word at a time.
+     */
+    @Override
+    public boolean isEdgeDisjoint(Graph graph) {
+        if (graph instanceof BitsetGraph that) {
+            int words = words(Math.min(order, that.order));
+            for (int v = 0; v < Math.min(order, that.order); v++) {
+                for (int w = 0; w < words; w++) {
+                    if ((rows[v][w] & that.rows[v][w]) != 0) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        for (Edge edge : graph.getEdges()) {
+            if (hasEdge(edge)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isEulerian() {
+        if (degrees == null) {
+            degrees = Degrees.of(this);
+        }
+
+        return Tour.isEulerian(this, degrees);
+    }
+
+    @Override
+    public boolean isSimple() {
+        return true;
+    }
+
+    /**
+     * Checks if every edge of this graph is also in another graph. Another bitset graph is
+     * compared one word at a time.
+     */
+    @Override
+    public boolean isSubgraphOf(Graph graph) {
+        if (graph instanceof BitsetGraph that) {
+            int words = words(order);
+            for (int v = 0; v < order; v++) {
+                long[] other = v < that.order ? that.rows[v] : null;
+                for (int w = 0; w < words; w++) {
+                    long missing = other == null || w >= other.length ? rows[v][w] : rows[v][w] & ~other[w];
+                    if (missing != 0) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        for (int v = 0; v < order; v++) {
+            long[] row = rows[v];
+            for (int n = nextSetBit(row, 0); n >= 0; n = nextSetBit(row, n + 1)) {
+                if (!graph.hasEdge(v, n)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isTree() {
+        if (order == 0) {
+            return true;
+        }
+
+        if (isCyclic()) {
+            return false;
+        }
+
+        for (int v = 0; v < order; v++) {
+            if (dfs(v).size() == order) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public int maxDegree() {
+        int maxDegree = 0;
+        for (int v = 0; v < order; v++) {
+            maxDegree = Math.max(maxDegree, degreeOf(v));
+        }
+
+        return maxDegree;
+    }
+
+    @Override
+    public int minDegree() {
+        if (order == 0) {
+            return 0;
+        }
+
+        int minDegree = Integer.MAX_VALUE;
+        for (int v = 0; v < order; v++) {
+            minDegree = Math.min(minDegree, degreeOf(v));
+        }
+
+        return minDegree;
+    }
+
+    @Override
+    public NeighborCursor neighborCursor(int v) {
+        return new BitsetNeighborCursor().reset(v);
+    }
+
+    @Override
+    public int[] neighborsArray(int v) {
+        int degree = degreeOf(v);
+        if (degree <= 0) {
+            return new int[0];
+        }
+
+        int[] neighbors = new int[degree];
+        long[] row = rows[v];
+        int i = 0;
+        for (int n = nextSetBit(row, 0); n >= 0; n = nextSetBit(row, n + 1)) {
+            neighbors[i++] = n;
+        }
+
+        return neighbors;
+    }
+
+    @Override
+    public HashSet<Integer> neighborsOf(int v) {
+        if (!isValidVertex(v)) {
+            return null;
+        }
+
+        HashSet<Integer> neighbors = new HashSet<>();
+        forEachNeighbor(v, neighbors::add);
+
+        return neighbors;
+    }
+
+    @Override
+    public Graph newInstance(int order) {
+        return new BitsetGraph(order);
+    }
+
+    @Override
+    public int numComponents() {
+        if (order == 0) {
+            return 0;
+        }
+
+        return Connection.tarjan(this).count();
+    }
+
+    @Override
+    public int order() {
+        return order;
+    }
+
+    @Override
+    public void removeEdge(int v1, int v2) {
+        if (!hasEdge(v1, v2)) {
+            return;
+        }
+
+        rows[v1][v2 >>> 6] &= ~(1L << v2);
+        if (weights != null) {
+            weights[v1][v2] = 0;
+        }
+        size--;
+        changed();
+    }
+
+    /**
+     * Removes a vertex, moving the vertices above it down by one. Every row shifts its bits above
+     * the vertex down by one, in {@code O(V^2 / 64)}.
+     */
+    @Override
+    public void removeVertex(int v) {
+        if (!isValidVertex(v)) {
+            return;
+        }
+
+        size -= degreeOf(v);
+        for (int row = 0; row < order; row++) {
+            if (row != v && hasBit(rows[row], v)) {
+                size--;
+            }
+            removeBit(rows[row], v, order);
+            if (weights != null) {
+                System.arraycopy(weights[row], v + 1, weights[row], v, order - v - 1);
+                weights[row][order - 1] = 0;
+            }
+        }
+
+        long[] removed = rows[v];
+        Arrays.fill(removed, 0);
+        System.arraycopy(rows, v + 1, rows, v, order - v - 1);
+        rows[order - 1] = removed;
+        if (weights != null) {
+            int[] removedWeights = weights[v];
+            Arrays.fill(removedWeights, 0);
+            System.arraycopy(weights, v + 1, weights, v, order - v - 1);
+            weights[order - 1] = removedWeights;
+        }
+
+        order--;
+        changed();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void swap(int v1, int v2) {
+        if (!isValidVertex(v1) || !isValidVertex(v2) || v1 == v2) {
+            return;
+        }
+
+        long[] row = rows[v1];
+        rows[v1] = rows[v2];
+        rows[v2] = row;
+        if (weights != null) {
+            int[] weightRow = weights[v1];
+            weights[v1] = weights[v2];
+            weights[v2] = weightRow;
+        }
+
+        for (int v = 0; v < order; v++) {
+            long[] r = rows[v];
+            boolean has1 = hasBit(r, v1);
+            if (has1 != hasBit(r, v2)) {
+                r[v1 >>> 6] ^= 1L << v1;
+                r[v2 >>> 6] ^= 1L << v2;
+            }
+            if (weights != null) {
+                int weight = weights[v][v1];
+                weights[v][v1] = weights[v][v2];
+                weights[v][v2] = weight;
+            }
+        }
+        changed();
+    }
+
+    @Override
+    public BitsetGraph transpose() {
+        BitsetGraph graph = new BitsetGraph(order);
+
+        for (int v = 0; v < order; v++) {
+            long[] row = rows[v];
+            for (int n = nextSetBit(row, 0); n >= 0; n = nextSetBit(row, n + 1)) {
+                graph.rows[n][v >>> 6] |= 1L << v;
+            }
+        }
+        graph.size = size;
+        if (weights != null) {
+            graph.weights = new int[graph.rows.length][graph.rows.length];
+            for (int v = 0; v < order; v++) {
+                for (int n = 0; n < order; n++) {
+                    graph.weights[n][v] = weights[v][n];
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Returns the edges of both graphs, over as many vertices as touch an edge, keeping the
+     * weights of this graph where both have an edge. Another bitset graph is merged one word at
+     * a time.
+     */
+    @Override
+    public Graph union(Graph graph) {
+        if (!(graph instanceof BitsetGraph that)) {
+            HashSet<Edge> unionEdges = new HashSet<>(getEdges());
+            HashSet<Integer> unionVertices = new HashSet<>();
+            for (Edge edge : unionEdges) {
+                unionVertices.add(edge.v1);
+                unionVertices.add(edge.v2);
+            }
+            for (Edge edge : graph.getEdges()) {
+                unionEdges.add(edge);
+                unionVertices.add(edge.v1);
+                unionVertices.add(edge.v2);
+            }
+
+            BitsetGraph union = new BitsetGraph(unionVertices.size());
+            for (Edge edge : unionEdges) {
+                union.addEdge(edge);
+            }
+
+            return union;
+        }
+
+        int maxOrder = Math.max(order, that.order);
+        long[][] merged = new long[maxOrder][words(maxOrder)];
+        long[] touched = new long[words(maxOrder)];
+        for (int v = 0; v < maxOrder; v++) {
+            long[] row = merged[v];
+            long any = 0;
+            for (int w = 0; w < row.length; w++) {
+                long word = (v < order && w < rows[v].length ? rows[v][w] : 0)
+                        | (v < that.order && w < that.rows[v].length ? that.rows[v][w] : 0);
+                row[w] = word;
+                touched[w] |= word;
+                any |= word;
+            }
+            if (any != 0) {
+                touched[v >>> 6] |= 1L << v;
+            }
+        }
+
+        int unionOrder = 0;
+        for (long word : touched) {
+            unionOrder += Long.bitCount(word);
+        }
+
+        BitsetGraph union = new BitsetGraph(unionOrder);
+        for (int v = 0; v < unionOrder; v++) {
+            long[] row = merged[v];
+            for (int n = nextSetBit(row, 0); n >= 0 && n < unionOrder; n = nextSetBit(row, n + 1)) {
+                union.addEdge(v, n, hasEdge(v, n) ? weight(v, n) : that.weight(v, n));
+            }
+        }
+
+        return union;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < order; i++) {
+            for (int j = 0; j < order; j++) {
+                sb.append(getEdgeWeight(i, j)).append(j == order - 1 ? "" : ",");
+            }
+            sb.append(i == order - 1 ? "" : "\n");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns a mutable hashed copy of this graph.
+     */
+    public SimpleGraph toSimpleGraph() {
+        SimpleGraph graph = new SimpleGraph(order);
+
+        for (int v = 0; v < order; v++) {
+            int source = v;
+            forEachNeighbor(v, n -> graph.addEdge(source, n, weight(source, n)));
+        }
+
+        return graph;
+    }
+
+    private void changed() {
+        cuts = null;
+        degrees = null;
+    }
+
+    /**
+     * Copies the weights of another graph onto the edges of this one.
+     */
+    private void copyWeights(BitsetGraph graph) {
+        for (int v = 0; v < order; v++) {
+            long[] row = rows[v];
+            for (int n = nextSetBit(row, 0); n >= 0; n = nextSetBit(row, n + 1)) {
+                size++;
+                if (graph.weights != null) {
+                    addEdge(v, n, graph.weights[v][n]);
+                }
+            }
+        }
+        changed();
+    }
+
+    private Cuts cuts() {
+        if (cuts == null) {
+            cuts = Cuts.of(this);
+        }
+
+        return cuts;
+    }
+
+    /**
+     * Grows the rows, and the weight matrix if there is one, to hold a number of vertices.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= rows.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, rows.length * 2);
+        long[][] grownRows = new long[grown][];
+        for (int v = 0; v < grown; v++) {
+            grownRows[v] = v < rows.length ? Arrays.copyOf(rows[v], words(grown)) : new long[words(grown)];
+        }
+        rows = grownRows;
+
+        if (weights != null) {
+            int[][] grownWeights = new int[grown][];
+            for (int v = 0; v < grown; v++) {
+                grownWeights[v] = v < weights.length ? Arrays.copyOf(weights[v], grown) : new int[grown];
+            }
+            weights = grownWeights;
+        }
+    }
+
+    private boolean isValidEdge(int v1, int v2) {
+        return isValidVertex(v1) && isValidVertex(v2) && v1 != v2;
+    }
+
+    private boolean isValidVertex(int v) {
+        return v >= 0 && v < order;
+    }
+
+    private int weight(int v1, int v2) {
+        return weights == null ? 1 : weights[v1][v2];
+    }
+
+    private static boolean hasBit(long[] row, int i) {
+        return (row[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Shifts the bits at and above an index up by one, leaving the index clear.
+     */
+    private static void insertBit(long[] row, int i, int length) {
+        int first = i >>> 6;
+        for (int w = words(length + 1) - 1; w > first; w--) {
+            row[w] = (row[w] << 1) | (row[w - 1] >>> 63);
+        }
+
+        long low = row[first] & ((1L << i) - 1);
+        long high = row[first] & -(1L << i);
+        row[first] = low | (high << 1);
+    }
+
+    /**
+     * Returns the first set bit at or after an index, or -1 if there is none.
+     */
+    private static int nextSetBit(long[] row, int i) {
+        int w = i >>> 6;
+        if (w >= row.length) {
+            return -1;
+        }
+
+        long word = row[w] & (-1L << i);
+        while (word == 0) {
+            if (++w == row.length) {
+                return -1;
+            }
+            word = row[w];
+        }
+
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Drops the bit at an index, shifting the bits above it down by one.
+     */
+    private static void removeBit(long[] row, int i, int length) {
+        int first = i >>> 6;
+        int last = words(length) - 1;
+
+        long low = row[first] & ((1L << i) - 1);
+        long high = (row[first] >>> 1) & -(1L << i);
+        row[first] = low | high;
+        for (int w = first; w < last; w++) {
+            row[w] |= row[w + 1] << 63;
+            row[w + 1] >>>= 1;
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Walks the set bits of a row without allocating.
+     */
+    private class BitsetNeighborCursor implements NeighborCursor {
+        private int vertex;
+        private long[] row;
+        private int target = -1;
+
+        @Override
+        public NeighborCursor reset(int v) {
+            vertex = v;
+            row = isValidVertex(v) ? rows[v] : new long[0];
+            target = -1;
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            int next = nextSetBit(row, target + 1);
+            // Parks an exhausted cursor past the row, so that it stays exhausted.
+            target = next < 0 ? row.length << 6 : next;
+            return next >= 0;
+        }
+
+        @Override
+        public int target() {
+            return target;
+        }
+
+        @Override
+        public int weight() {
+            return BitsetGraph.this.weight(vertex, target);
+        }
+    }
+}
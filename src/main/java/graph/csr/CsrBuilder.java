@@ -0,0 +1,122 @@
+package main.java.graph.csr;
+
+import java.util.Arrays;
+
+/**
+ * Accumulates edges and packs them into compressed sparse row arrays.
+ *
+ * <p>Edges are validated the same way {@link main.java.graph.simple.SimpleGraph#addEdge(int, int, int)}
+ * validates them: loops, out-of-range vertices and zero weights are ignored, and when the same edge is
+ * added twice the last weight wins. Targets within each row are sorted in ascending order.
+ */
+class CsrBuilder {
+    private final int order;
+    private final boolean directed;
+    private int[] sources;
+    private int[] targets;
+    private int[] weights;
+    private int count = 0;
+
+    CsrBuilder(int order, boolean directed) {
+        this(order, directed, 16);
+    }
+
+    CsrBuilder(int order, boolean directed, int expectedSize) {
+        this.order = order;
+        this.directed = directed;
+
+        int capacity = Math.max(expectedSize, 1);
+        sources = new int[capacity];
+        targets = new int[capacity];
+        weights = new int[capacity];
+    }
+
+    /**
+     * Adds an edge. For undirected builders the reverse edge is added as well.
+     */
+    CsrBuilder add(int v1, int v2, int weight) {
+        if (v1 < 0 || v2 < 0 || v1 >= order || v2 >= order || v1 == v2 || weight == 0) {
+            return this;
+        }
+
+        append(v1, v2, weight);
+        if (!directed) {
+            append(v2, v1, weight);
+        }
+
+        return this;
+    }
+
+    CsrGraph build() {
+        int[] offsets = new int[order + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int v = 0; v < order; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // Stable counting sort by source keeps insertion order within each row.
+        int[] next = Arrays.copyOf(offsets, order);
+        int[] sortedTargets = new int[count];
+        int[] sortedWeights = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = next[sources[i]]++;
+            sortedTargets[slot] = targets[i];
+            sortedWeights[slot] = weights[i];
+        }
+
+        int[] packedOffsets = new int[order + 1];
+        int[] packedTargets = new int[count];
+        int[] packedWeights = new int[count];
+        int size = 0;
+        long[] row = new long[0];
+
+        for (int v = 0; v < order; v++) {
+            int start = offsets[v];
+            int degree = offsets[v + 1] - start;
+            if (row.length < degree) {
+                row = new long[degree];
+            }
+
+            // Sort by target, then by insertion order so that the last duplicate can be kept.
+            for (int i = 0; i < degree; i++) {
+                row[i] = (long) sortedTargets[start + i] << 32 | i;
+            }
+            Arrays.sort(row, 0, degree);
+
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (row[i] >>> 32);
+                if (i + 1 < degree && (int) (row[i + 1] >>> 32) == target) {
+                    continue;
+                }
+
+                packedTargets[size] = target;
+                packedWeights[size] = sortedWeights[start + (int) row[i]];
+                size++;
+            }
+            packedOffsets[v + 1] = size;
+        }
+
+        int[] finalTargets = size == count ? packedTargets : Arrays.copyOf(packedTargets, size);
+        int[] finalWeights = size == count ? packedWeights : Arrays.copyOf(packedWeights, size);
+
+        return directed
+                ? new CsrGraph(packedOffsets, finalTargets, finalWeights)
+                : new UndirectedCsrGraph(packedOffsets, finalTargets, finalWeights);
+    }
+
+    private void append(int v1, int v2, int weight) {
+        if (count == sources.length) {
+            int capacity = sources.length * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        sources[count] = v1;
+        targets[count] = v2;
+        weights[count] = weight;
+        count++;
+    }
+}
@@ -0,0 +1,726 @@
+package main.java.graph.csr;
+
+import main.java.connection.Connection;
+import main.java.connection.Cuts;
+import main.java.graph.Graph;
+import main.java.graph.GraphType;
+import main.java.graph.NeighborCursor;
+import main.java.graph.simple.SimpleGraph;
+import main.java.graph.simple.UndirectedGraph;
+import main.java.search.DepthFirstSearch;
+import main.java.utils.structures.Edge;
+import main.java.walk.Degrees;
+import main.java.walk.Tour;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable directed graph stored in compressed sparse row (CSR) form.
+ *
+ * <p>The out-neighbors of vertex {@code v} are {@code targets[offsets[v]]} through
+ * {@code targets[offsets[v + 1] - 1]}, sorted in ascending order, with the matching edge
+ * weights stored at the same indices of {@code weights}. Compared with {@link SimpleGraph}
+ * this uses three flat arrays instead of a hash map entry per edge, which makes neighbor
+ * scans cache-friendly and allocation-free.
+ *
+ * <p>All mutating operations throw {@link UnsupportedOperationException}. Use
+ * {@link #toSimpleGraph()} to obtain a mutable copy.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * CsrGraph csr = CsrGraph.of(simpleGraph);
+ * ArrayList<Integer> path = csr.bfs(0, 5);
+ * }</pre>
+ */
+public class CsrGraph implements Graph {
+    protected final int[] offsets;
+    protected final int[] targets;
+    protected final int[] weights;
+    private Cuts cuts;
+    private Degrees degrees;
+
+    /**
+     * Creates an edgeless graph with the given number of vertices.
+     */
+    public CsrGraph(int order) {
+        this(new int[order + 1], new int[0], new int[0]);
+    }
+
+    CsrGraph(int[] offsets, int[] targets, int[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a CSR copy of any graph. Directed graphs produce a {@link CsrGraph} and
+     * undirected graphs produce an {@link UndirectedCsrGraph}.
+     */
+    public static CsrGraph of(Graph graph) {
+        if (graph instanceof CsrGraph csrGraph) {
+            return csrGraph;
+        }
+
+        CsrBuilder builder = new CsrBuilder(graph.order(), true, Math.max(graph.size(), 1) * 2);
+        NeighborCursor cursor = graph.neighborCursor(0);
+        for (int v = 0; v < graph.order(); v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                builder.add(v, cursor.target(), cursor.weight());
+            }
+        }
+
+        CsrGraph csrGraph = builder.build();
+        return graph.isDirected()
+                ? csrGraph
+                : new UndirectedCsrGraph(csrGraph.offsets, csrGraph.targets, csrGraph.weights);
+    }
+
+    /**
+     * Creates a directed CSR graph from an adjacency list.
+     */
+    public static CsrGraph fromAdjacencyList(HashMap<Integer, HashSet<Integer>> adjacencyList, int order,
+                                             boolean directed) {
+        CsrBuilder builder = new CsrBuilder(order, directed);
+        for (int v = 0; v < order; v++) {
+            HashSet<Integer> neighbors = adjacencyList.get(v);
+            if (neighbors == null) {
+                continue;
+            }
+
+            for (int n : neighbors) {
+                builder.add(v, n, 1);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a CSR graph from an adjacency matrix, where a non-zero entry is an edge weight.
+     */
+    public static CsrGraph fromAdjacencyMatrix(int[][] adjacencyMatrix, boolean directed) {
+        int order = adjacencyMatrix.length;
+        CsrBuilder builder = new CsrBuilder(order, directed);
+
+        for (int row = 0; row < order; row++) {
+            for (int col = 0; col < adjacencyMatrix[row].length; col++) {
+                builder.add(row, col, adjacencyMatrix[row][col]);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a CSR graph from a list of edges.
+     */
+    public static CsrGraph fromEdgeList(Edge[] edgeList, int order, boolean directed) {
+        CsrBuilder builder = new CsrBuilder(order, directed, edgeList.length);
+        for (Edge edge : edgeList) {
+            builder.add(edge.v1, edge.v2, edge.weight);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public void addEdge(int v1, int v2, int weight) {
+        throw immutable();
+    }
+
+    @Override
+    public int addVertex() {
+        throw immutable();
+    }
+
+    @Override
+    public void addVertex(int v) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean adjacent(int v1, int v2) {
+        return hasEdge(v1, v2);
+    }
+
+    @Override
+    public CsrGraph clone() {
+        return this;
+    }
+
+    @Override
+    public Graph complement() {
+        CsrBuilder builder = newBuilder(order());
+
+        for (int i = 0; i < order(); i++) {
+            for (int j = 0; j < order(); j++) {
+                if (!hasEdge(i, j)) {
+                    builder.add(i, j, 1);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public void contract(int v1, int v2) {
+        throw immutable();
+    }
+
+    @Override
+    public Set<Edge> cutEdges() {
+        return cuts().edges();
+    }
+
+    @Override
+    public Set<Integer> cutVertices() {
+        return cuts().vertices();
+    }
+
+    @Override
+    public int degreeOf(int v) {
+        if (!isValidVertex(v)) {
+            return -1;
+        }
+
+        return offsets[v + 1] - offsets[v];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+
+        CsrGraph that = (CsrGraph) o;
+        return Arrays.equals(offsets, that.offsets)
+                && Arrays.equals(targets, that.targets)
+                && Arrays.equals(weights, that.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(offsets) + Arrays.hashCode(targets);
+    }
+
+    @Override
+    public void forEachNeighbor(int v, IntConsumer action) {
+        if (!isValidVertex(v)) {
+            return;
+        }
+
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    @Override
+    public int[][] getAdjacencyMatrix() {
+        int[][] adjacencyMatrix = new int[order()][order()];
+
+        for (int v = 0; v < order(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                adjacencyMatrix[v][targets[i]] = weights[i];
+            }
+        }
+
+        return adjacencyMatrix;
+    }
+
+    @Override
+    public Graph getEdgeInducedSubgraph(Set<Edge> edges) {
+        HashSet<Integer> vertices = new HashSet<>();
+
+        for (Edge edge : edges) {
+            if (hasEdge(edge)) {
+                vertices.add(edge.v1);
+                vertices.add(edge.v2);
+            }
+        }
+
+        int[] vertexMap = new int[order()];
+        int count = 0;
+        for (int v = 0; v < order(); v++) {
+            vertexMap[v] = vertices.contains(v) ? count++ : -1;
+        }
+
+        CsrBuilder builder = newBuilder(count);
+        for (Edge edge : edges) {
+            if (hasEdge(edge)) {
+                builder.add(vertexMap[edge.v1], vertexMap[edge.v2], edge.weight);
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public Set<Edge> getEdges() {
+        HashSet<Edge> edges = new HashSet<>(targets.length);
+
+        for (int v = 0; v < order(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                edges.add(new Edge(v, targets[i], weights[i]));
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public int getEdgeWeight(int v1, int v2) {
+        int index = indexOf(v1, v2);
+        return index < 0 ? 0 : weights[index];
+    }
+
+    @Override
+    public GraphType getType() {
+        return GraphType.CSR;
+    }
+
+    @Override
+    public Graph getUnderlyingSimpleSubgraph() {
+        return this;
+    }
+
+    @Override
+    public Graph getVertexInducedSubgraph(Set<Integer> vertices) {
+        int[] vertexMap = new int[order()];
+        Arrays.fill(vertexMap, -1);
+
+        int vertexCount = 0;
+        for (Integer v : vertices) {
+            if (isValidVertex(v) && vertexMap[v] == -1) {
+                vertexMap[v] = vertexCount++;
+            }
+        }
+
+        CsrBuilder builder = newBuilder(vertexCount);
+        for (int v = 0; v < order(); v++) {
+            if (vertexMap[v] == -1) {
+                continue;
+            }
+
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (vertexMap[targets[i]] != -1) {
+                    builder.add(vertexMap[v], vertexMap[targets[i]], weights[i]);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public boolean hasEdge(int v1, int v2) {
+        return indexOf(v1, v2) >= 0;
+    }
+
+    @Override
+    public void init(HashMap<Integer, HashSet<Integer>> adjacencyList) {
+        throw immutable();
+    }
+
+    @Override
+    public void init(int[][] adjacencyMatrix) {
+        throw immutable();
+    }
+
+    @Override
+    public void init(Edge[] edgeList) {
+        throw immutable();
+    }
+
+    @Override
+    public Graph intersect(Graph graph) {
+        int newOrder = Math.min(order(), graph.order());
+        CsrBuilder builder = newBuilder(newOrder);
+
+        for (int v = 0; v < newOrder; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (graph.hasEdge(v, targets[i])) {
+                    builder.add(v, targets[i], weights[i]);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return size() == order() * (order() - 1);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return numComponents() == 1;
+    }
+
+    @Override
+    public boolean isCutEdge(int v1, int v2) {
+        return cuts().isCutEdge(v1, v2);
+    }
+
+    @Override
+    public boolean isCutVertex(int v) {
+        return cuts().isCutVertex(v);
+    }
+
+    @Override
+    public boolean isCyclic() {
+        if (isEmpty()) {
+            return false;
+        }
+
+        // Reports an edge back to the DFS parent of a vertex, searching afresh from every root.
+        DepthFirstSearch search = new DepthFirstSearch(this);
+        DepthFirstSearch.Visitor visitor = new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean nonTreeEdge(int v, int target, int parent) {
+                return target == parent;
+            }
+        };
+
+        for (int v = 0; v < order(); v++) {
+            search.reset();
+            if (search.run(v, visitor)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    public boolean isEdgeDisjoint(Graph graph) {
+        for (Edge edge : graph.getEdges()) {
+            if (hasEdge(edge)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return targets.length == 0;
+    }
+
+    @Override
+    public boolean isEulerian() {
+        if (degrees == null) {
+            degrees = Degrees.of(this);
+        }
+
+        return Tour.isEulerian(this, degrees);
+    }
+
+    @Override
+    public boolean isSimple() {
+        return true;
+    }
+
+    @Override
+    public boolean isSubgraphOf(Graph graph) {
+        for (int v = 0; v < order(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (!graph.hasEdge(v, targets[i])) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isTree() {
+        if (order() == 0) {
+            return true;
+        }
+
+        if (isCyclic()) {
+            return false;
+        }
+
+        for (int v = 0; v < order(); v++) {
+            if (dfs(v).size() == order()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public int maxDegree() {
+        int maxDegree = 0;
+        for (int v = 0; v < order(); v++) {
+            maxDegree = Math.max(maxDegree, degreeOf(v));
+        }
+
+        return maxDegree;
+    }
+
+    @Override
+    public int minDegree() {
+        if (order() == 0) {
+            return 0;
+        }
+
+        int minDegree = Integer.MAX_VALUE;
+        for (int v = 0; v < order(); v++) {
+            minDegree = Math.min(minDegree, degreeOf(v));
+        }
+
+        return minDegree;
+    }
+
+    @Override
+    public NeighborCursor neighborCursor(int v) {
+        return new CsrNeighborCursor().reset(v);
+    }
+
+    @Override
+    public int[] neighborsArray(int v) {
+        if (!isValidVertex(v)) {
+            return new int[0];
+        }
+
+        return Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]);
+    }
+
+    @Override
+    public HashSet<Integer> neighborsOf(int v) {
+        HashSet<Integer> neighbors = new HashSet<>();
+        if (!isValidVertex(v)) {
+            return neighbors;
+        }
+
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            neighbors.add(targets[i]);
+        }
+
+        return neighbors;
+    }
+
+    @Override
+    public Graph newInstance(int order) {
+        return new CsrGraph(order);
+    }
+
+    @Override
+    public int numComponents() {
+        if (order() == 0) {
+            return 0;
+        }
+
+        return Connection.tarjan(this).count();
+    }
+
+    @Override
+    public int order() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public void removeEdge(int v1, int v2) {
+        throw immutable();
+    }
+
+    @Override
+    public void removeVertex(int v) {
+        throw immutable();
+    }
+
+    @Override
+    public int size() {
+        return targets.length;
+    }
+
+    @Override
+    public void swap(int v1, int v2) {
+        throw immutable();
+    }
+
+    @Override
+    public CsrGraph transpose() {
+        int[] transposedOffsets = new int[offsets.length];
+        for (int target : targets) {
+            transposedOffsets[target + 1]++;
+        }
+        for (int v = 0; v < order(); v++) {
+            transposedOffsets[v + 1] += transposedOffsets[v];
+        }
+
+        // Sources are visited in ascending order, so every transposed row comes out sorted.
+        int[] next = Arrays.copyOf(transposedOffsets, order());
+        int[] transposedTargets = new int[targets.length];
+        int[] transposedWeights = new int[weights.length];
+        for (int v = 0; v < order(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int slot = next[targets[i]]++;
+                transposedTargets[slot] = v;
+                transposedWeights[slot] = weights[i];
+            }
+        }
+
+        return new CsrGraph(transposedOffsets, transposedTargets, transposedWeights);
+    }
+
+    @Override
+    public Graph union(Graph graph) {
+        HashSet<Edge> unionEdges = new HashSet<>(getEdges());
+        HashSet<Integer> unionVertices = new HashSet<>();
+
+        for (Edge edge : unionEdges) {
+            unionVertices.add(edge.v1);
+            unionVertices.add(edge.v2);
+        }
+        for (Edge edge : graph.getEdges()) {
+            unionEdges.add(edge);
+            unionVertices.add(edge.v1);
+            unionVertices.add(edge.v2);
+        }
+
+        CsrBuilder builder = newBuilder(unionVertices.size());
+        for (Edge edge : unionEdges) {
+            builder.add(edge.v1, edge.v2, edge.weight);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < order(); i++) {
+            for (int j = 0; j < order(); j++) {
+                sb.append(getEdgeWeight(i, j)).append(j == order() - 1 ? "" : ",");
+            }
+            sb.append(i == order() - 1 ? "" : "\n");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the row offsets. The array is shared with this graph and must not be modified.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the edge targets. The array is shared with this graph and must not be modified.
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Returns the edge weights. The array is shared with this graph and must not be modified.
+     */
+    public int[] weights() {
+        return weights;
+    }
+
+    /**
+     * Returns a mutable copy of this graph.
+     *
+     * @return A {@link SimpleGraph}, or an {@link UndirectedGraph} if this graph is undirected.
+     */
+    public SimpleGraph toSimpleGraph() {
+        SimpleGraph graph = isDirected() ? new SimpleGraph(order()) : new UndirectedGraph(order());
+
+        for (int v = 0; v < order(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                graph.addEdge(v, targets[i], weights[i]);
+            }
+        }
+
+        return graph;
+    }
+
+    private Cuts cuts() {
+        if (cuts == null) {
+            cuts = Cuts.of(this);
+        }
+
+        return cuts;
+    }
+
+    protected CsrBuilder newBuilder(int order) {
+        return new CsrBuilder(order, isDirected());
+    }
+
+    protected boolean isValidVertex(int v) {
+        return v >= 0 && v < order();
+    }
+
+    private int indexOf(int v1, int v2) {
+        if (!isValidVertex(v1) || !isValidVertex(v2)) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(targets, offsets[v1], offsets[v1 + 1], v2);
+        return index < offsets[v1] ? -1 : index;
+    }
+
+    /**
+     * Walks a slice of the target and weight arrays without allocating.
+     */
+    private class CsrNeighborCursor implements NeighborCursor {
+        private int index;
+        private int end;
+
+        @Override
+        public NeighborCursor reset(int v) {
+            if (isValidVertex(v)) {
+                index = offsets[v] - 1;
+                end = offsets[v + 1];
+            } else {
+                index = -1;
+                end = 0;
+            }
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < end;
+        }
+
+        @Override
+        public int target() {
+            return targets[index];
+        }
+
+        @Override
+        public int weight() {
+            return weights[index];
+        }
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("CsrGraph is immutable");
+    }
+}
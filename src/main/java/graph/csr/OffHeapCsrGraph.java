@@ -0,0 +1,714 @@
+package main.java.graph.csr;
+
+import main.java.connection.ConnectedComponents;
+import main.java.connection.Connection;
+import main.java.connection.Cuts;
+import main.java.graph.Graph;
+import main.java.graph.GraphType;
+import main.java.graph.NeighborCursor;
+import main.java.utils.structures.Edge;
+import main.java.utils.structures.EdgeList;
+import main.java.walk.Degrees;
+import main.java.walk.Tour;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) form whose offsets, targets and weights live
+ * outside the Java heap, in direct buffers.
+ *
+ * <p>The layout matches {@link CsrGraph}: the out-neighbors of {@code v} are the targets at
+ * {@code offsets[v]} through {@code offsets[v + 1] - 1}, sorted in ascending order. A graph with
+ * tens of millions of edges therefore costs the garbage collector three buffer objects instead
+ * of an object per edge, and {@link #fromEdges(int, boolean, EdgeSource)} builds one without
+ * ever holding the edges on the heap. Traversals that walk {@link #neighborCursor(int)}, such as
+ * {@link main.java.distance.Distance#dijkstra(Graph, int, int)} and breadth-first search, read
+ * the buffers directly. Algorithms that need {@link CsrGraph#offsets()} and friends as arrays
+ * work on a heap copy made by {@link CsrGraph#of(Graph)}, and derived graphs such as
+ * {@link #complement()} or {@link #transpose()} are built on the heap as {@link CsrGraph}s.
+ *
+ * <p>{@link #wrap(int, boolean, IntBuffer, IntBuffer, IntBuffer)} takes buffers that already hold
+ * the layout, such as read-only views of a memory-mapped file, and uses them without copying.
+ *
+ * <p>{@link #close()} ends the lifetime of the graph: the buffers are dropped, and any later
+ * call other than {@link #close()} and {@link #isClosed()} throws
+ * {@link IllegalStateException}. The native memory itself is returned once the dropped buffers
+ * are collected. All mutating operations throw {@link UnsupportedOperationException}.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * try (OffHeapCsrGraph graph = OffHeapCsrGraph.fromEdges(order, true, edges::forEach)) {
+ *     int[] distances = Distance.distances(graph, 0);
+ * }
+ * }</pre>
+ */
+public class OffHeapCsrGraph implements Graph, AutoCloseable {
+    private final int order;
+    private final boolean directed;
+    private IntBuffer offsets;
+    private IntBuffer targets;
+    private IntBuffer weights;
+    private Cuts cuts;
+    private Degrees degrees;
+
+    private OffHeapCsrGraph(int order, boolean directed, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        this.order = order;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Supplies the edges of a graph. {@link #fromEdges(int, boolean, EdgeSource)} asks for them
+     * twice, and both passes must produce the same edges.
+     */
+    @FunctionalInterface
+    public interface EdgeSource {
+        void forEach(EdgeList.EdgeConsumer action);
+    }
+
+    /**
+     * Creates an off-heap copy of any graph, reading it through its neighbor cursor.
+     */
+    public static OffHeapCsrGraph of(Graph graph) {
+        if (graph instanceof OffHeapCsrGraph offHeapGraph) {
+            return offHeapGraph;
+        }
+
+        NeighborCursor cursor = graph.neighborCursor(0);
+        EdgeSource edges = action -> {
+            for (int v = 0; v < graph.order(); v++) {
+                cursor.reset(v);
+                while (cursor.next()) {
+                    action.accept(v, cursor.target(), cursor.weight());
+                }
+            }
+        };
+
+        // Undirected graphs already list both directions of every edge.
+        OffHeapCsrGraph offHeapGraph = fromEdges(graph.order(), true, edges);
+        return graph.isDirected()
+                ? offHeapGraph
+                : new OffHeapCsrGraph(graph.order(), false, offHeapGraph.offsets, offHeapGraph.targets, offHeapGraph.weights);
+    }
+
+    /**
+     * Builds a graph from a source of edges, keeping the edges off the heap throughout.
+     *
+     * <p>Edges are validated the same way {@link CsrBuilder} validates them: loops, out-of-range
+     * vertices and zero weights are ignored, and when the same edge appears twice the later
+     * weight wins. The first pass counts the edges of each vertex and the second writes them
+     * into their rows, which are then sorted one at a time; the only heap memory used is scratch
+     * space for the longest row.
+     *
+     * @param order    The number of vertices.
+     * @param directed False to add the reverse of every edge as well.
+     * @param edges    The edges, which are read twice.
+     */
+    public static OffHeapCsrGraph fromEdges(int order, boolean directed, EdgeSource edges) {
+        IntBuffer offsets = allocate(order + 1);
+        long[] total = new long[1];
+        edges.forEach((v1, v2, weight) -> {
+            if (isValidEdge(order, v1, v2, weight)) {
+                offsets.put(v1 + 1, offsets.get(v1 + 1) + 1);
+                total[0]++;
+                if (!directed) {
+                    offsets.put(v2 + 1, offsets.get(v2 + 1) + 1);
+                    total[0]++;
+                }
+            }
+        });
+        if (total[0] > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalArgumentException("Cannot store " + total[0] + " edges in one buffer");
+        }
+
+        int maxDegree = 0;
+        for (int v = 0; v < order; v++) {
+            maxDegree = Math.max(maxDegree, offsets.get(v + 1));
+            offsets.put(v + 1, offsets.get(v + 1) + offsets.get(v));
+        }
+
+        // offsets[v] serves as the write position of row v, and ends at the start of row v + 1.
+        IntBuffer targets = allocate((int) total[0]);
+        IntBuffer weights = allocate((int) total[0]);
+        edges.forEach((v1, v2, weight) -> {
+            if (isValidEdge(order, v1, v2, weight)) {
+                place(offsets, targets, weights, v1, v2, weight);
+                if (!directed) {
+                    place(offsets, targets, weights, v2, v1, weight);
+                }
+            }
+        });
+        for (int v = order; v > 0; v--) {
+            offsets.put(v, offsets.get(v - 1));
+        }
+        offsets.put(0, 0);
+
+        sortRows(order, offsets, targets, weights, maxDegree);
+        return new OffHeapCsrGraph(order, directed, offsets, targets, weights);
+    }
+
+    /**
+     * Wraps buffers that already hold a graph in this layout, without copying them. Only the
+     * bounds of the offsets are checked; the rows must be sorted and hold valid targets.
+     *
+     * @param order    The number of vertices.
+     * @param directed False if every edge is stored in both directions.
+     * @param offsets  The {@code order + 1} row offsets.
+     * @param targets  The edge targets, at least as many as {@code offsets[order]}.
+     * @param weights  The edge weights, at least as many as {@code offsets[order]}.
+     * @throws IllegalArgumentException If the buffers are too short for the offsets.
+     */
+    public static OffHeapCsrGraph wrap(int order, boolean directed, IntBuffer offsets, IntBuffer targets,
+                                       IntBuffer weights) {
+        if (offsets.capacity() < order + 1 || offsets.get(0) != 0
+                || offsets.get(order) > targets.capacity() || offsets.get(order) > weights.capacity()) {
+            throw new IllegalArgumentException("Buffers do not hold a CSR graph of order " + order);
+        }
+
+        return new OffHeapCsrGraph(order, directed, offsets, targets, weights);
+    }
+
+    @Override
+    public void addEdge(int v1, int v2, int weight) {
+        throw immutable();
+    }
+
+    @Override
+    public int addVertex() {
+        throw immutable();
+    }
+
+    @Override
+    public void addVertex(int v) {
+        throw immutable();
+    }
+
+    @Override
+    public boolean adjacent(int v1, int v2) {
+        return hasEdge(v1, v2);
+    }
+
+    /**
+     * Returns this graph, since it cannot change. Closing the clone therefore closes this graph.
+     */
+    @Override
+    public OffHeapCsrGraph clone() {
+        checkOpen();
+        return this;
+    }
+
+    /**
+     * Releases the buffers. Closing a closed graph has no effect.
+     */
+    @Override
+    public void close() {
+        offsets = null;
+        targets = null;
+        weights = null;
+        cuts = null;
+        degrees = null;
+    }
+
+    @Override
+    public Graph complement() {
+        return toCsrGraph().complement();
+    }
+
+    @Override
+    public void contract(int v1, int v2) {
+        throw immutable();
+    }
+
+    @Override
+    public Set<Edge> cutEdges() {
+        return cuts().edges();
+    }
+
+    @Override
+    public Set<Integer> cutVertices() {
+        return cuts().vertices();
+    }
+
+    @Override
+    public int degreeOf(int v) {
+        checkOpen();
+        if (!isValidVertex(v)) {
+            return -1;
+        }
+
+        return offsets.get(v + 1) - offsets.get(v);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+
+        OffHeapCsrGraph that = (OffHeapCsrGraph) o;
+        checkOpen();
+        that.checkOpen();
+        int size = offsets.get(order);
+        return directed == that.directed
+                && offsets.equals(that.offsets)
+                && targets.slice(0, size).equals(that.targets.slice(0, size))
+                && weights.slice(0, size).equals(that.weights.slice(0, size));
+    }
+
+    @Override
+    public int hashCode() {
+        checkOpen();
+        return 31 * offsets.hashCode() + targets.slice(0, offsets.get(order)).hashCode();
+    }
+
+    @Override
+    public void forEachNeighbor(int v, IntConsumer action) {
+        checkOpen();
+        if (!isValidVertex(v)) {
+            return;
+        }
+
+        for (int i = offsets.get(v); i < offsets.get(v + 1); i++) {
+            action.accept(targets.get(i));
+        }
+    }
+
+    @Override
+    public int[][] getAdjacencyMatrix() {
+        checkOpen();
+        int[][] adjacencyMatrix = new int[order][order];
+
+        for (int v = 0; v < order; v++) {
+            for (int i = offsets.get(v); i < offsets.get(v + 1); i++) {
+                adjacencyMatrix[v][targets.get(i)] = weights.get(i);
+            }
+        }
+
+        return adjacencyMatrix;
+    }
+
+    @Override
+    public Graph getEdgeInducedSubgraph(Set<Edge> edges) {
+        return toCsrGraph().getEdgeInducedSubgraph(edges);
+    }
+
+    @Override
+    public Set<Edge> getEdges() {
+        checkOpen();
+        HashSet<Edge> edges = new HashSet<>(targets.capacity());
+
+        for (int v = 0; v < order; v++) {
+            for (int i = offsets.get(v); i < offsets.get(v + 1); i++) {
+                edges.add(new Edge(v, targets.get(i), weights.get(i)));
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public int getEdgeWeight(int v1, int v2) {
+        int index = indexOf(v1, v2);
+        return index < 0 ? 0 : weights.get(index);
+    }
+
+    /**
+     * Returns the type of a heap CSR graph with the same direction, which is what
+     * {@link #newInstance(int)} creates.
+     */
+    @Override
+    public GraphType getType() {
+        return directed ? GraphType.CSR : GraphType.UNDIRECTED_CSR;
+    }
+
+    @Override
+    public Graph getUnderlyingSimpleSubgraph() {
+        return this;
+    }
+
+    @Override
+    public Graph getVertexInducedSubgraph(Set<Integer> vertices) {
+        return toCsrGraph().getVertexInducedSubgraph(vertices);
+    }
+
+    @Override
+    public boolean hasEdge(int v1, int v2) {
+        return indexOf(v1, v2) >= 0;
+    }
+
+    @Override
+    public void init(HashMap<Integer, HashSet<Integer>> adjacencyList) {
+        throw immutable();
+    }
+
+    @Override
+    public void init(int[][] adjacencyMatrix) {
+        throw immutable();
+    }
+
+    @Override
+    public void init(Edge[] edgeList) {
+        throw immutable();
+    }
+
+    @Override
+    public Graph intersect(Graph graph) {
+        return toCsrGraph().intersect(graph);
+    }
+
+    /**
+     * Checks if the graph has been closed.
+     */
+    public boolean isClosed() {
+        return offsets == null;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return size() == (directed ? order * (order - 1) : order * (order - 1) / 2);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return directed ? numComponents() == 1 : numComponents() <= 1;
+    }
+
+    @Override
+    public boolean isCutEdge(int v1, int v2) {
+        return cuts().isCutEdge(v1, v2);
+    }
+
+    @Override
+    public boolean isCutVertex(int v) {
+        return cuts().isCutVertex(v);
+    }
+
+    @Override
+    public boolean isCyclic() {
+        return toCsrGraph().isCyclic();
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean isEdgeDisjoint(Graph graph) {
+        for (Edge edge : graph.getEdges()) {
+            if (hasEdge(edge)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isEulerian() {
+        checkOpen();
+        if (degrees == null) {
+            degrees = Degrees.of(this);
+        }
+
+        return Tour.isEulerian(this, degrees);
+    }
+
+    @Override
+    public boolean isSimple() {
+        return true;
+    }
+
+    @Override
+    public boolean isSubgraphOf(Graph graph) {
+        checkOpen();
+        for (int v = 0; v < order; v++) {
+            for (int i = offsets.get(v); i < offsets.get(v + 1); i++) {
+                if (!graph.hasEdge(v, targets.get(i))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isTree() {
+        return toCsrGraph().isTree();
+    }
+
+    @Override
+    public int maxDegree() {
+        int maxDegree = 0;
+        for (int v = 0; v < order; v++) {
+            maxDegree = Math.max(maxDegree, degreeOf(v));
+        }
+
+        return maxDegree;
+    }
+
+    @Override
+    public int minDegree() {
+        if (order == 0) {
+            return 0;
+        }
+
+        int minDegree = Integer.MAX_VALUE;
+        for (int v = 0; v < order; v++) {
+            minDegree = Math.min(minDegree, degreeOf(v));
+        }
+
+        return minDegree;
+    }
+
+    @Override
+    public NeighborCursor neighborCursor(int v) {
+        return new BufferNeighborCursor().reset(v);
+    }
+
+    @Override
+    public int[] neighborsArray(int v) {
+        checkOpen();
+        if (!isValidVertex(v)) {
+            return new int[0];
+        }
+
+        int[] neighbors = new int[offsets.get(v + 1) - offsets.get(v)];
+        targets.get(offsets.get(v), neighbors);
+        return neighbors;
+    }
+
+    @Override
+    public HashSet<Integer> neighborsOf(int v) {
+        HashSet<Integer> neighbors = new HashSet<>();
+        forEachNeighbor(v, neighbors::add);
+
+        return neighbors;
+    }
+
+    @Override
+    public Graph newInstance(int order) {
+        return directed ? new CsrGraph(order) : new UndirectedCsrGraph(order);
+    }
+
+    @Override
+    public int numComponents() {
+        checkOpen();
+        if (order == 0) {
+            return 0;
+        }
+
+        return directed ? Connection.tarjan(this).count() : ConnectedComponents.afforest(this).count();
+    }
+
+    @Override
+    public int order() {
+        return order;
+    }
+
+    @Override
+    public void removeEdge(int v1, int v2) {
+        throw immutable();
+    }
+
+    @Override
+    public void removeVertex(int v) {
+        throw immutable();
+    }
+
+    @Override
+    public int size() {
+        checkOpen();
+        int size = offsets.get(order);
+        return directed ? size : size / 2;
+    }
+
+    @Override
+    public void swap(int v1, int v2) {
+        throw immutable();
+    }
+
+    @Override
+    public Graph transpose() {
+        return toCsrGraph().transpose();
+    }
+
+    @Override
+    public Graph union(Graph graph) {
+        return toCsrGraph().union(graph);
+    }
+
+    @Override
+    public String toString() {
+        return toCsrGraph().toString();
+    }
+
+    /**
+     * Returns a copy of this graph on the heap.
+     */
+    public CsrGraph toCsrGraph() {
+        checkOpen();
+        int size = offsets.get(order);
+        int[] heapOffsets = new int[order + 1];
+        int[] heapTargets = new int[size];
+        int[] heapWeights = new int[size];
+        offsets.get(0, heapOffsets);
+        targets.get(0, heapTargets);
+        weights.get(0, heapWeights);
+
+        return directed
+                ? new CsrGraph(heapOffsets, heapTargets, heapWeights)
+                : new UndirectedCsrGraph(heapOffsets, heapTargets, heapWeights);
+    }
+
+    private void checkOpen() {
+        if (offsets == null) {
+            throw new IllegalStateException("OffHeapCsrGraph is closed");
+        }
+    }
+
+    private Cuts cuts() {
+        checkOpen();
+        if (cuts == null) {
+            cuts = Cuts.of(this);
+        }
+
+        return cuts;
+    }
+
+    private int indexOf(int v1, int v2) {
+        checkOpen();
+        if (!isValidVertex(v1) || !isValidVertex(v2)) {
+            return -1;
+        }
+
+        int low = offsets.get(v1);
+        int high = offsets.get(v1 + 1) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = targets.get(middle);
+            if (target < v2) {
+                low = middle + 1;
+            } else if (target > v2) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean isValidVertex(int v) {
+        return v >= 0 && v < order;
+    }
+
+    private static IntBuffer allocate(int ints) {
+        return ByteBuffer.allocateDirect(ints * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static boolean isValidEdge(int order, int v1, int v2, int weight) {
+        return v1 >= 0 && v2 >= 0 && v1 < order && v2 < order && v1 != v2 && weight != 0;
+    }
+
+    private static void place(IntBuffer offsets, IntBuffer targets, IntBuffer weights, int v1, int v2, int weight) {
+        int slot = offsets.get(v1);
+        offsets.put(v1, slot + 1);
+        targets.put(slot, v2);
+        weights.put(slot, weight);
+    }
+
+    /**
+     * Sorts every row by target and drops repeated edges, keeping the weight placed last, then
+     * packs the rows together.
+     */
+    private static void sortRows(int order, IntBuffer offsets, IntBuffer targets, IntBuffer weights, int maxDegree) {
+        long[] row = new long[maxDegree];
+        int[] rowWeights = new int[maxDegree];
+        int size = 0;
+
+        for (int v = 0; v < order; v++) {
+            int start = offsets.get(v);
+            int degree = offsets.get(v + 1) - start;
+            offsets.put(v, size);
+
+            // Sort by target, then by position so that the last duplicate can be kept.
+            for (int i = 0; i < degree; i++) {
+                row[i] = (long) targets.get(start + i) << 32 | i;
+                rowWeights[i] = weights.get(start + i);
+            }
+            Arrays.sort(row, 0, degree);
+
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (row[i] >>> 32);
+                if (i + 1 < degree && (int) (row[i + 1] >>> 32) == target) {
+                    continue;
+                }
+
+                targets.put(size, target);
+                weights.put(size, rowWeights[(int) row[i]]);
+                size++;
+            }
+        }
+        offsets.put(order, size);
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("OffHeapCsrGraph is immutable");
+    }
+
+    /**
+     * Walks a slice of the target and weight buffers without allocating.
+     */
+    private class BufferNeighborCursor implements NeighborCursor {
+        private int index;
+        private int end;
+
+        @Override
+        public NeighborCursor reset(int v) {
+            checkOpen();
+            if (isValidVertex(v)) {
+                index = offsets.get(v) - 1;
+                end = offsets.get(v + 1);
+            } else {
+                index = -1;
+                end = 0;
+            }
+
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < end;
+        }
+
+        @Override
+        public int target() {
+            return targets.get(index);
+        }
+
+        @Override
+        public int weight() {
+            return weights.get(index);
+        }
+    }
+}
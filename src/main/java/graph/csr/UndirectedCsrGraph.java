@@ -0,0 +1,91 @@
+package main.java.graph.csr;
+
+import main.java.connection.ConnectedComponents;
+import main.java.graph.Graph;
+import main.java.graph.GraphType;
+import main.java.search.DepthFirstSearch;
+
+import java.util.HashSet;
+
+/**
+ * An immutable undirected graph stored in compressed sparse row (CSR) form. Every edge is
+ * stored once in each direction, the same way {@link main.java.graph.simple.UndirectedGraph}
+ * stores it.
+ */
+public class UndirectedCsrGraph extends CsrGraph {
+    /**
+     * Creates an edgeless graph with the given number of vertices.
+     */
+    public UndirectedCsrGraph(int order) {
+        super(order);
+    }
+
+    UndirectedCsrGraph(int[] offsets, int[] targets, int[] weights) {
+        super(offsets, targets, weights);
+    }
+
+    @Override
+    public GraphType getType() {
+        return GraphType.UNDIRECTED_CSR;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return size() == order() * (order() - 1) / 2;
+    }
+
+    @Override
+    public HashSet<HashSet<Integer>> getComponents() {
+        return ConnectedComponents.afforest(this).toSets();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return ConnectedComponents.afforest(this).count() <= 1;
+    }
+
+    @Override
+    public boolean isCyclic() {
+        // Any edge to a discovered vertex other than the DFS parent closes a cycle.
+        DepthFirstSearch search = new DepthFirstSearch(this);
+        DepthFirstSearch.Visitor visitor = new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean nonTreeEdge(int v, int target, int parent) {
+                return target != parent;
+            }
+        };
+
+        for (int v = 0; v < order(); v++) {
+            if (search.run(v, visitor)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
+
+    @Override
+    public Graph newInstance(int order) {
+        return new UndirectedCsrGraph(order);
+    }
+
+    @Override
+    public int numComponents() {
+        return ConnectedComponents.afforest(this).count();
+    }
+
+    @Override
+    public int size() {
+        return super.size() / 2;
+    }
+
+    @Override
+    public CsrGraph transpose() {
+        return this;
+    }
+}
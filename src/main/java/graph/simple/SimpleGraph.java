@@ -1,36 +1,71 @@
 package main.java.graph.simple;
 
 import main.java.connection.Connection;
+import main.java.connection.Cuts;
 import main.java.graph.Graph;
 import main.java.graph.GraphType;
+import main.java.graph.NeighborCursor;
+import main.java.search.DepthFirstSearch;
 import main.java.utils.structures.Edge;
 import main.java.utils.structures.EdgeList;
+import main.java.walk.Degrees;
+import main.java.walk.Tour;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
-
+import java.util.function.IntConsumer;
+
+/**
+ * A directed graph without loops or multi-edges, stored as hashed adjacency sets that can be
+ * changed in place.
+ *
+ * <p>Edges and adjacency sets are keyed by internal vertex IDs, which a {@link VertexIndex} maps
+ * to and from the indices callers see. Removing a vertex therefore only touches its own edges,
+ * through its out-neighbor and in-neighbor sets, and inserting or swapping vertices rewrites no
+ * edges at all. While the IDs equal the indices every lookup skips the mapping; after removals
+ * or insertions in the middle, each lookup costs {@code O(log n)} until the removed slots are
+ * squeezed out, and {@link #compact()} renumbers the IDs to restore the direct lookups.
+ */
 public class SimpleGraph implements Graph {
     private EdgeList edgeList = new EdgeList();
-    private HashMap<Integer, HashSet<Integer>> neighborMap = new HashMap<>();
+    private ArrayList<HashSet<Integer>> outNeighbors = new ArrayList<>();
+    private ArrayList<HashSet<Integer>> inNeighbors = new ArrayList<>();
+    private VertexIndex vertices;
+    /**
+     * The cut-edges and cut-vertices, found on the first query and dropped on any change to the
+     * vertices or edges.
+     */
+    private Cuts cuts;
+    /**
+     * The in-degrees and out-degrees, counted on the first Eulerian check and dropped on any
+     * change to the vertices or edges.
+     */
+    private Degrees degrees;
+    /**
+     * The edges under their current indices, built on request while the IDs differ from the
+     * indices and dropped on any change.
+     */
+    private Set<Edge> edges;
 
     public SimpleGraph(int order) {
+        vertices = new VertexIndex(order);
         for (int v = 0; v < order; v++) {
-            neighborMap.put(v, new HashSet<>());
+            outNeighbors.add(new HashSet<>());
+            inNeighbors.add(new HashSet<>());
         }
     }
 
     SimpleGraph(SimpleGraph simpleGraph) {
-        EdgeList edgeList = new EdgeList(simpleGraph.size());
+        edgeList = new EdgeList(simpleGraph.edgeList);
+        vertices = new VertexIndex(simpleGraph.vertices);
 
-        for (Edge edge : simpleGraph.getEdges()) {
-            edgeList.put(edge.clone(), simpleGraph.getEdgeWeight(edge));
-        }
-        this.edgeList = edgeList;
-
-        for (int v = 0; v < simpleGraph.order(); v++) {
-            neighborMap.put(v, new HashSet<>(simpleGraph.neighborsOf(v)));
+        for (int id = 0; id < simpleGraph.outNeighbors.size(); id++) {
+            outNeighbors.add(new HashSet<>(simpleGraph.outNeighbors.get(id)));
+            inNeighbors.add(new HashSet<>(simpleGraph.inNeighbors.get(id)));
         }
     }
 
@@ -40,35 +75,29 @@ public class SimpleGraph implements Graph {
             return;
         }
 
-        edgeList.put(v1, v2, weight);
-        neighborMap.get(v1).add(v2);
+        int id1 = vertices.id(v1);
+        int id2 = vertices.id(v2);
+        edgeList.put(id1, id2, weight);
+        outNeighbors.get(id1).add(id2);
+        inNeighbors.get(id2).add(id1);
+        changed();
     }
 
     @Override
     public int addVertex() {
-        neighborMap.put(order(), new HashSet<>());
+        allocate(vertices.add());
+        changed();
         return order() - 1;
     }
 
+    /**
+     * Inserts a vertex at an index, moving the vertices at and above it up by one, in time
+     * proportional to the distance to the nearest removed slot rather than the number of edges.
+     */
     @Override
     public void addVertex(int v) {
-        addVertex();
-        HashSet<Edge> edges = new HashSet<>(size());
-
-        for (Edge edge : new HashSet<>(edgeList.keySet())) {
-            removeEdge(edge);
-            if (edge.v1 >= v) {
-                edge.v1++;
-            }
-            if (edge.v2 >= v) {
-                edge.v2++;
-            }
-            edges.add(edge);
-        }
-
-        for (Edge edge : edges) {
-            addEdge(edge);
-        }
+        allocate(vertices.insert(Math.max(0, Math.min(v, order()))));
+        changed();
     }
 
     @Override
@@ -94,19 +123,97 @@ public class SimpleGraph implements Graph {
         return graph;
     }
 
+    /**
+     * Contracts two vertices into {@code v2}, summing the weights of edges that meet and dropping
+     * the edge between them, and removes {@code v1}.
+     *
+     * <p>Only the vertex with fewer edges has its adjacency moved: if that is {@code v2}, the two
+     * swap IDs first, so a contraction costs {@code O(min(deg(v1), deg(v2)) + log n)}.
+     */
     @Override
     public void contract(int v1, int v2) {
-        for (Edge edge : new ArrayList<>(edgeList.keySet())) {
-            if (edge.v1 == v1) {
-                int weight = getEdgeWeight(v2, edge.v2);
-                addEdge(v2, edge.v2, edge.weight + weight);
-            } else if (edge.v2 == v1) {
-                int weight = getEdgeWeight(edge.v1, v2);
-                addEdge(edge.v1, v2, edge.weight + weight);
+        if (!isValidVertex(v1) || !isValidVertex(v2) || v1 == v2) {
+            return;
+        }
+
+        if (incidence(vertices.id(v1)) > incidence(vertices.id(v2))) {
+            vertices.swap(v1, v2);
+        }
+
+        int merged = vertices.id(v1);
+        int kept = vertices.id(v2);
+        for (int target : outNeighbors.get(merged)) {
+            int weight = edgeList.get(merged, target);
+            edgeList.remove(merged, target);
+            inNeighbors.get(target).remove(merged);
+            if (target != kept) {
+                edgeList.put(kept, target, edgeList.get(kept, target) + weight);
+                outNeighbors.get(kept).add(target);
+                inNeighbors.get(target).add(kept);
+            }
+        }
+        for (int source : inNeighbors.get(merged)) {
+            int weight = edgeList.get(source, merged);
+            edgeList.remove(source, merged);
+            outNeighbors.get(source).remove(merged);
+            if (source != kept) {
+                edgeList.put(source, kept, edgeList.get(source, kept) + weight);
+                outNeighbors.get(source).add(kept);
+                inNeighbors.get(kept).add(source);
+            }
+        }
+        outNeighbors.get(merged).clear();
+        inNeighbors.get(merged).clear();
+
+        vertices.remove(v1);
+        changed();
+    }
+
+    /**
+     * Contracts every group of vertices at once into a new graph of the same type. Vertex
+     * {@code v} becomes vertex {@code mapping[v]}, edges that meet are summed and edges inside a
+     * group are dropped, all in one pass over the edges.
+     *
+     * @param mapping The coarse vertex of each vertex, from 0 up to the order of the result.
+     * @return The coarse graph, with as many vertices as the largest mapped vertex plus one.
+     * @throws IllegalArgumentException If the mapping does not cover each vertex exactly once or
+     *                                  maps one to a negative vertex.
+     */
+    public SimpleGraph contractAll(int[] mapping) {
+        if (mapping.length != order()) {
+            throw new IllegalArgumentException("Expected a mapping for " + order() + " vertices, got " + mapping.length);
+        }
+
+        int order = 0;
+        for (int m : mapping) {
+            if (m < 0) {
+                throw new IllegalArgumentException("Cannot map a vertex to " + m);
             }
+            order = Math.max(order, m + 1);
         }
 
-        removeVertex(v1);
+        SimpleGraph graph = (SimpleGraph) newInstance(order);
+        forEachEdge((v1, v2, weight) -> {
+            int m1 = mapping[v1];
+            int m2 = mapping[v2];
+            if (m1 != m2) {
+                graph.edgeList.put(m1, m2, graph.edgeList.get(m1, m2) + weight);
+                graph.outNeighbors.get(m1).add(m2);
+                graph.inNeighbors.get(m2).add(m1);
+            }
+        });
+
+        return graph;
+    }
+
+    @Override
+    public Set<Edge> cutEdges() {
+        return cuts().edges();
+    }
+
+    @Override
+    public Set<Integer> cutVertices() {
+        return cuts().vertices();
     }
 
     @Override
@@ -115,7 +222,7 @@ public class SimpleGraph implements Graph {
             return -1;
         }
 
-        return neighborsOf(v).size();
+        return outNeighbors.get(vertices.id(v)).size();
     }
 
     @Override
@@ -131,19 +238,33 @@ public class SimpleGraph implements Graph {
                 return false;
             }
 
-            return edgeList.equals(that.edgeList);
+            if (vertices.isIdentity() && that.vertices.isIdentity()) {
+                return edgeList.equals(that.edgeList);
+            }
+
+            boolean[] equal = {true};
+            forEachEdge((v1, v2, weight) -> equal[0] &= that.getEdgeWeight(v1, v2) == weight);
+            return equal[0];
         } else {
             return false;
         }
     }
 
     @Override
-    public int[][] getAdjacencyMatrix() {
-        int[][] adjacencyMatrix = new int[order()][order()];
+    public void forEachNeighbor(int v, IntConsumer action) {
+        if (!isValidVertex(v)) {
+            return;
+        }
 
-        for (Edge edge : edgeList.keySet()) {
-            adjacencyMatrix[edge.v1][edge.v2] = edgeList.get(edge);
+        for (int n : outNeighbors.get(vertices.id(v))) {
+            action.accept(vertices.index(n));
         }
+    }
+
+    @Override
+    public int[][] getAdjacencyMatrix() {
+        int[][] adjacencyMatrix = new int[order()][order()];
+        forEachEdge((v1, v2, weight) -> adjacencyMatrix[v1][v2] = weight);
 
         return adjacencyMatrix;
     }
@@ -179,7 +300,17 @@ public class SimpleGraph implements Graph {
 
     @Override
     public Set<Edge> getEdges() {
-        return edgeList.keySet();
+        if (vertices.isIdentity()) {
+            return edgeList.edges();
+        }
+
+        if (edges == null) {
+            HashSet<Edge> indexed = new HashSet<>(Math.max(16, (int) (size() / .75f) + 1));
+            forEachEdge((v1, v2, weight) -> indexed.add(new Edge(v1, v2, weight)));
+            edges = Collections.unmodifiableSet(indexed);
+        }
+
+        return edges;
     }
 
     @Override
@@ -188,7 +319,7 @@ public class SimpleGraph implements Graph {
             return 0;
         }
 
-        return edgeList.get(v1, v2);
+        return edgeList.get(vertices.id(v1), vertices.id(v2));
     }
 
     @Override
@@ -268,11 +399,11 @@ public class SimpleGraph implements Graph {
         int newOrder = Math.min(order(), graph.order());
         Graph newGraph = newInstance(newOrder);
 
-        for (Edge edge : edgeList.keySet()) {
-            if (graph.hasEdge(edge)) {
-                newGraph.addEdge(edge);
+        forEachEdge((v1, v2, weight) -> {
+            if (graph.hasEdge(v1, v2)) {
+                newGraph.addEdge(v1, v2, weight);
             }
-        }
+        });
 
         return newGraph;
     }
@@ -289,18 +420,12 @@ public class SimpleGraph implements Graph {
 
     @Override
     public boolean isCutEdge(int v1, int v2) {
-        SimpleGraph clone = clone();
-        clone.removeEdge(v1, v2);
-
-        return numComponents() < clone.numComponents();
+        return cuts().isCutEdge(v1, v2);
     }
 
     @Override
     public boolean isCutVertex(int v) {
-        SimpleGraph clone = clone();
-        clone.removeVertex(v);
-
-        return numComponents() < clone.numComponents();
+        return cuts().isCutVertex(v);
     }
 
     @Override
@@ -309,8 +434,18 @@ public class SimpleGraph implements Graph {
             return false;
         }
 
+        // Reports an edge back to the DFS parent of a vertex, searching afresh from every root.
+        DepthFirstSearch search = new DepthFirstSearch(this);
+        DepthFirstSearch.Visitor visitor = new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean nonTreeEdge(int v, int target, int parent) {
+                return target == parent;
+            }
+        };
+
         for (int v = 0; v < order(); v++) {
-            if (isCyclicH(v, new HashSet<>(), -1)) {
+            search.reset();
+            if (search.run(v, visitor)) {
                 return true;
             }
         }
@@ -326,7 +461,7 @@ public class SimpleGraph implements Graph {
     @Override
     public boolean isEdgeDisjoint(Graph graph) {
         for (Edge edge : graph.getEdges()) {
-            if (edgeList.containsKey(edge)) {
+            if (isValidEdge(edge.v1, edge.v2) && edgeList.containsKey(vertices.id(edge.v1), vertices.id(edge.v2))) {
                 return false;
             }
         }
@@ -341,13 +476,11 @@ public class SimpleGraph implements Graph {
 
     @Override
     public boolean isEulerian() {
-        for (int i = 0; i < order(); i++) {
-            if (degreeOf(i) % 2 == 1) {
-                return false;
-            }
+        if (degrees == null) {
+            degrees = Degrees.of(this);
         }
 
-        return true;
+        return Tour.isEulerian(this, degrees);
     }
 
     @Override
@@ -411,9 +544,31 @@ public class SimpleGraph implements Graph {
         return minDegree;
     }
 
+    @Override
+    public NeighborCursor neighborCursor(int v) {
+        return new SetNeighborCursor().reset(v);
+    }
+
+    /**
+     * Returns a copy of the neighbors of a vertex, so changing it never changes the graph.
+     */
     @Override
     public HashSet<Integer> neighborsOf(int v) {
-        return neighborMap.get(v);
+        if (!isValidVertex(v)) {
+            return null;
+        }
+
+        HashSet<Integer> neighbors = outNeighbors.get(vertices.id(v));
+        if (vertices.isIdentity()) {
+            return new HashSet<>(neighbors);
+        }
+
+        HashSet<Integer> indexed = new HashSet<>(Math.max(16, (int) (neighbors.size() / .75f) + 1));
+        for (int n : neighbors) {
+            indexed.add(vertices.index(n));
+        }
+
+        return indexed;
     }
 
     @Override
@@ -422,12 +577,12 @@ public class SimpleGraph implements Graph {
             return 0;
         }
 
-        return Connection.kosaraju(this).size();
+        return Connection.tarjan(this).count();
     }
 
     @Override
     public int order() {
-        return neighborMap.size();
+        return vertices.order();
     }
 
     @Override
@@ -436,27 +591,40 @@ public class SimpleGraph implements Graph {
             return;
         }
 
-        edgeList.remove(v1, v2);
-        neighborMap.get(v1).remove(v2);
+        int id1 = vertices.id(v1);
+        int id2 = vertices.id(v2);
+        edgeList.remove(id1, id2);
+        outNeighbors.get(id1).remove(id2);
+        inNeighbors.get(id2).remove(id1);
+        changed();
     }
 
+    /**
+     * Removes a vertex and its edges in time proportional to its degree. The vertices above it
+     * move down by one index.
+     */
     @Override
     public void removeVertex(int v) {
-        if (order() == 0) {
+        if (!isValidVertex(v)) {
             return;
         }
 
-        SimpleGraph graph = (SimpleGraph) newInstance(order() - 1);
-        for (Edge edge : getEdges()) {
-            if (edge.v1 != v && edge.v2 != v) {
-                int i0 = edge.v1 < v ? edge.v1 : edge.v1 - 1;
-                int j0 = edge.v2 < v ? edge.v2 : edge.v2 - 1;
-                graph.addEdge(i0, j0, getEdgeWeight(edge));
-            }
+        int id = vertices.id(v);
+        HashSet<Integer> targets = outNeighbors.get(id);
+        HashSet<Integer> sources = inNeighbors.get(id);
+        for (int target : targets) {
+            edgeList.remove(id, target);
+            inNeighbors.get(target).remove(id);
         }
+        for (int source : sources) {
+            edgeList.remove(source, id);
+            outNeighbors.get(source).remove(id);
+        }
+        targets.clear();
+        sources.clear();
 
-        edgeList = graph.edgeList;
-        neighborMap = graph.neighborMap;
+        vertices.remove(v);
+        changed();
     }
 
     @Override
@@ -464,39 +632,23 @@ public class SimpleGraph implements Graph {
         return edgeList.size();
     }
 
+    /**
+     * Swaps the indices of two vertices by exchanging their IDs, without touching any edge.
+     */
     @Override
     public void swap(int v1, int v2) {
-        EdgeList edgeList = new EdgeList();
-
-        for (Edge edge : new HashSet<>(this.edgeList.keySet())) {
-            removeEdge(edge);
-
-            if (edge.v1 == v1) {
-                edge.v1 = v2;
-            } else if (edge.v1 == v2) {
-                edge.v1 = v1;
-            }
-            if (edge.v2 == v1) {
-                edge.v2 = v2;
-            } else if (edge.v2 == v2) {
-                edge.v2 = v1;
-            }
-
-            edgeList.put(edge, edge.weight);
+        if (!isValidVertex(v1) || !isValidVertex(v2)) {
+            return;
         }
 
-        for (Edge edge : new HashSet<>(edgeList.keySet())) {
-            addEdge(edge);
-        }
+        vertices.swap(v1, v2);
+        changed();
     }
 
     @Override
     public Graph transpose() {
         Graph graph = newInstance(order());
-
-        for (Edge edge : edgeList.keySet()) {
-            graph.addEdge(edge.getReverse());
-        }
+        forEachEdge((v1, v2, weight) -> graph.addEdge(v2, v1, weight));
 
         return graph;
     }
@@ -506,7 +658,7 @@ public class SimpleGraph implements Graph {
         HashSet<Edge> unionEdges = new HashSet<>();
         HashSet<Integer> unionVertices = new HashSet<>();
 
-        for (Edge edge : edgeList.keySet()) {
+        for (Edge edge : getEdges()) {
             unionEdges.add(edge);
             unionVertices.add(edge.v1);
             unionVertices.add(edge.v2);
@@ -556,14 +708,41 @@ public class SimpleGraph implements Graph {
             case SIMPLE: return clone();
             case UNDIRECTED:
                 UndirectedGraph graph = new UndirectedGraph(order());
-                for (Edge edge : edgeList.keySet()) {
-                    graph.addEdge(edge);
-                }
+                forEachEdge(graph::addEdge);
                 return graph;
             default: return null;
         }
     }
 
+    /**
+     * Renumbers the internal vertex IDs to match the indices, so that lookups no longer go
+     * through the vertex index. Rewrites every edge, in {@code O(V + E)}.
+     */
+    public void compact() {
+        int[] renumbered = vertices.renumber();
+        if (renumbered == null) {
+            return;
+        }
+
+        EdgeList compacted = new EdgeList(Math.max(16, size()));
+        edgeList.forEach((id1, id2, weight) -> compacted.put(renumbered[id1], renumbered[id2], weight));
+        ArrayList<HashSet<Integer>> compactedOut = new ArrayList<>(order());
+        ArrayList<HashSet<Integer>> compactedIn = new ArrayList<>(order());
+        for (int v = 0; v < order(); v++) {
+            compactedOut.add(new HashSet<>());
+            compactedIn.add(new HashSet<>());
+        }
+        compacted.forEach((v1, v2, weight) -> {
+            compactedOut.get(v1).add(v2);
+            compactedIn.get(v2).add(v1);
+        });
+
+        edgeList = compacted;
+        outNeighbors = compactedOut;
+        inNeighbors = compactedIn;
+        changed();
+    }
+
     /**
      * Checks if this graph is a strict subgraph of another graph by checking if all edges
      * in this graph are in the supergraph.
@@ -572,7 +751,7 @@ public class SimpleGraph implements Graph {
      * @return True if this graph is a strict subgraph of the specified graph, false otherwise.
      */
     public boolean isStrictSubgraphOf(Graph graph) {
-        for (Edge edge : edgeList.keySet()) {
+        for (Edge edge : getEdges()) {
             if (!graph.hasEdge(edge)) {
                 return false;
             }
@@ -581,6 +760,51 @@ public class SimpleGraph implements Graph {
         return true;
     }
 
+    /**
+     * Makes sure an ID has empty adjacency sets, whether it is new or reused.
+     */
+    private void allocate(int id) {
+        if (id == outNeighbors.size()) {
+            outNeighbors.add(new HashSet<>());
+            inNeighbors.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Returns the number of edges into and out of the vertex with an ID.
+     */
+    private int incidence(int id) {
+        return outNeighbors.get(id).size() + inNeighbors.get(id).size();
+    }
+
+    /**
+     * Drops everything derived from the vertices or edges.
+     */
+    private void changed() {
+        cuts = null;
+        degrees = null;
+        edges = null;
+    }
+
+    private Cuts cuts() {
+        if (cuts == null) {
+            cuts = Cuts.of(this);
+        }
+
+        return cuts;
+    }
+
+    /**
+     * Performs an action for each edge, under the current indices of its ends.
+     */
+    private void forEachEdge(EdgeList.EdgeConsumer action) {
+        if (vertices.isIdentity()) {
+            edgeList.forEach(action);
+        } else {
+            edgeList.forEach((id1, id2, weight) -> action.accept(vertices.index(id1), vertices.index(id2), weight));
+        }
+    }
+
     protected boolean isValidEdge(int v1, int v2) {
         return isValidVertex(v1) && isValidVertex(v2) && v1 != v2;
     }
@@ -589,18 +813,40 @@ public class SimpleGraph implements Graph {
         return v >= 0 && v < order();
     }
 
-    private boolean isCyclicH(int v, HashSet<Integer> visited, int parent) {
-        visited.add(v);
-        for (int i : neighborsOf(v)) {
-            if (!visited.contains(i)) {
-                if (isCyclicH(i, visited, v)) {
-                    return true;
-                }
-            } else if (i == parent) {
-                return true;
+    /**
+     * Iterates the neighbor set of a vertex, looking each weight up in the edge list.
+     */
+    private class SetNeighborCursor implements NeighborCursor {
+        private int vertex;
+        private Iterator<Integer> iterator;
+        private int target;
+
+        @Override
+        public NeighborCursor reset(int v) {
+            boolean valid = isValidVertex(v);
+            vertex = valid ? vertices.id(v) : -1;
+            iterator = valid ? outNeighbors.get(vertex).iterator() : Collections.emptyIterator();
+            return this;
+        }
+
+        @Override
+        public boolean next() {
+            if (!iterator.hasNext()) {
+                return false;
             }
+
+            target = iterator.next();
+            return true;
         }
 
-        return false;
+        @Override
+        public int target() {
+            return vertices.index(target);
+        }
+
+        @Override
+        public int weight() {
+            return edgeList.get(vertex, target);
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package main.java.graph.simple;
 
+import main.java.connection.Biconnectivity;
+import main.java.connection.ConnectedComponents;
 import main.java.connection.Connection;
+import main.java.connection.MinimumSpanningTree;
 import main.java.graph.Graph;
 import main.java.graph.GraphType;
+import main.java.search.DepthFirstSearch;
 
+import java.math.BigInteger;
 import java.util.HashSet;
 
 public class UndirectedGraph extends SimpleGraph {
@@ -51,20 +56,30 @@ public class UndirectedGraph extends SimpleGraph {
         return size() == order() * (order() - 1) / 2;
     }
 
+    @Override
+    public HashSet<HashSet<Integer>> getComponents() {
+        return ConnectedComponents.afforest(this).toSets();
+    }
+
     @Override
     public boolean isConnected() {
-        return dfs().size() == order();
+        return ConnectedComponents.afforest(this).count() <= 1;
     }
 
     @Override
     public boolean isCyclic() {
-        HashSet<Integer> visited = new HashSet<>();
+        // Any edge to a discovered vertex other than the DFS parent closes a cycle.
+        DepthFirstSearch search = new DepthFirstSearch(this);
+        DepthFirstSearch.Visitor visitor = new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean nonTreeEdge(int v, int target, int parent) {
+                return target != parent;
+            }
+        };
 
         for (int v = 0; v < order(); v++) {
-            if (!visited.contains(v)) {
-                if (isCyclicH(v, -1, visited)) {
-                    return true;
-                }
+            if (search.run(v, visitor)) {
+                return true;
             }
         }
 
@@ -83,17 +98,7 @@ public class UndirectedGraph extends SimpleGraph {
 
     @Override
     public int numComponents() {
-        int numComponents = 0;
-        HashSet<Integer> visited = new HashSet<>();
-
-        for (int v = 0; v < order(); v++) {
-            if (!visited.contains(v)) {
-                visited.addAll(dfs(v));
-                numComponents++;
-            }
-        }
-
-        return numComponents;
+        return ConnectedComponents.afforest(this).count();
     }
 
     @Override
@@ -112,6 +117,16 @@ public class UndirectedGraph extends SimpleGraph {
         return clone();
     }
 
+    /**
+     * Decomposes the graph into biconnected and 2-edge-connected components.
+     *
+     * @return The decomposition, which also answers whether removing a vertex or edge
+     *         disconnects two vertices.
+     */
+    public Biconnectivity biconnectivity() {
+        return Biconnectivity.of(this);
+    }
+
     /**
      * Returns a cotree of the graph. A cotree is the complement of a valid MST.
      *
@@ -134,12 +149,13 @@ public class UndirectedGraph extends SimpleGraph {
     }
 
     /**
-     * Returns the minimum spanning tree (MST) of the graph.
+     * Returns the minimum spanning tree (MST) of the graph, computed with the algorithm
+     * {@link MinimumSpanningTree#compute(Graph)} picks for its size and density.
      *
      * @return The MST as a SimpleGraph, or null if there is no valid MST.
      */
     public UndirectedGraph mst() {
-        UndirectedGraph mst = Connection.kruskal(this);
+        UndirectedGraph mst = MinimumSpanningTree.compute(this);
 
         if (mst.size() != mst.order() - 1) {
             return null;
@@ -151,25 +167,9 @@ public class UndirectedGraph extends SimpleGraph {
     /**
      * Calculates the number of spanning trees in the graph using Kirchhoff's algorithm.
      *
-     * @return The number of spanning trees in the graph.
+     * @return The exact number of spanning trees in the graph.
      */
-    public int numSpanningTrees() {
+    public BigInteger numSpanningTrees() {
         return Connection.kirchhoff(this);
     }
-
-    private boolean isCyclicH(int v, int parent, HashSet<Integer> visited) {
-        visited.add(v);
-
-        for (Integer i : neighborsOf(v)) {
-            if (!visited.contains(i)) {
-                if (isCyclicH(i, v, visited)) {
-                    return true;
-                }
-            } else if (i != parent) {
-                return true;
-            }
-        }
-
-        return false;
-    }
 }
\ No newline at end of file
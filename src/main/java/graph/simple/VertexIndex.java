@@ -0,0 +1,350 @@
+package main.java.graph.simple;
+
+import main.java.utils.structures.FenwickTree;
+
+import java.util.Arrays;
+
+/**
+ * Maps the vertex indices a {@link SimpleGraph} exposes to stable internal IDs, so that vertices
+ * can be removed, inserted and swapped without rewriting the edges stored under those IDs.
+ *
+ * <p>Vertices occupy slots in index order. Removing a vertex leaves a tombstone in its slot, and
+ * a {@link FenwickTree} over the live slots turns an index into a slot and back in
+ * {@code O(log n)}. Inserting a vertex shifts the slots up to the nearest tombstone. Once
+ * tombstones fill half of the slots they are squeezed out in one pass. While there are none, an
+ * index is its slot and the tree is dropped.
+ *
+ * <p>The index starts out as the identity, with every ID equal to its index. {@link #renumber()}
+ * restores that after the graph has rewritten its edges under the new IDs.
+ */
+class VertexIndex {
+    private static final int TOMBSTONE = -1;
+
+    /**
+     * The ID in each slot, or {@link #TOMBSTONE}.
+     */
+    private int[] slots;
+    private int slotCount;
+    /**
+     * The slot of each ID, or -1 for a free ID.
+     */
+    private int[] slotOf;
+    private int idCount;
+    private int[] freeIds = new int[0];
+    private int freeCount;
+    /**
+     * Counts the live slots, present only while there are tombstones.
+     */
+    private FenwickTree live;
+    private int tombstones;
+    private boolean identity = true;
+
+    VertexIndex(int order) {
+        slots = new int[Math.max(order, 8)];
+        slotOf = new int[Math.max(order, 8)];
+        for (int v = 0; v < order; v++) {
+            slots[v] = v;
+            slotOf[v] = v;
+        }
+        slotCount = order;
+        idCount = order;
+    }
+
+    VertexIndex(VertexIndex index) {
+        slots = index.slots.clone();
+        slotCount = index.slotCount;
+        slotOf = index.slotOf.clone();
+        idCount = index.idCount;
+        freeIds = index.freeIds.clone();
+        freeCount = index.freeCount;
+        live = index.live == null ? null : new FenwickTree(index.live);
+        tombstones = index.tombstones;
+        identity = index.identity;
+    }
+
+    /**
+     * Appends a vertex.
+     *
+     * @return The ID of the new vertex.
+     */
+    int add() {
+        int id = newId();
+        appendSlot(id);
+        identity &= slotOf[id] == id;
+        return id;
+    }
+
+    /**
+     * Returns the number of IDs handed out, which bounds every live ID.
+     */
+    int capacity() {
+        return idCount;
+    }
+
+    /**
+     * Returns the ID of the vertex at an index.
+     */
+    int id(int v) {
+        return identity ? v : slots[slot(v)];
+    }
+
+    /**
+     * Returns the index of the vertex with an ID.
+     */
+    int index(int id) {
+        if (identity) {
+            return id;
+        }
+
+        return tombstones == 0 ? slotOf[id] : live.prefix(slotOf[id]);
+    }
+
+    /**
+     * Inserts a vertex at an index, moving the vertices at and above it up by one. With a
+     * tombstone nearby this shifts only the slots up to it; with no tombstones it still shifts
+     * every slot from the index to the end, {@code O(n - v)}.
+     *
+     * @return The ID of the new vertex.
+     */
+    int insert(int v) {
+        if (v == order()) {
+            return add();
+        }
+
+        int id = newId();
+        int slot = slot(v);
+        identity = false;
+
+        if (tombstones == 0) {
+            appendSlot(TOMBSTONE);
+            shiftUp(slot, slotCount - 1);
+            slots[slot] = id;
+            slotOf[id] = slot;
+            return id;
+        }
+
+        // The nearest tombstone on either side absorbs the shift.
+        int below = slot - 1;
+        int above = slot + 1;
+        while (true) {
+            if (below >= 0 && slots[below] == TOMBSTONE) {
+                shiftDown(below, slot - 1);
+                slots[slot - 1] = id;
+                slotOf[id] = slot - 1;
+                revive(below);
+                return id;
+            }
+            if (above < slotCount && slots[above] == TOMBSTONE) {
+                shiftUp(slot, above);
+                slots[slot] = id;
+                slotOf[id] = slot;
+                revive(above);
+                return id;
+            }
+            below--;
+            above++;
+        }
+    }
+
+    boolean isIdentity() {
+        return identity;
+    }
+
+    int order() {
+        return slotCount - tombstones;
+    }
+
+    /**
+     * Removes the vertex at an index and frees its ID for reuse.
+     *
+     * @return The ID the vertex had.
+     */
+    int remove(int v) {
+        int slot = slot(v);
+        int id = slots[slot];
+        slotOf[id] = -1;
+
+        if (slot == slotCount - 1) {
+            slotCount--;
+            trimTombstones();
+        } else {
+            if (tombstones == 0) {
+                int[] counts = new int[slotCount];
+                Arrays.fill(counts, 1);
+                live = new FenwickTree(counts, slotCount);
+            }
+            slots[slot] = TOMBSTONE;
+            live.add(slot, -1);
+            tombstones++;
+            identity = false;
+        }
+
+        if (identity && id == idCount - 1) {
+            idCount--;
+        } else {
+            freeId(id);
+        }
+
+        if (tombstones * 2 > slotCount) {
+            compactSlots();
+        }
+
+        return id;
+    }
+
+    /**
+     * Resets every ID to its index.
+     *
+     * @return The new ID of each old ID, or -1 for a free ID; null if the IDs were unchanged.
+     */
+    int[] renumber() {
+        if (identity) {
+            return null;
+        }
+
+        int[] renumbered = new int[idCount];
+        Arrays.fill(renumbered, -1);
+        int order = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slots[slot] != TOMBSTONE) {
+                renumbered[slots[slot]] = order++;
+            }
+        }
+
+        for (int v = 0; v < order; v++) {
+            slots[v] = v;
+            slotOf[v] = v;
+        }
+        slotCount = order;
+        idCount = order;
+        freeCount = 0;
+        live = null;
+        tombstones = 0;
+        identity = true;
+
+        return renumbered;
+    }
+
+    /**
+     * Swaps the IDs at two indices.
+     */
+    void swap(int v1, int v2) {
+        if (v1 == v2) {
+            return;
+        }
+
+        int slot1 = slot(v1);
+        int slot2 = slot(v2);
+        int id1 = slots[slot1];
+        int id2 = slots[slot2];
+        slots[slot1] = id2;
+        slots[slot2] = id1;
+        slotOf[id1] = slot2;
+        slotOf[id2] = slot1;
+        identity = false;
+    }
+
+    private void appendSlot(int id) {
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+
+        slots[slotCount++] = id;
+        if (id != TOMBSTONE) {
+            slotOf[id] = slotCount - 1;
+        }
+        if (live != null) {
+            live.append(id == TOMBSTONE ? 0 : 1);
+        }
+    }
+
+    /**
+     * Squeezes the tombstones out of the slots.
+     */
+    private void compactSlots() {
+        int count = 0;
+        boolean ordered = freeCount == 0 && idCount == order();
+        for (int slot = 0; slot < slotCount; slot++) {
+            int id = slots[slot];
+            if (id != TOMBSTONE) {
+                slots[count] = id;
+                slotOf[id] = count;
+                ordered &= id == count;
+                count++;
+            }
+        }
+
+        slotCount = count;
+        live = null;
+        tombstones = 0;
+        identity = ordered;
+    }
+
+    private void freeId(int id) {
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, Math.max(8, freeIds.length * 2));
+        }
+
+        freeIds[freeCount++] = id;
+    }
+
+    private int newId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+
+        if (idCount == slotOf.length) {
+            slotOf = Arrays.copyOf(slotOf, slotOf.length * 2);
+        }
+
+        return idCount++;
+    }
+
+    /**
+     * Turns a tombstone that now holds a vertex back into a live slot.
+     */
+    private void revive(int slot) {
+        live.add(slot, 1);
+        if (--tombstones == 0) {
+            live = null;
+        }
+    }
+
+    /**
+     * Moves the IDs in slots {@code (from, to]} down one slot.
+     */
+    private void shiftDown(int from, int to) {
+        System.arraycopy(slots, from + 1, slots, from, to - from);
+        for (int slot = from; slot < to; slot++) {
+            slotOf[slots[slot]] = slot;
+        }
+    }
+
+    /**
+     * Moves the IDs in slots {@code [from, to)} up one slot. This costs {@code O(to - from)},
+     * which is {@code O(n - v)} for an insertion when there is no tombstone to stop at.
+     */
+    private void shiftUp(int from, int to) {
+        System.arraycopy(slots, from, slots, from + 1, to - from);
+        for (int slot = from + 1; slot <= to; slot++) {
+            slotOf[slots[slot]] = slot;
+        }
+    }
+
+    private int slot(int v) {
+        return tombstones == 0 ? v : live.select(v);
+    }
+
+    private void trimTombstones() {
+        while (slotCount > 0 && slots[slotCount - 1] == TOMBSTONE) {
+            slotCount--;
+            tombstones--;
+        }
+
+        if (tombstones == 0) {
+            live = null;
+        } else {
+            live.truncate(slotCount);
+        }
+    }
+}
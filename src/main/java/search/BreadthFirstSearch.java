@@ -0,0 +1,285 @@
+package main.java.search;
+
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
+import main.java.graph.csr.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * A reusable breadth-first search over a fixed graph.
+ *
+ * <p>Vertices are marked in a bitset when they are enqueued, so each vertex enters the
+ * {@code int[]} queue at most once and the queue never needs more than {@code order} slots.
+ * Parents and depths are kept in {@code int[]} arrays that are only read for visited vertices,
+ * so a search costs nothing for the vertices it does not reach beyond clearing the bitset.
+ *
+ * <p>In {@link Mode#DIRECTION_OPTIMIZING} mode a level is expanded bottom-up, with every unvisited
+ * vertex looking for a parent in the frontier, whenever the frontier's edges outnumber a fraction
+ * of the unexplored edges (Beamer et al.). This skips most edge checks on low-diameter graphs.
+ * The mode needs a CSR copy of the graph, and its transpose if the graph is directed, both built
+ * on the first search. The graph must not be modified while the search object is in use.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * BreadthFirstSearch bfs = new BreadthFirstSearch(graph, BreadthFirstSearch.Mode.DIRECTION_OPTIMIZING);
+ * int[] distances = bfs.distances(0);
+ * ArrayList<Integer> path = bfs.path(0, 42);
+ * }</pre>
+ */
+public class BreadthFirstSearch {
+    /**
+     * Switch to bottom-up once the frontier has more than 1/ALPHA of the unexplored edges.
+     */
+    private static final int ALPHA = 14;
+    /**
+     * Switch back to top-down once the frontier has fewer than 1/BETA of the vertices.
+     */
+    private static final int BETA = 24;
+
+    private final Graph graph;
+    private final Mode mode;
+    private final int order;
+    private final int[] queue;
+    private final int[] parents;
+    private final int[] depths;
+    private final long[] visited;
+    private final long[] targets;
+    private long[] frontier;
+    private CsrGraph csr;
+    private CsrGraph reverse;
+    private int size = 0;
+    private int remainingTargets = 0;
+
+    public enum Mode {
+        /**
+         * Always expands the frontier by scanning its out-edges.
+         */
+        TOP_DOWN,
+        /**
+         * Switches between top-down and bottom-up expansion level by level.
+         */
+        DIRECTION_OPTIMIZING
+    }
+
+    public BreadthFirstSearch(Graph graph) {
+        this(graph, Mode.TOP_DOWN);
+    }
+
+    public BreadthFirstSearch(Graph graph, Mode mode) {
+        this.graph = graph;
+        this.mode = mode;
+        order = graph.order();
+        queue = new int[order];
+        parents = new int[order];
+        depths = new int[order];
+        visited = new long[(order + 63) >>> 6];
+        targets = new long[(order + 63) >>> 6];
+    }
+
+    /**
+     * Computes the number of edges on a shortest path from the source to every vertex.
+     *
+     * @return an array where the value at index {@code v} is the distance to {@code v}, or
+     *         {@link Distance#UNREACHABLE}.
+     */
+    public int[] distances(int source) {
+        search(source, null);
+
+        int[] distances = new int[order];
+        Arrays.fill(distances, Distance.UNREACHABLE);
+        for (int i = 0; i < size; i++) {
+            distances[queue[i]] = depths[queue[i]];
+        }
+
+        return distances;
+    }
+
+    /**
+     * Computes the number of edges on a shortest path from the source to each target, stopping
+     * as soon as every target has been reached.
+     *
+     * @return an array where the value at index {@code i} is the distance to {@code targets[i]},
+     *         or {@link Distance#UNREACHABLE}.
+     */
+    public int[] distances(int source, int... targets) {
+        search(source, targets);
+
+        int[] distances = new int[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            distances[i] = isVisited(targets[i]) ? depths[targets[i]] : Distance.UNREACHABLE;
+        }
+
+        return distances;
+    }
+
+    /**
+     * Finds a path with the fewest edges from the source to the target.
+     *
+     * @return the vertices on the path, or null if the target is unreachable.
+     */
+    public ArrayList<Integer> path(int source, int target) {
+        search(source, new int[] {target});
+        if (!isVisited(target)) {
+            return null;
+        }
+
+        ArrayList<Integer> path = new ArrayList<>(depths[target] + 1);
+        for (int v = target; v != -1; v = parents[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    private static boolean contains(long[] bitset, int v) {
+        return (bitset[v >>> 6] & (1L << v)) != 0;
+    }
+
+    private boolean isValidVertex(int v) {
+        return v >= 0 && v < order;
+    }
+
+    private boolean isVisited(int v) {
+        return isValidVertex(v) && contains(visited, v);
+    }
+
+    /**
+     * Marks a vertex as visited and appends it to the queue.
+     */
+    private void visit(int v, int parent, int depth) {
+        visited[v >>> 6] |= 1L << v;
+        parents[v] = parent;
+        depths[v] = depth;
+        queue[size++] = v;
+
+        if (remainingTargets > 0 && contains(targets, v)) {
+            remainingTargets--;
+        }
+    }
+
+    /**
+     * Visits every vertex reachable from the source, or stops once all targets are visited.
+     */
+    private void search(int source, int[] targetVertices) {
+        Arrays.fill(visited, 0);
+        size = 0;
+        remainingTargets = 0;
+        if (!isValidVertex(source)) {
+            return;
+        }
+
+        boolean stopEarly = targetVertices != null;
+        if (stopEarly) {
+            Arrays.fill(targets, 0);
+            for (int t : targetVertices) {
+                if (isValidVertex(t) && !contains(targets, t)) {
+                    targets[t >>> 6] |= 1L << t;
+                    remainingTargets++;
+                }
+            }
+        }
+
+        boolean directionOptimizing = mode == Mode.DIRECTION_OPTIMIZING;
+        if (directionOptimizing && csr == null) {
+            csr = CsrGraph.of(graph);
+            reverse = graph.isDirected() ? csr.transpose() : csr;
+            frontier = new long[visited.length];
+        }
+
+        visit(source, -1, 0);
+        long unexploredEdges = directionOptimizing ? csr.targets().length - outDegree(source) : 0;
+        boolean bottomUp = false;
+        int head = 0;
+        int depth = 1;
+
+        while (head < size && (!stopEarly || remainingTargets > 0)) {
+            int levelEnd = size;
+
+            if (directionOptimizing) {
+                long frontierEdges = 0;
+                for (int i = head; i < levelEnd; i++) {
+                    frontierEdges += outDegree(queue[i]);
+                }
+
+                if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && levelEnd - head < order / BETA) {
+                    bottomUp = false;
+                }
+            }
+
+            if (bottomUp) {
+                bottomUpStep(head, levelEnd, depth);
+            } else {
+                topDownStep(head, levelEnd, depth, stopEarly);
+            }
+
+            if (directionOptimizing) {
+                for (int i = levelEnd; i < size; i++) {
+                    unexploredEdges -= outDegree(queue[i]);
+                }
+            }
+
+            head = levelEnd;
+            depth++;
+        }
+    }
+
+    /**
+     * Gives every unvisited vertex with an in-neighbor in the frontier {@code queue[head..levelEnd)}
+     * that neighbor as its parent.
+     */
+    private void bottomUpStep(int head, int levelEnd, int depth) {
+        for (int i = head; i < levelEnd; i++) {
+            frontier[queue[i] >>> 6] |= 1L << queue[i];
+        }
+
+        int[] offsets = reverse.offsets();
+        int[] sources = reverse.targets();
+        for (int v = 0; v < order; v++) {
+            if (contains(visited, v)) {
+                continue;
+            }
+
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (contains(frontier, sources[e])) {
+                    visit(v, sources[e], depth);
+                    break;
+                }
+            }
+        }
+
+        for (int i = head; i < levelEnd; i++) {
+            frontier[queue[i] >>> 6] = 0;
+        }
+    }
+
+    private int outDegree(int v) {
+        return csr.offsets()[v + 1] - csr.offsets()[v];
+    }
+
+    /**
+     * Visits the unvisited out-neighbors of the frontier {@code queue[head..levelEnd)}.
+     */
+    private void topDownStep(int head, int levelEnd, int depth, boolean stopEarly) {
+        NeighborCursor cursor = csr != null ? csr.neighborCursor(queue[head]) : graph.neighborCursor(queue[head]);
+        for (int i = head; i < levelEnd; i++) {
+            int u = queue[i];
+            cursor.reset(u);
+            while (cursor.next()) {
+                int v = cursor.target();
+                if (!contains(visited, v)) {
+                    visit(v, u, depth);
+                    if (stopEarly && remainingTargets == 0) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package main.java.search;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * A depth-first search driven by an explicit stack, so deep graphs cannot overflow the call stack.
+ *
+ * <p>Neighbors are visited in the order of {@link Graph#neighborCursor(int)}, which makes the
+ * traversal identical to a recursive search that marks a vertex on entry and recurses into each
+ * unvisited neighbor in turn. A {@link Visitor} sees every vertex before and after its subtree and
+ * every edge to an already discovered vertex, and can stop the search from any callback.
+ *
+ * <p>Discovery and finish times, parents and the visited bitset persist across {@link #run} calls,
+ * so a search can be continued from several roots, until {@link #reset()} is called.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * DepthFirstSearch dfs = new DepthFirstSearch(graph);
+ * for (int v = 0; v < graph.order(); v++) {
+ *     if (!dfs.isVisited(v)) {
+ *         dfs.run(v, visitor);
+ *     }
+ * }
+ * }</pre>
+ */
+public class DepthFirstSearch {
+    private static final Visitor NO_OP = new Visitor() {};
+
+    private final Graph graph;
+    private final CsrGraph csr;
+    private final int order;
+    private final long[] visited;
+    private final int[] parents;
+    private final int[] discovery;
+    private final int[] finish;
+    private final int[] stack;
+    private final int[] positions;
+    private final int[][] neighbors;
+    private int time = 0;
+
+    /**
+     * Receives the events of a {@link DepthFirstSearch}. Returning true from any callback stops
+     * the search immediately.
+     */
+    public interface Visitor {
+        /**
+         * Called when a vertex is discovered, before any of its neighbors.
+         */
+        default boolean preOrder(int v, int parent) {
+            return false;
+        }
+
+        /**
+         * Called when every neighbor of a vertex has been handled.
+         */
+        default boolean postOrder(int v, int parent) {
+            return false;
+        }
+
+        /**
+         * Called for an edge from {@code v} to a vertex that was already discovered.
+         */
+        default boolean nonTreeEdge(int v, int target, int parent) {
+            return false;
+        }
+    }
+
+    public DepthFirstSearch(Graph graph) {
+        this.graph = graph;
+        this.csr = graph instanceof CsrGraph csrGraph ? csrGraph : null;
+        order = graph.order();
+        visited = new long[(order + 63) >>> 6];
+        parents = new int[order];
+        discovery = new int[order];
+        finish = new int[order];
+        stack = new int[order];
+        positions = new int[order];
+        neighbors = csr == null ? new int[order][] : null;
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Returns the discovery times of visited vertices, starting at 0 and shared with the finish times.
+     */
+    public int[] discovery() {
+        return discovery;
+    }
+
+    /**
+     * Returns the finish times of visited vertices.
+     */
+    public int[] finish() {
+        return finish;
+    }
+
+    public boolean isVisited(int v) {
+        return (visited[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Returns the parent of each visited vertex in the search forest, or -1 for roots.
+     */
+    public int[] parents() {
+        return parents;
+    }
+
+    /**
+     * Forgets every visited vertex.
+     */
+    public void reset() {
+        Arrays.fill(visited, 0);
+        Arrays.fill(parents, -1);
+        time = 0;
+    }
+
+    /**
+     * Visits every unvisited vertex reachable from a root.
+     */
+    public void run(int root) {
+        run(root, NO_OP);
+    }
+
+    /**
+     * Visits every unvisited vertex reachable from a root, reporting events to a visitor.
+     *
+     * @return True if the visitor stopped the search.
+     */
+    public boolean run(int root, Visitor visitor) {
+        if (root < 0 || root >= order || isVisited(root)) {
+            return false;
+        }
+
+        int depth = 0;
+        if (enter(root, -1, depth++, visitor)) {
+            return true;
+        }
+
+        while (depth > 0) {
+            int v = stack[depth - 1];
+            int next = nextNeighbor(v);
+
+            if (next == -1) {
+                finish[v] = time++;
+                depth--;
+                if (csr == null) {
+                    neighbors[v] = null;
+                }
+                if (visitor.postOrder(v, parents[v])) {
+                    return true;
+                }
+            } else if (!isVisited(next)) {
+                if (enter(next, v, depth++, visitor)) {
+                    return true;
+                }
+            } else if (visitor.nonTreeEdge(v, next, parents[v])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean enter(int v, int parent, int depth, Visitor visitor) {
+        visited[v >>> 6] |= 1L << v;
+        parents[v] = parent;
+        discovery[v] = time++;
+        stack[depth] = v;
+        if (csr != null) {
+            positions[v] = csr.offsets()[v];
+        } else {
+            positions[v] = 0;
+            neighbors[v] = graph.neighborsArray(v);
+        }
+
+        return visitor.preOrder(v, parent);
+    }
+
+    /**
+     * Advances the neighbor position of a vertex on the stack.
+     *
+     * @return The next neighbor, or -1 if there are none left.
+     */
+    private int nextNeighbor(int v) {
+        if (csr != null) {
+            return positions[v] < csr.offsets()[v + 1] ? csr.targets()[positions[v]++] : -1;
+        }
+
+        return positions[v] < neighbors[v].length ? neighbors[v][positions[v]++] : -1;
+    }
+}
@@ -0,0 +1,235 @@
+package main.java.search;
+
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A level-synchronous breadth-first search that expands each frontier in parallel.
+ *
+ * <p>The frontier is split into chunks on a {@link ForkJoinPool}. A worker claims a vertex by
+ * setting its bit in an {@link AtomicLongArray} with compare-and-set, so exactly one worker records
+ * its parent and depth. Each worker buffers the vertices it claimed and then reserves a slice of
+ * the next frontier with a single atomic add, so the next frontier is built without locks.
+ *
+ * <p>Distances match {@link BreadthFirstSearch}. Paths have the same length but may pass through
+ * different vertices, since the worker that claims a vertex first sets its parent. The graph is
+ * copied to CSR when the instance is created, and an instance owns a {@link ForkJoinPool} and
+ * should be closed when no longer needed.
+ *
+ * <h3>Example Usage:</h3>
+ * <pre>{@code
+ * try (ParallelBreadthFirstSearch bfs = new ParallelBreadthFirstSearch(graph, 8)) {
+ *     int[] distances = bfs.distances(0);
+ * }
+ * }</pre>
+ */
+public class ParallelBreadthFirstSearch implements AutoCloseable {
+    /**
+     * Frontier chunks at most this long are expanded by a single task.
+     */
+    private static final int CHUNK = 512;
+
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    private final int[] parents;
+    private final int[] depths;
+    private final AtomicLongArray visited;
+    private int[] frontier;
+    private int[] next;
+    private int visitedCount = 0;
+    private int[] visitedVertices;
+
+    public ParallelBreadthFirstSearch(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param graph the graph to search.
+     * @param threads the number of worker threads. Must be positive.
+     */
+    public ParallelBreadthFirstSearch(Graph graph, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+
+        this.graph = CsrGraph.of(graph);
+        int order = graph.order();
+        pool = new ForkJoinPool(threads);
+        parents = new int[order];
+        depths = new int[order];
+        visited = new AtomicLongArray((order + 63) >>> 6);
+        frontier = new int[order];
+        next = new int[order];
+        visitedVertices = new int[order];
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Computes the number of edges on a shortest path from the source to every vertex.
+     *
+     * @return an array where the value at index {@code v} is the distance to {@code v}, or
+     *         {@link Distance#UNREACHABLE}.
+     */
+    public int[] distances(int source) {
+        search(source);
+
+        int[] distances = new int[graph.order()];
+        Arrays.fill(distances, Distance.UNREACHABLE);
+        for (int i = 0; i < visitedCount; i++) {
+            distances[visitedVertices[i]] = depths[visitedVertices[i]];
+        }
+
+        return distances;
+    }
+
+    /**
+     * Finds a path with the fewest edges from the source to the target.
+     *
+     * @return the vertices on the path, or null if the target is unreachable.
+     */
+    public ArrayList<Integer> path(int source, int target) {
+        search(source);
+        if (target < 0 || target >= graph.order() || !isVisited(target)) {
+            return null;
+        }
+
+        ArrayList<Integer> path = new ArrayList<>(depths[target] + 1);
+        for (int v = target; v != -1; v = parents[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    /**
+     * Claims an unvisited vertex.
+     *
+     * @return True if this call set the vertex's bit.
+     */
+    private boolean claim(int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        long current = visited.get(word);
+
+        while ((current & bit) == 0) {
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+            current = visited.get(word);
+        }
+
+        return false;
+    }
+
+    private boolean isVisited(int v) {
+        return (visited.get(v >>> 6) & (1L << v)) != 0;
+    }
+
+    private void search(int source) {
+        for (int i = 0; i < visited.length(); i++) {
+            visited.set(i, 0);
+        }
+        visitedCount = 0;
+        if (source < 0 || source >= graph.order()) {
+            return;
+        }
+
+        claim(source);
+        parents[source] = -1;
+        depths[source] = 0;
+        frontier[0] = source;
+        visitedVertices[visitedCount++] = source;
+        int frontierSize = 1;
+        int depth = 1;
+
+        while (frontierSize > 0) {
+            AtomicInteger nextSize = new AtomicInteger();
+            Expansion expansion = new Expansion(frontier, 0, frontierSize, depth, next, nextSize);
+            if (frontierSize <= CHUNK) {
+                expansion.compute();
+            } else {
+                pool.invoke(expansion);
+            }
+
+            frontierSize = nextSize.get();
+            System.arraycopy(next, 0, visitedVertices, visitedCount, frontierSize);
+            visitedCount += frontierSize;
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            depth++;
+        }
+    }
+
+    /**
+     * Expands a range of the frontier, splitting it across the pool.
+     */
+    private class Expansion extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final int depth;
+        private final int[] next;
+        private final AtomicInteger nextSize;
+
+        Expansion(int[] frontier, int from, int to, int depth, int[] next, AtomicInteger nextSize) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.next = next;
+            this.nextSize = nextSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK && getPool() == pool) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Expansion(frontier, from, middle, depth, next, nextSize),
+                        new Expansion(frontier, middle, to, depth, next, nextSize));
+                return;
+            }
+
+            int[] offsets = graph.offsets();
+            int[] targets = graph.targets();
+            int[] claimed = new int[64];
+            int count = 0;
+
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (!isVisited(v) && claim(v)) {
+                        parents[v] = u;
+                        depths[v] = depth;
+                        if (count == claimed.length) {
+                            claimed = Arrays.copyOf(claimed, 2 * count);
+                        }
+                        claimed[count++] = v;
+                    }
+                }
+            }
+
+            if (count > 0) {
+                System.arraycopy(claimed, 0, next, nextSize.getAndAdd(count), count);
+            }
+        }
+    }
+}
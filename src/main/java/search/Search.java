@@ -3,9 +3,7 @@ package main.java.search;
 import main.java.graph.Graph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Objects;
+import java.util.Collections;
 
 public class Search {
     /**
@@ -18,45 +16,19 @@ public class Search {
      * @return An ArrayList of integers representing the path from v1 to v2, or null if no path is found.
      */
     public static ArrayList<Integer> bfs(Graph graph, Integer v1, Integer v2) {
-        HashMap<Integer, Integer> predecessorMap = new HashMap<>();
-        HashSet<Integer> visited = new HashSet<>();
-        ArrayList<Integer> vertexQueue = new ArrayList<>();
-
-        vertexQueue.add(v1);
-        int v = -1;
-
-        while (!vertexQueue.isEmpty()) {
-            v = vertexQueue.remove(0);
-            if (Objects.equals(v, v2)) {
-                break;
-            }
-            visited.add(v);
-
-            HashSet<Integer> neighbors = graph.neighborsOf(v);
-            for (Integer n : neighbors) {
-                if (visited.contains(n)) {
-                    continue;
-                }
-                vertexQueue.add(n);
-                if (!predecessorMap.containsKey(n)) {
-                    predecessorMap.put(n, v);
-                }
-            }
-        }
-
-        if (v != v2) {
-            return null;
-        }
-
-        ArrayList<Integer> path = new ArrayList<>();
-        Integer prev = v2;
-        while (!Objects.equals(prev, v1)) {
-            path.add(0, prev);
-            prev = predecessorMap.get(prev);
-        }
-        path.add(0, v1);
+        return new BreadthFirstSearch(graph).path(v1, v2);
+    }
 
-        return path;
+    /**
+     * Performs Breadth-First Search (BFS) to find the number of edges on a shortest path from
+     * node v to every other node.
+     *
+     * @param graph The graph being searched.
+     * @param v The starting vertex.
+     * @return An array of distances indexed by vertex, with -1 for unreachable vertices.
+     */
+    public static int[] bfsDistances(Graph graph, int v) {
+        return new BreadthFirstSearch(graph, BreadthFirstSearch.Mode.DIRECTION_OPTIMIZING).distances(v);
     }
 
     /**
@@ -78,17 +50,31 @@ public class Search {
      */
     public static ArrayList<Integer> dfs(Graph graph, int v) {
         ArrayList<Integer> visited = new ArrayList<>();
+        if (v < 0 || v >= graph.order()) {
+            return visited;
+        }
 
+        DepthFirstSearch search = new DepthFirstSearch(graph);
+        search.run(v);
+
+        // Each vertex i, in ascending order, contributes the part of its DFS tree path from v
+        // that has not been listed yet.
+        int[] parents = search.parents();
+        boolean[] listed = new boolean[graph.order()];
+        int[] path = new int[graph.order()];
         for (int i = 0; i < graph.order(); i++) {
-            if (visited.contains(i)) {
+            if (!search.isVisited(i) || listed[i]) {
                 continue;
             }
 
-            ArrayList<Integer> path = dfsH(graph, v, i, new HashSet<>(), new ArrayList<>());
-            for (Integer p : path) {
-                if (!visited.contains(p)) {
-                    visited.add(p);
-                }
+            int length = 0;
+            for (int u = i; u != -1 && !listed[u]; u = parents[u]) {
+                path[length++] = u;
+            }
+            while (length > 0) {
+                int u = path[--length];
+                listed[u] = true;
+                visited.add(u);
             }
         }
 
@@ -104,28 +90,26 @@ public class Search {
      * @return An ArrayList of integers representing the path from v1 to v2.
      */
     public static ArrayList<Integer> dfs(Graph graph, int v1, int v2) {
-        return dfsH(graph, v1, v2, new HashSet<>(), new ArrayList<>());
-    }
-
-    private static ArrayList<Integer> dfsH(Graph graph, int v1, int v2, HashSet<Integer> visited,
-                                           ArrayList<Integer> path) {
-        visited.add(v1);
-        path.add(v1);
-
-        if (v1 == v2) {
+        ArrayList<Integer> path = new ArrayList<>();
+        if (v1 < 0 || v1 >= graph.order()) {
             return path;
         }
 
-        for (Integer v : graph.neighborsOf(v1)) {
-            if (!visited.contains(v)) {
-                ArrayList<Integer> ret = dfsH(graph, v, v2, visited, path);
-                if (!ret.isEmpty()) {
-                    return ret;
-                }
+        DepthFirstSearch search = new DepthFirstSearch(graph);
+        boolean found = search.run(v1, new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean preOrder(int v, int parent) {
+                return v == v2;
             }
+        });
+
+        if (found) {
+            for (int u = v2; u != -1; u = search.parents()[u]) {
+                path.add(u);
+            }
+            Collections.reverse(path);
         }
 
-        path.remove(path.size() - 1);
-        return new ArrayList<>();
+        return path;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,666 @@
+package main.java.utils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Exact determinants of integer matrices.
+ *
+ * <ul>
+ *     <li>{@link #bareiss(long[][])} runs Bareiss' fraction-free elimination in {@code O(n^3)}
+ *     operations. Every intermediate entry is a minor of the input, so each division is exact. The
+ *     entries are kept in {@code long} and the elimination restarts in {@link BigInteger} if one
+ *     would overflow.</li>
+ *     <li>{@link #multiModular(long[][], int)} eliminates modulo enough primes below {@code 2^26}
+ *     to cover a bound on the result, one prime per task on the common {@link ForkJoinPool}, and
+ *     rebuilds the determinant from the residues with the Chinese remainder theorem. Its cost grows
+ *     with the number of bits in the result instead of the size of the intermediate numbers.</li>
+ *     <li>{@link #dixon(long[][], int)} solves {@code Ax = b} for a random {@code b} by p-adic
+ *     lifting from a single factorization modulo one prime, after Abbott, Bronstein and Mulders.
+ *     The denominators of {@code x} divide the determinant and usually make up almost all of it,
+ *     so only the small cofactor is left to the multi-modular method. Lifting costs
+ *     {@code O(n^2)} per prime's worth of bits instead of {@code O(n^3)}.</li>
+ * </ul>
+ *
+ * <p>{@link #compute(long[][], int)} picks between them from a bound on the result.
+ */
+public class Determinant {
+    /**
+     * The bound on the result, in bits, above which {@link #compute(long[][], int)} switches from
+     * Bareiss' elimination to p-adic lifting.
+     */
+    public static final int BAREISS_BITS = 256;
+
+    /**
+     * Every prime used lies in {@code (2^25, 2^26)}, so the product of two residues stays below
+     * {@code 2^52} and a sum can absorb {@link #REDUCE_INTERVAL} products before it must be
+     * reduced.
+     */
+    private static final int PRIME_LIMIT = 1 << 26;
+    private static final int PRIME_BITS = 25;
+    private static final int REDUCE_INTERVAL = 1024;
+
+    /**
+     * Lifting keeps {@code A x} in a long, so the absolute row sums must stay below
+     * {@code 2^LIFT_ROW_BITS}.
+     */
+    private static final int LIFT_ROW_BITS = 35;
+    private static final int LIFT_ATTEMPTS = 3;
+    private static final int RIGHT_HAND_BOUND = 100;
+    /**
+     * Lifting stops collecting denominators after this many coordinates in a row add nothing.
+     */
+    private static final int STABLE_COORDINATES = 2;
+
+    private static final List<Long> primes = new ArrayList<>();
+
+    /**
+     * Calculates the determinant of a square matrix, with the method suited to a bound on its
+     * absolute value.
+     *
+     * @param bits An upper bound on {@code log2 |det|}.
+     */
+    public static BigInteger compute(long[][] matrix, int bits) {
+        return bits <= BAREISS_BITS ? bareiss(matrix) : dixon(matrix, bits);
+    }
+
+    /**
+     * Calculates the determinant of a square matrix, bounding it with Hadamard's inequality.
+     */
+    public static BigInteger compute(long[][] matrix) {
+        return compute(matrix, hadamardBits(matrix));
+    }
+
+    /**
+     * Calculates the determinant of a square matrix with Bareiss' fraction-free elimination.
+     */
+    public static BigInteger bareiss(long[][] matrix) {
+        long[][] a = copy(matrix);
+        int n = a.length;
+        long previous = 1;
+        int sign = 1;
+
+        try {
+            for (int k = 0; k < n; k++) {
+                int pivot = pivotRow(a, k);
+                if (pivot == -1) {
+                    return BigInteger.ZERO;
+                }
+                if (pivot != k) {
+                    swap(a, pivot, k);
+                    sign = -sign;
+                }
+
+                for (int i = k + 1; i < n; i++) {
+                    for (int j = k + 1; j < n; j++) {
+                        a[i][j] = Math.subtractExact(Math.multiplyExact(a[i][j], a[k][k]),
+                                Math.multiplyExact(a[i][k], a[k][j])) / previous;
+                    }
+                }
+                previous = a[k][k];
+            }
+        } catch (ArithmeticException e) {
+            return bareissBig(matrix);
+        }
+
+        if (n == 0) {
+            return BigInteger.ONE;
+        }
+        BigInteger det = BigInteger.valueOf(a[n - 1][n - 1]);
+        return sign < 0 ? det.negate() : det;
+    }
+
+    /**
+     * Calculates the determinant of a square matrix modulo a prime below {@code 2^26}.
+     *
+     * @return The determinant in {@code [0, prime)}.
+     */
+    public static long modular(long[][] matrix, long prime) {
+        Factorization factorization = Factorization.of(matrix, prime);
+        return factorization == null ? 0 : factorization.det;
+    }
+
+    /**
+     * Calculates the determinant of a square matrix from its residues modulo enough primes to
+     * cover a bound on its absolute value.
+     *
+     * @param bits An upper bound on {@code log2 |det|}.
+     */
+    public static BigInteger multiModular(long[][] matrix, int bits) {
+        checkSquare(matrix);
+        // One extra bit tells negative determinants from positive ones.
+        List<Long> moduli = primes((bits + 1) / PRIME_BITS + 1);
+        return chineseRemainder(moduli, residues(matrix, moduli));
+    }
+
+    /**
+     * Calculates the determinant of a square matrix by p-adic lifting.
+     *
+     * <p>Modulo a prime {@code p} where the matrix is invertible, each step solves
+     * {@code A x_i = r_i} and sets {@code r_(i+1) = (r_i - A x_i) / p}, which stays small, so
+     * {@code x_0 + x_1 p + x_2 p^2 + ...} converges p-adically to the rational solution of
+     * {@code Ax = b}. Once {@code p^steps} exceeds twice the product of the bounds on its numerators
+     * and denominators, rational reconstruction recovers each coordinate exactly. The least common
+     * denominator divides the determinant, and the cofactor is found from its residues.
+     *
+     * <p>Falls back to {@link #multiModular(long[][], int)} when the entries are too large to lift
+     * in a long, or the matrix is singular modulo every prime tried.
+     *
+     * @param bits An upper bound on {@code log2 |det|}.
+     */
+    public static BigInteger dixon(long[][] matrix, int bits) {
+        int n = checkSquare(matrix);
+        if (n == 0) {
+            return BigInteger.ONE;
+        }
+        long limit = 1L << LIFT_ROW_BITS;
+        for (long[] row : matrix) {
+            long sum = 0;
+            for (long value : row) {
+                if (value <= -limit || value >= limit || (sum += Math.abs(value)) >= limit) {
+                    return multiModular(matrix, bits);
+                }
+            }
+        }
+
+        Factorization factorization = null;
+        for (long prime : primes(LIFT_ATTEMPTS)) {
+            factorization = Factorization.of(matrix, prime);
+            if (factorization != null) {
+                break;
+            }
+        }
+        if (factorization == null) {
+            return multiModular(matrix, bits);
+        }
+
+        long prime = factorization.prime;
+        SplittableRandom random = new SplittableRandom(n);
+        long[] residual = new long[n];
+        for (int i = 0; i < n; i++) {
+            residual[i] = random.nextInt(-RIGHT_HAND_BOUND, RIGHT_HAND_BOUND + 1);
+        }
+
+        // Cramer's rule bounds each numerator by the determinant with one column replaced by b.
+        int numeratorBits = hadamardBits(matrix, RIGHT_HAND_BOUND);
+        int steps = (numeratorBits + bits + 1) / PRIME_BITS + 1;
+        long[][] digits = new long[steps][];
+        for (int step = 0; step < steps; step++) {
+            long[] x = factorization.solve(residual);
+            digits[step] = x;
+            for (int i = 0; i < n; i++) {
+                long[] row = matrix[i];
+                long sum = residual[i];
+                for (int j = 0; j < n; j++) {
+                    sum -= row[j] * x[j];
+                }
+                residual[i] = sum / prime;
+            }
+        }
+
+        BigInteger p = BigInteger.valueOf(prime);
+        BigInteger modulus = p.pow(steps);
+        BigInteger numeratorBound = BigInteger.ONE.shiftLeft(numeratorBits);
+        BigInteger denominator = BigInteger.ONE;
+        for (int j = 0, unchanged = 0; j < n && unchanged < STABLE_COORDINATES; j++) {
+            BigInteger x = BigInteger.ZERO;
+            for (int step = steps - 1; step >= 0; step--) {
+                x = x.multiply(p).add(BigInteger.valueOf(digits[step][j]));
+            }
+
+            // A coordinate whose denominator already divides the running one adds nothing.
+            if (symmetric(x.multiply(denominator).mod(modulus), modulus).abs().compareTo(numeratorBound) <= 0) {
+                unchanged++;
+                continue;
+            }
+
+            BigInteger coordinate = reconstructDenominator(x, modulus, numeratorBound);
+            if (coordinate != null) {
+                denominator = denominator.divide(denominator.gcd(coordinate)).multiply(coordinate);
+            }
+            unchanged = 0;
+        }
+
+        int cofactorBits = Math.max(0, bits - denominator.bitLength() + 1);
+        int count = (cofactorBits + 1) / PRIME_BITS + 1;
+        List<Long> moduli = new ArrayList<>(count);
+        moduli.add(prime);
+        for (long candidate : primes(count + LIFT_ATTEMPTS + denominator.bitLength() / PRIME_BITS)) {
+            if (moduli.size() == count) {
+                break;
+            }
+            if (candidate != prime && denominator.mod(BigInteger.valueOf(candidate)).signum() != 0) {
+                moduli.add(candidate);
+            }
+        }
+
+        long[] residues = residues(matrix, moduli.subList(1, count));
+        long[] cofactors = new long[count];
+        for (int i = 0; i < count; i++) {
+            long modulo = moduli.get(i);
+            long det = i == 0 ? factorization.det : residues[i - 1];
+            cofactors[i] = det * inverse(denominator.mod(BigInteger.valueOf(modulo)).longValue(), modulo) % modulo;
+        }
+
+        return denominator.multiply(chineseRemainder(moduli, cofactors));
+    }
+
+    /**
+     * Returns an upper bound on {@code log2 |det|} from Hadamard's inequality: the determinant is
+     * at most the product of the Euclidean lengths of the rows.
+     */
+    public static int hadamardBits(long[][] matrix) {
+        return hadamardBits(matrix, 0);
+    }
+
+    /**
+     * Returns Hadamard's bound with one more entry of the given size in every row, which also
+     * bounds the determinant after any column is replaced by a vector of such entries.
+     */
+    private static int hadamardBits(long[][] matrix, long extra) {
+        double bits = 0;
+        for (long[] row : matrix) {
+            double squares = (double) extra * extra;
+            for (long value : row) {
+                squares += (double) value * value;
+            }
+            if (squares == 0) {
+                return 0;
+            }
+            bits += Math.log(squares) / Math.log(2) / 2;
+        }
+
+        // Allows for rounding in the logarithms.
+        return (int) Math.ceil(bits) + 1;
+    }
+
+    /**
+     * Eliminates a symmetric matrix modulo a prime without pivoting, updating only the lower
+     * triangle, which halves the work of {@link #modular(long[][], long)}. The upper half of row
+     * {@code k} is read from column {@code k} instead.
+     *
+     * @return The determinant in {@code [0, prime)}, or -1 if a pivot vanished modulo the prime.
+     */
+    private static long symmetricModular(long[][] matrix, long prime) {
+        int n = matrix.length;
+        long[][] a = new long[n][];
+        for (int i = 0; i < n; i++) {
+            a[i] = new long[i + 1];
+            for (int j = 0; j <= i; j++) {
+                a[i][j] = Math.floorMod(matrix[i][j], prime);
+            }
+        }
+
+        long det = 1;
+        long[] column = new long[n];
+        for (int k = 0; k < n; k++) {
+            for (int i = k; i < n; i++) {
+                column[i] = a[i][k] % prime;
+            }
+            if (column[k] == 0) {
+                return -1;
+            }
+            det = det * column[k] % prime;
+            long inverse = inverse(column[k], prime);
+
+            for (int i = k + 1; i < n; i++) {
+                if (column[i] == 0) {
+                    continue;
+                }
+
+                long factor = prime - column[i] * inverse % prime;
+                long[] row = a[i];
+                for (int j = k + 1; j <= i; j++) {
+                    row[j] += factor * column[j];
+                }
+            }
+
+            if ((k + 1) % REDUCE_INTERVAL == 0) {
+                for (int i = k + 1; i < n; i++) {
+                    for (int j = k + 1; j <= i; j++) {
+                        a[i][j] %= prime;
+                    }
+                }
+            }
+        }
+
+        return det;
+    }
+
+    private static boolean isSymmetric(long[][] matrix) {
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (matrix[i][j] != matrix[j][i]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Rebuilds an integer from its residues with Garner's method, in the range centred on zero.
+     */
+    private static BigInteger chineseRemainder(List<Long> moduli, long[] residues) {
+        BigInteger value = BigInteger.ZERO;
+        BigInteger product = BigInteger.ONE;
+        for (int i = 0; i < moduli.size(); i++) {
+            long prime = moduli.get(i);
+            BigInteger p = BigInteger.valueOf(prime);
+            long difference = Math.floorMod(residues[i] - value.mod(p).longValue(), prime);
+            long step = difference * inverse(product.mod(p).longValue(), prime) % prime;
+            value = value.add(product.multiply(BigInteger.valueOf(step)));
+            product = product.multiply(p);
+        }
+
+        return symmetric(value, product);
+    }
+
+    /**
+     * Returns the denominator of the fraction with a numerator at most the bound that is
+     * congruent to a value, by the half extended Euclidean algorithm, or null if none is found.
+     */
+    private static BigInteger reconstructDenominator(BigInteger value, BigInteger modulus, BigInteger bound) {
+        BigInteger r0 = modulus;
+        BigInteger r1 = value;
+        BigInteger t0 = BigInteger.ZERO;
+        BigInteger t1 = BigInteger.ONE;
+        while (r1.compareTo(bound) > 0) {
+            BigInteger[] division = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = division[1];
+            BigInteger t = t0.subtract(division[0].multiply(t1));
+            t0 = t1;
+            t1 = t;
+        }
+
+        // Only a reduced fraction proves its denominator divides the determinant.
+        BigInteger denominator = t1.abs();
+        BigInteger numerator = symmetric(value.multiply(denominator).mod(modulus), modulus);
+        if (denominator.signum() == 0 || numerator.abs().compareTo(bound) > 0
+                || !numerator.gcd(denominator).equals(BigInteger.ONE)) {
+            return null;
+        }
+
+        return denominator;
+    }
+
+    /**
+     * Finds the determinant modulo each prime, one prime per task on the common pool.
+     */
+    private static long[] residues(long[][] matrix, List<Long> moduli) {
+        boolean symmetric = isSymmetric(matrix);
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>(moduli.size());
+        for (long prime : moduli) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                long residue = symmetric ? symmetricModular(matrix, prime) : -1;
+                return residue == -1 ? modular(matrix, prime) : residue;
+            }));
+        }
+
+        long[] residues = new long[moduli.size()];
+        for (int i = 0; i < residues.length; i++) {
+            residues[i] = tasks.get(i).join();
+        }
+
+        return residues;
+    }
+
+    /**
+     * Maps a residue into the range centred on zero.
+     */
+    private static BigInteger symmetric(BigInteger value, BigInteger modulus) {
+        return value.compareTo(modulus.shiftRight(1)) > 0 ? value.subtract(modulus) : value;
+    }
+
+    private static BigInteger bareissBig(long[][] matrix) {
+        int n = matrix.length;
+        if (n == 0) {
+            return BigInteger.ONE;
+        }
+
+        BigInteger[][] a = new BigInteger[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = BigInteger.valueOf(matrix[i][j]);
+            }
+        }
+
+        BigInteger previous = BigInteger.ONE;
+        boolean negate = false;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            while (pivot < n && a[pivot][k].signum() == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return BigInteger.ZERO;
+            }
+            if (pivot != k) {
+                BigInteger[] row = a[pivot];
+                a[pivot] = a[k];
+                a[k] = row;
+                negate = !negate;
+            }
+
+            for (int i = k + 1; i < n; i++) {
+                for (int j = k + 1; j < n; j++) {
+                    a[i][j] = a[i][j].multiply(a[k][k]).subtract(a[i][k].multiply(a[k][j])).divide(previous);
+                }
+            }
+            previous = a[k][k];
+        }
+
+        return negate ? a[n - 1][n - 1].negate() : a[n - 1][n - 1];
+    }
+
+    private static int checkSquare(long[][] matrix) {
+        for (long[] row : matrix) {
+            if (row.length != matrix.length) {
+                throw new IllegalArgumentException("Matrix must be square.");
+            }
+        }
+
+        return matrix.length;
+    }
+
+    private static long[][] copy(long[][] matrix) {
+        int n = checkSquare(matrix);
+        long[][] copy = new long[n][];
+        for (int i = 0; i < n; i++) {
+            copy[i] = matrix[i].clone();
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns the inverse of a non-zero residue modulo a prime, by the extended Euclidean
+     * algorithm.
+     */
+    private static long inverse(long value, long prime) {
+        long r0 = prime;
+        long r1 = value;
+        long t0 = 0;
+        long t1 = 1;
+        while (r1 != 0) {
+            long quotient = r0 / r1;
+            long r = r0 - quotient * r1;
+            r0 = r1;
+            r1 = r;
+            long t = t0 - quotient * t1;
+            t0 = t1;
+            t1 = t;
+        }
+
+        return Math.floorMod(t0, prime);
+    }
+
+    private static int pivotRow(long[][] a, int k) {
+        for (int i = k; i < a.length; i++) {
+            if (a[i][k] != 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the largest {@code count} primes below {@code 2^26}, finding more as needed.
+     */
+    private static synchronized List<Long> primes(int count) {
+        long candidate = primes.isEmpty() ? PRIME_LIMIT - 1 : primes.get(primes.size() - 1) - 2;
+        while (primes.size() < count) {
+            if (candidate <= 1 << PRIME_BITS) {
+                throw new IllegalArgumentException("Determinant bound is too large.");
+            }
+            if (BigInteger.valueOf(candidate).isProbablePrime(40)) {
+                primes.add(candidate);
+            }
+            candidate -= 2;
+        }
+
+        return new ArrayList<>(primes.subList(0, count));
+    }
+
+    private static void swap(long[][] a, int i, int j) {
+        long[] row = a[i];
+        a[i] = a[j];
+        a[j] = row;
+    }
+
+    /**
+     * A factorization {@code PA = LU} modulo a prime. The multipliers of {@code L} are stored below
+     * the diagonal of {@code U}.
+     */
+    private static class Factorization {
+        private final long prime;
+        private final long[][] lu;
+        private final int[] rows;
+        private final long[] pivotInverses;
+        private final long det;
+
+        private Factorization(long prime, long[][] lu, int[] rows, long[] pivotInverses, long det) {
+            this.prime = prime;
+            this.lu = lu;
+            this.rows = rows;
+            this.pivotInverses = pivotInverses;
+            this.det = det;
+        }
+
+        /**
+         * Factors a matrix modulo a prime below {@code 2^26}.
+         *
+         * @return The factorization, or null if the matrix is singular modulo the prime.
+         */
+        static Factorization of(long[][] matrix, long prime) {
+            if (prime <= 1 || prime >= PRIME_LIMIT) {
+                throw new IllegalArgumentException("Prime must lie in (1, 2^26).");
+            }
+
+            int n = checkSquare(matrix);
+            long[][] a = new long[n][];
+            int[] rows = new int[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = new long[n];
+                rows[i] = i;
+                for (int j = 0; j < n; j++) {
+                    a[i][j] = Math.floorMod(matrix[i][j], prime);
+                }
+            }
+
+            long det = 1;
+            long[] pivotInverses = new long[n];
+            for (int k = 0; k < n; k++) {
+                int pivot = -1;
+                for (int i = k; i < n; i++) {
+                    a[i][k] %= prime;
+                    if (pivot == -1 && a[i][k] != 0) {
+                        pivot = i;
+                    }
+                }
+                if (pivot == -1) {
+                    return null;
+                }
+                if (pivot != k) {
+                    swap(a, pivot, k);
+                    int row = rows[pivot];
+                    rows[pivot] = rows[k];
+                    rows[k] = row;
+                    det = prime - det;
+                }
+
+                long[] pivotRow = a[k];
+                for (int j = k + 1; j < n; j++) {
+                    pivotRow[j] %= prime;
+                }
+                det = det * pivotRow[k] % prime;
+                long inverse = inverse(pivotRow[k], prime);
+                pivotInverses[k] = inverse;
+
+                // Entries stay non-negative and grow by less than 2^52 per pivot, so they are only
+                // reduced every REDUCE_INTERVAL pivots.
+                for (int i = k + 1; i < n; i++) {
+                    if (a[i][k] == 0) {
+                        continue;
+                    }
+
+                    long multiplier = a[i][k] * inverse % prime;
+                    long factor = prime - multiplier;
+                    long[] row = a[i];
+                    row[k] = multiplier;
+                    for (int j = k + 1; j < n; j++) {
+                        row[j] += factor * pivotRow[j];
+                    }
+                }
+
+                if ((k + 1) % REDUCE_INTERVAL == 0) {
+                    for (int i = k + 1; i < n; i++) {
+                        for (int j = k + 1; j < n; j++) {
+                            a[i][j] %= prime;
+                        }
+                    }
+                }
+            }
+
+            return new Factorization(prime, a, rows, pivotInverses, det);
+        }
+
+        /**
+         * Solves {@code Ax = b} modulo the prime.
+         *
+         * @return The solution, with every entry in {@code [0, prime)}.
+         */
+        long[] solve(long[] b) {
+            int n = lu.length;
+            long[] x = new long[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = Math.floorMod(b[rows[i]] - dot(lu[i], x, 0, i), prime);
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                x[i] = Math.floorMod(x[i] - dot(lu[i], x, i + 1, n), prime) * pivotInverses[i] % prime;
+            }
+
+            return x;
+        }
+
+        private long dot(long[] row, long[] x, int from, int to) {
+            long sum = 0;
+            for (int start = from; start < to; start += REDUCE_INTERVAL) {
+                int end = Math.min(to, start + REDUCE_INTERVAL);
+                for (int j = start; j < end; j++) {
+                    sum += row[j] * x[j];
+                }
+                sum %= prime;
+            }
+
+            return sum;
+        }
+    }
+}
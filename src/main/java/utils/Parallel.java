@@ -0,0 +1,74 @@
+package main.java.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel loops over {@code [0, count)} on the common {@link ForkJoinPool}. The range is split in
+ * halves until pieces hold at most {@code chunk} indices, and a range that already fits in one
+ * chunk runs on the calling thread.
+ */
+public class Parallel {
+    /**
+     * An action over a half-open range of indices.
+     */
+    public interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs an action once for each index in {@code [0, count)}.
+     */
+    public static void forEach(int count, int chunk, IntConsumer action) {
+        forRanges(count, chunk, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+        });
+    }
+
+    /**
+     * Runs an action over pieces of {@code [0, count)} of at most {@code chunk} indices each.
+     */
+    public static void forRanges(int count, int chunk, RangeAction action) {
+        if (chunk < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+
+        if (count <= chunk) {
+            if (count > 0) {
+                action.run(0, count);
+            }
+        } else {
+            ForkJoinPool.commonPool().invoke(new Range(0, count, chunk, action));
+        }
+    }
+
+    private static class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final RangeAction action;
+
+        Range(int from, int to, int chunk, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                action.run(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Range(from, middle, chunk, action), new Range(middle, to, chunk, action));
+        }
+    }
+}
@@ -21,22 +21,20 @@ public class Utils {
     }
 
     /**
-     * Calculates the determinant of a square matrix.
+     * Calculates the determinant of a square matrix with {@link Determinant#bareiss(long[][])}.
+     *
+     * @return The determinant, truncated to an int.
      */
     public static int determinant(int[][] matrix) {
-        int n = matrix.length;
-        if (matrix[0].length != n) {
-            throw new IllegalArgumentException("Matrix must be square.");
+        long[][] values = new long[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != matrix.length) {
+                throw new IllegalArgumentException("Matrix must be square.");
+            }
+            values[i] = Arrays.stream(matrix[i]).asLongStream().toArray();
         }
-        if (n == 1) return matrix[0][0];
-        if (n == 2) return matrix[0][0] * matrix[1][1] - matrix[0][1] * matrix[1][0];
 
-        int det = 0;
-        for (int j = 0; j < n; j++) {
-            int[][] subMatrix = removeRowAndColumn(matrix, 0, j);
-            det += (j % 2 == 0 ? 1 : -1) * matrix[0][j] * determinant(subMatrix);
-        }
-        return det;
+        return Determinant.bareiss(values).intValue();
     }
 
     /**
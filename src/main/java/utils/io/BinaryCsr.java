@@ -0,0 +1,222 @@
+package main.java.utils.io;
+
+import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.csr.OffHeapCsrGraph;
+import main.java.utils.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Reads and writes {@link FileType#BINARY_CSR} files, which hold a graph in compressed sparse
+ * row form so that it can be memory-mapped instead of parsed.
+ *
+ * <p>All values are little-endian. A 32-byte header holds:
+ * <ul>
+ *     <li>the magic bytes {@code GCSR},</li>
+ *     <li>the format version as an int, currently {@link #VERSION},</li>
+ *     <li>flags as an int, where bit 0 is set for a directed graph,</li>
+ *     <li>the order as an int,</li>
+ *     <li>the number of stored edges as a long, counting both directions of an undirected edge,</li>
+ *     <li>8 reserved bytes, written as 0.</li>
+ * </ul>
+ * The header is followed by {@code order + 1} int row offsets, then the int targets and the int
+ * weights of the edges, each row sorted by target, in the layout of {@link CsrGraph}.
+ *
+ * <p>Reading maps the three sections read-only and wraps them as an {@link OffHeapCsrGraph}
+ * without copying, so opening a file costs a few system calls whatever its size, and processes
+ * that open the same file share its pages through the page cache. Each section is mapped as one
+ * buffer, so a file holds at most {@code Integer.MAX_VALUE / 4} edges.
+ */
+class BinaryCsr {
+    static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'G', 'C', 'S', 'R'};
+    private static final int HEADER_BYTES = 32;
+    private static final int DIRECTED = 1;
+    private static final long MAX_INTS = Integer.MAX_VALUE / Integer.BYTES;
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    /**
+     * Checks if a file starts with the magic bytes of a binary CSR file.
+     */
+    static boolean isBinary(String filename) {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keeps reading until the magic bytes are in or the file ends.
+            }
+
+            return !magic.hasRemaining() && Arrays.equals(magic.array(), MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Maps a binary CSR file as a read-only graph.
+     *
+     * @return The graph, or an empty {@link Optional} if the file cannot be read or its header
+     *         does not match its contents.
+     */
+    static Optional<Graph> read(String filename) {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                Log.w("Binary graph file is truncated");
+                return Optional.empty();
+            }
+
+            // The header is read rather than mapped, so a rejected file is left unmapped.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keeps reading until the header is in.
+            }
+            header.flip();
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            int version = header.getInt();
+            int flags = header.getInt();
+            int order = header.getInt();
+            long size = header.getLong();
+
+            if (!Arrays.equals(magic, MAGIC)) {
+                Log.w("Binary graph file header is invalid");
+                return Optional.empty();
+            }
+            if (version != VERSION) {
+                Log.w("Unsupported binary graph file version " + version);
+                return Optional.empty();
+            }
+            if (order < 0 || order >= MAX_INTS || size < 0 || size > MAX_INTS) {
+                Log.w("Binary graph file header is invalid");
+                return Optional.empty();
+            }
+
+            long offsetsStart = HEADER_BYTES;
+            long targetsStart = offsetsStart + (order + 1L) * Integer.BYTES;
+            long weightsStart = targetsStart + size * Integer.BYTES;
+            if (channel.size() != weightsStart + size * Integer.BYTES) {
+                Log.w("Binary graph file does not match its header");
+                return Optional.empty();
+            }
+
+            IntBuffer offsets = map(channel, offsetsStart, order + 1L);
+            IntBuffer targets = map(channel, targetsStart, size);
+            IntBuffer weights = map(channel, weightsStart, size);
+            if (offsets.get(0) != 0 || offsets.get(order) != size) {
+                Log.w("Binary graph file does not match its header");
+                return Optional.empty();
+            }
+
+            // The mappings stay valid after the channel is closed.
+            return Optional.of(OffHeapCsrGraph.wrap(order, (flags & DIRECTED) != 0, offsets, targets, weights));
+        } catch (IOException e) {
+            Log.e("Invalid file location: '" + filename + "'");
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Writes a graph as a binary CSR file. Graphs whose rows may be unsorted are converted with
+     * {@link CsrGraph#of(Graph)} first; an {@link OffHeapCsrGraph} is streamed as it is.
+     *
+     * <p>The file is written next to the target and then moved over it, so a reader that has the
+     * old file mapped, in this process or another, keeps its pages, and a graph mapped from the
+     * target can be written back to it.
+     */
+    static void write(Graph graph, String path) throws IOException {
+        Path target = Path.of(path).toAbsolutePath();
+        // Opened like any new file, so it gets the usual permissions rather than a temp file's.
+        Path temp = target.resolveSibling(target.getFileName() + "." + ProcessHandle.current().pid()
+                + "." + System.nanoTime() + ".tmp");
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            try (channel) {
+                write(graph, channel);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void write(Graph graph, FileChannel channel) throws IOException {
+        Graph csr = graph instanceof OffHeapCsrGraph ? graph : CsrGraph.of(graph);
+        int order = csr.order();
+        long size = 0;
+        for (int v = 0; v < order; v++) {
+            size += csr.degreeOf(v);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC)
+                .putInt(VERSION)
+                .putInt(csr.isDirected() ? DIRECTED : 0)
+                .putInt(order)
+                .putLong(size)
+                .putLong(0);
+
+        int offset = 0;
+        putInt(channel, buffer, 0);
+        for (int v = 0; v < order; v++) {
+            offset += csr.degreeOf(v);
+            putInt(channel, buffer, offset);
+        }
+
+        NeighborCursor cursor = csr.neighborCursor(0);
+        for (int v = 0; v < order; v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                putInt(channel, buffer, cursor.target());
+            }
+        }
+        for (int v = 0; v < order; v++) {
+            cursor.reset(v);
+            while (cursor.next()) {
+                putInt(channel, buffer, cursor.weight());
+            }
+        }
+
+        flush(channel, buffer);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static IntBuffer map(FileChannel channel, long position, long ints) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, ints * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer();
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(channel, buffer);
+        }
+
+        buffer.putInt(value);
+    }
+}
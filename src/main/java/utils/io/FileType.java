@@ -2,8 +2,12 @@ package main.java.utils.io;
 
 import main.java.graph.Graph;
 import main.java.graph.GraphType;
+import main.java.utils.Log;
 import main.java.utils.structures.Edge;
 
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.util.*;
 
 public enum FileType {
@@ -45,6 +49,10 @@ public enum FileType {
             return graphType.fromAdjacencyList(data, order);
         }
 
+        public void write(Graph graph, String path) throws IOException {
+            writeText(this, graph, toString(graph), path);
+        }
+
         public String toString(Graph graph) {
             StringBuilder builder = new StringBuilder();
             builder.append(graph.order());
@@ -93,6 +101,10 @@ public enum FileType {
            return graphType.fromAdjacencyMatrix(adjacencyMatrix);
         }
 
+        public void write(Graph graph, String path) throws IOException {
+            writeText(this, graph, toString(graph), path);
+        }
+
         public String toString(Graph graph) {
             int[][] adjacencyMatrix = graph.getAdjacencyMatrix();
             StringBuilder builder = new StringBuilder();
@@ -142,6 +154,10 @@ public enum FileType {
             return graphType.fromEdgeList(edgeList, order);
         }
 
+        public void write(Graph graph, String path) throws IOException {
+            writeText(this, graph, toString(graph), path);
+        }
+
         public String toString(Graph graph) {
             Set<Edge> edges = graph.getEdges();
             StringBuilder builder = new StringBuilder();
@@ -163,6 +179,21 @@ public enum FileType {
 
             return builder.toString();
         }
+    },
+
+    /**
+     * A memory-mapped compressed sparse row file, read and written by {@link BinaryCsr} rather
+     * than as lines of text.
+     */
+    BINARY_CSR {
+        public Optional<Graph> read(String[] data, GraphType graphType) {
+            Log.w("Binary graph files cannot be read as text");
+            return Optional.empty();
+        }
+
+        public void write(Graph graph, String path) throws IOException {
+            BinaryCsr.write(graph, path);
+        }
     };
 
     public static Optional<FileType> fromString(String fileType) {
@@ -170,13 +201,28 @@ public enum FileType {
             case "adjacency_list", "alist" -> Optional.of(ADJACENCY_LIST);
             case "adjacency_matrix", "amatrix" -> Optional.of(ADJACENCY_MATRIX);
             case "edge_list", "elist" -> Optional.of(EDGE_LIST);
+            case "binary_csr", "bcsr" -> Optional.of(BINARY_CSR);
             default -> Optional.empty();
         };
     }
 
     public abstract Optional<Graph> read(String[] data, GraphType graphType);
 
-    public abstract String toString(Graph graph);
+    /**
+     * Writes a graph to a file of this type, replacing the file if it exists.
+     */
+    public abstract void write(Graph graph, String path) throws IOException;
+
+    /**
+     * Writes a text file: a header line naming the file type and graph type, then the body.
+     */
+    private static void writeText(FileType fileType, Graph graph, String body, String path) throws IOException {
+        String header = "!" + fileType + " !" + graph.getType() + "\n";
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(path))) {
+            bw.write(header + body);
+        }
+    }
 
     private static Optional<int[]> parseIntArray(String row) {
         String[] split = row.split(",");
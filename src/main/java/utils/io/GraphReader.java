@@ -12,6 +12,10 @@ import java.util.Optional;
 
 public class GraphReader {
     public static Optional<Graph> read(String filename) {
+        if (BinaryCsr.isBinary(filename)) {
+            return BinaryCsr.read(filename);
+        }
+
         try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             String line = br.readLine();
             if (!isValidHeader(line)) {
@@ -62,8 +66,9 @@ public class GraphReader {
     private static GraphType getGraphTypeFromHeader(String header) {
         String[] headerString = header.split(" ");
 
+        // A file that names no graph type lets GRAPH choose the representation.
         if (headerString.length < 2) {
-            return GraphType.DEFAULT_GRAPH_TYPE;
+            return GraphType.GRAPH;
         }
 
         return GraphType.fromString(headerString[1].replace("!", ""));
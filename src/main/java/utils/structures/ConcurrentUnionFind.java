@@ -0,0 +1,82 @@
+package main.java.utils.structures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free disjoint-set forest that any number of threads can update at once.
+ *
+ * <p>Parents live in an {@link AtomicIntegerArray}. A root is only ever linked below a smaller
+ * root, with compare-and-set, so the forest cannot form a cycle and the smallest vertex of each
+ * set ends up as its representative. {@link #find(int)} halves the path it walks with
+ * compare-and-set as well; a failed attempt only means another thread shortened it first.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parents;
+
+    public ConcurrentUnionFind(int size) {
+        parents = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parents.set(i, i);
+        }
+    }
+
+    public boolean connected(int v1, int v2) {
+        while (true) {
+            int root1 = find(v1);
+            int root2 = find(v2);
+            if (root1 == root2) {
+                return true;
+            }
+            // Only a root that is still a root proves the sets were separate.
+            if (parents.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    public int find(int vertex) {
+        int parent = parents.get(vertex);
+        while (parent != vertex) {
+            int grandparent = parents.get(parent);
+            if (grandparent != parent) {
+                parents.compareAndSet(vertex, parent, grandparent);
+            }
+            vertex = grandparent;
+            parent = parents.get(vertex);
+        }
+
+        return vertex;
+    }
+
+    /**
+     * Returns the parent of a vertex without searching for its root.
+     */
+    public int parent(int vertex) {
+        return parents.get(vertex);
+    }
+
+    public int size() {
+        return parents.length();
+    }
+
+    /**
+     * Merges the sets containing two vertices.
+     *
+     * @return True if this call linked two separate sets.
+     */
+    public boolean union(int v1, int v2) {
+        while (true) {
+            int root1 = find(v1);
+            int root2 = find(v2);
+            if (root1 == root2) {
+                return false;
+            }
+
+            int high = Math.max(root1, root2);
+            int low = Math.min(root1, root2);
+            if (parents.compareAndSet(high, high, low)) {
+                return true;
+            }
+        }
+    }
+}
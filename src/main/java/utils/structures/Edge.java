@@ -2,7 +2,6 @@ package main.java.utils.structures;
 
 import main.java.utils.Utils;
 
-import java.util.Objects;
 import java.util.Optional;
 
 public class Edge {
@@ -34,7 +33,8 @@ public class Edge {
 
     @Override
     public int hashCode() {
-        return Objects.hash(v1, v2);
+        // Same value as Objects.hash(v1, v2), without boxing a varargs array.
+        return 31 * (31 + v1) + v2;
     }
 
     @Override
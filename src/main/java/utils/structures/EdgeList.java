@@ -1,45 +1,133 @@
 package main.java.utils.structures;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stores edge weights keyed by their endpoints.
+ *
+ * <p>Each edge is encoded as a single {@code long}, {@code (long) v1 << 32 | v2}, in a
+ * {@link LongIntHashMap}, so weight lookups do not allocate an {@link Edge} or box the
+ * weight. The {@link Edge} objects returned by {@link #edges()} are materialized lazily
+ * and cached until the next mutation.
+ */
+public class EdgeList {
+    private final LongIntHashMap weights;
+    private Set<Edge> edges;
 
-public class EdgeList extends HashMap<Edge, Integer> {
     public EdgeList() {
-        super();
+        weights = new LongIntHashMap();
     }
 
     public EdgeList(int initialCapacity) {
-        super(initialCapacity);
+        weights = new LongIntHashMap(initialCapacity);
     }
 
-    @Override
-    public Integer get(Object object) {
-        if (!(object instanceof Edge edge)) {
-            return null;
-        }
+    public EdgeList(EdgeList edgeList) {
+        weights = new LongIntHashMap(edgeList.weights);
+    }
+
+    public boolean containsKey(int v1, int v2) {
+        return weights.containsKey(key(v1, v2));
+    }
+
+    public boolean containsKey(Edge edge) {
+        return containsKey(edge.v1, edge.v2);
+    }
 
-        Integer i = super.get(edge);
-        if (i == null) {
-            return 0;
+    /**
+     * Returns an unmodifiable set of the stored edges, each carrying its weight.
+     */
+    public Set<Edge> edges() {
+        if (edges == null) {
+            HashSet<Edge> materialized = new HashSet<>(Math.max(16, (int) (size() / .75f) + 1));
+            forEach((v1, v2, weight) -> materialized.add(new Edge(v1, v2, weight)));
+            edges = Collections.unmodifiableSet(materialized);
         }
 
-        return i;
+        return edges;
+    }
+
+    /**
+     * Performs an action for each stored edge without materializing {@link Edge} objects.
+     */
+    public void forEach(EdgeConsumer action) {
+        weights.forEach((key, weight) -> action.accept(v1(key), v2(key), weight));
     }
 
+    /**
+     * Returns the weight of an edge, or 0 if it is not stored.
+     */
     public int get(int v1, int v2) {
-        Integer i = get(new Edge(v1, v2));
-        if (i == null) {
-            return 0;
-        }
+        return weights.get(key(v1, v2));
+    }
 
-        return i;
+    public int get(Edge edge) {
+        return get(edge.v1, edge.v2);
+    }
+
+    public boolean isEmpty() {
+        return weights.isEmpty();
     }
 
     public void put(int v1, int v2, int weight) {
-        remove(v1, v2);
-        put(new Edge(v1, v2, weight), weight);
+        weights.put(key(v1, v2), weight);
+        edges = null;
+    }
+
+    public void put(Edge edge, int weight) {
+        put(edge.v1, edge.v2, weight);
     }
 
     public void remove(int v1, int v2) {
-        remove(new Edge(v1, v2));
+        if (weights.containsKey(key(v1, v2))) {
+            weights.remove(key(v1, v2));
+            edges = null;
+        }
+    }
+
+    public void remove(Edge edge) {
+        remove(edge.v1, edge.v2);
+    }
+
+    public int size() {
+        return weights.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        return o instanceof EdgeList that && weights.equals(that.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return weights.hashCode();
+    }
+
+    /**
+     * Encodes an ordered vertex pair as a single key.
+     */
+    public static long key(int v1, int v2) {
+        return (long) v1 << 32 | (v2 & 0xFFFFFFFFL);
+    }
+
+    public static int v1(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int v2(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Receives the edges of an {@link EdgeList}.
+     */
+    public interface EdgeConsumer {
+        void accept(int v1, int v2, int weight);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package main.java.utils.structures;
+
+import java.util.Arrays;
+
+/**
+ * A binary indexed tree over a growable array of non-negative counts.
+ *
+ * <p>Prefix sums, point updates, appends and {@link #select(int)} all take {@code O(log n)}. Over
+ * an array of 0s and 1s, {@link #prefix(int)} ranks a position and {@link #select(int)} finds the
+ * position of a given rank.
+ */
+public class FenwickTree {
+    /**
+     * The tree, 1-based: entry {@code j} holds the sum of the counts in {@code (j - lowbit(j), j]}.
+     */
+    private int[] tree;
+    private int size;
+
+    public FenwickTree(int capacity) {
+        tree = new int[Math.max(capacity, 1) + 1];
+    }
+
+    /**
+     * Builds a tree over the given counts in {@code O(n)}.
+     */
+    public FenwickTree(int[] counts, int size) {
+        this(size);
+        this.size = size;
+        for (int j = 1; j <= size; j++) {
+            tree[j] += counts[j - 1];
+            int parent = j + (j & -j);
+            if (parent <= size) {
+                tree[parent] += tree[j];
+            }
+        }
+    }
+
+    public FenwickTree(FenwickTree fenwickTree) {
+        tree = fenwickTree.tree.clone();
+        size = fenwickTree.size;
+    }
+
+    /**
+     * Adds to the count at a position.
+     */
+    public void add(int i, int delta) {
+        for (int j = i + 1; j <= size; j += j & -j) {
+            tree[j] += delta;
+        }
+    }
+
+    /**
+     * Appends a count at the end, growing the tree.
+     */
+    public void append(int count) {
+        if (size + 1 == tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+
+        int j = ++size;
+        // The new node covers (j - lowbit(j), j], of which only its own count is not yet summed.
+        tree[j] = count + prefix(j - 1) - prefix(j - (j & -j));
+    }
+
+    /**
+     * Returns the sum of the counts at positions {@code [0, i)}.
+     */
+    public int prefix(int i) {
+        int sum = 0;
+        for (int j = i; j > 0; j -= j & -j) {
+            sum += tree[j];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the smallest position {@code i} with {@code prefix(i + 1) > k}, or {@link #size()}
+     * if the counts sum to at most {@code k}.
+     */
+    public int select(int k) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= k) {
+                position = next;
+                k -= tree[next];
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * Drops every position from {@code size} on. No remaining node covers a dropped position.
+     */
+    public void truncate(int size) {
+        this.size = Math.min(this.size, size);
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,160 @@
+package main.java.utils.structures;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap over the integers {@code 0..capacity-1}, keyed by {@code long} priorities.
+ *
+ * <p>The heap keeps the position of every item in an {@code int[]}, which gives
+ * {@link #decreaseKey(int, long)} in O(log n) without the duplicate entries a
+ * {@link java.util.PriorityQueue} based search would accumulate.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private int size = 0;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Removes every item. Runs in time proportional to the number of items in the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public boolean contains(int item) {
+        return positions[item] >= 0;
+    }
+
+    /**
+     * Lowers the key of an item that is already in the heap.
+     */
+    public void decreaseKey(int item, long key) {
+        keys[item] = key;
+        siftUp(positions[item]);
+    }
+
+    public void insert(int item, long key) {
+        keys[item] = key;
+        heap[size] = item;
+        positions[item] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Inserts an item, or lowers its key if it is already in the heap with a larger key.
+     *
+     * @return True if the heap changed.
+     */
+    public boolean insertOrDecrease(int item, long key) {
+        if (!contains(item)) {
+            insert(item, key);
+            return true;
+        }
+        if (key < keys[item]) {
+            decreaseKey(item, key);
+            return true;
+        }
+
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the key of an item in the heap.
+     */
+    public long key(int item) {
+        return keys[item];
+    }
+
+    /**
+     * Returns the item with the smallest key without removing it.
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Returns the smallest key in the heap.
+     */
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the item with the smallest key.
+     */
+    public int poll() {
+        int item = heap[0];
+        positions[item] = -1;
+
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return item;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftDown(int position) {
+        int item = heap[position];
+        long key = keys[item];
+
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= key) {
+                break;
+            }
+
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+
+        heap[position] = item;
+        positions[item] = position;
+    }
+
+    private void siftUp(int position) {
+        int item = heap[position];
+        long key = keys[item];
+
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = item;
+        positions[item] = position;
+    }
+}
@@ -0,0 +1,263 @@
+package main.java.utils.structures;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to primitive {@code int} values.
+ *
+ * <p>Keys are stored in a flat {@code long[]} and probed linearly, so lookups, insertions and
+ * removals never allocate. Removal uses backward-shift deletion rather than tombstones, which
+ * keeps probe sequences short under heavy churn. Missing keys read as {@code 0}.
+ */
+public class LongIntHashMap {
+    private static final long FREE = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;
+    private int resizeThreshold;
+    private boolean hasFreeKey = false;
+    private int freeValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public LongIntHashMap(LongIntHashMap map) {
+        keys = map.keys.clone();
+        values = map.values.clone();
+        mask = map.mask;
+        size = map.size;
+        resizeThreshold = map.resizeThreshold;
+        hasFreeKey = map.hasFreeKey;
+        freeValue = map.freeValue;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasFreeKey = false;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE) {
+            return hasFreeKey;
+        }
+
+        return keys[slotOf(key)] == key;
+    }
+
+    /**
+     * Performs an action for each entry, in slot order.
+     */
+    public void forEach(LongIntConsumer action) {
+        if (hasFreeKey) {
+            action.accept(FREE, freeValue);
+        }
+
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the value mapped to a key, or 0 if there is none.
+     */
+    public int get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == FREE) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous mapping.
+     *
+     * @return The previous value, or 0 if there was none.
+     */
+    public int put(long key, int value) {
+        if (key == FREE) {
+            int previous = hasFreeKey ? freeValue : 0;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeValue = value;
+            return previous;
+        }
+
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Removes the mapping for a key.
+     *
+     * @return The removed value, or 0 if there was none.
+     */
+    public int remove(long key) {
+        if (key == FREE) {
+            if (!hasFreeKey) {
+                return 0;
+            }
+            hasFreeKey = false;
+            size--;
+            return freeValue;
+        }
+
+        int slot = slotOf(key);
+        if (keys[slot] != key) {
+            return 0;
+        }
+
+        int previous = values[slot];
+        shiftKeys(slot);
+        size--;
+
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongIntHashMap that) || size != that.size) {
+            return false;
+        }
+        if (hasFreeKey && (!that.hasFreeKey || freeValue != that.freeValue)) {
+            return false;
+        }
+
+        for (int slot = 0; slot < keys.length; slot++) {
+            long key = keys[slot];
+            if (key != FREE && (!that.containsKey(key) || that.get(key) != values[slot])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = hasFreeKey ? Long.hashCode(FREE) ^ freeValue : 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                hash += Long.hashCode(keys[slot]) ^ values[slot];
+            }
+        }
+
+        return hash;
+    }
+
+    /**
+     * Receives the entries of a {@link LongIntHashMap}.
+     */
+    public interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int capacityFor(int expectedSize) {
+        long capacity = Math.max(2, (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR));
+        return (int) Math.min(1 << 30, Long.highestOneBit(capacity - 1) << 1);
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            long key = oldKeys[slot];
+            if (key != FREE) {
+                int newSlot = slotOf(key);
+                keys[newSlot] = key;
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+
+    /**
+     * Closes the gap left at a slot by moving later entries of the same probe run back.
+     */
+    private void shiftKeys(int slot) {
+        int last = slot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == FREE) {
+                break;
+            }
+
+            int home = mix(key) & mask;
+            // The entry may move back only if its home slot is not cyclically within (last, slot].
+            if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot)) {
+                keys[last] = key;
+                values[last] = values[slot];
+                last = slot;
+            }
+        }
+
+        keys[last] = FREE;
+    }
+
+    /**
+     * Returns the slot holding a key, or the free slot where it would be inserted.
+     */
+    private int slotOf(long key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+}
@@ -1,10 +1,18 @@
 package main.java.utils.structures;
 
+/**
+ * A disjoint-set forest with union by rank and path halving, so any sequence of operations runs
+ * in near-constant amortized time per operation.
+ */
 public class UnionFind {
     private final int[] vertexPointers;
+    private final byte[] ranks;
+    private int count;
 
     public UnionFind(int size) {
         vertexPointers = new int[size];
+        ranks = new byte[size];
+        count = size;
         for (int i = 0; i < size; i++) {
             vertexPointers[i] = i;
         }
@@ -14,16 +22,44 @@ public class UnionFind {
         return find(v1) == find(v2);
     }
 
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int count() {
+        return count;
+    }
+
     public int find(int vertex) {
-        if (vertex == vertexPointers[vertex]) {
-            return vertex;
+        while (vertex != vertexPointers[vertex]) {
+            vertexPointers[vertex] = vertexPointers[vertexPointers[vertex]];
+            vertex = vertexPointers[vertex];
         }
 
-        vertexPointers[vertex] = find(vertexPointers[vertex]);
-        return vertexPointers[vertex];
+        return vertex;
     }
 
-    public void union(int v1, int v2) {
-        vertexPointers[find(v1)] = v2;
+    /**
+     * Merges the sets containing two vertices.
+     *
+     * @return True if the vertices were in different sets.
+     */
+    public boolean union(int v1, int v2) {
+        int root1 = find(v1);
+        int root2 = find(v2);
+        if (root1 == root2) {
+            return false;
+        }
+
+        if (ranks[root1] < ranks[root2]) {
+            vertexPointers[root1] = root2;
+        } else if (ranks[root1] > ranks[root2]) {
+            vertexPointers[root2] = root1;
+        } else {
+            vertexPointers[root2] = root1;
+            ranks[root1]++;
+        }
+        count--;
+
+        return true;
     }
-}
\ No newline at end of file
+}
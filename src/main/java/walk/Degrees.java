@@ -0,0 +1,62 @@
+package main.java.walk;
+
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+
+/**
+ * The in-degree and out-degree of every vertex of a graph, counted in one pass over its edges. An
+ * undirected edge counts towards both degrees of each of its ends.
+ *
+ * <p>Graphs keep one of these to answer {@link Tour#isEulerian(Graph, Degrees)} without
+ * recounting, and drop it on any change to their edges.
+ */
+public class Degrees {
+    private final int[] in;
+    private final int[] out;
+
+    Degrees(int[] in, int[] out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Counts the degrees of every vertex of a graph.
+     */
+    public static Degrees of(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] in = new int[csr.order()];
+        int[] out = new int[csr.order()];
+
+        for (int v = 0; v < out.length; v++) {
+            out[v] = offsets[v + 1] - offsets[v];
+        }
+        for (int target : targets) {
+            in[target]++;
+        }
+
+        return new Degrees(in, out);
+    }
+
+    /**
+     * Returns the number of edges into a vertex.
+     */
+    public int in(int v) {
+        return in[v];
+    }
+
+    /**
+     * Returns the number of edges out of a vertex.
+     */
+    public int out(int v) {
+        return out[v];
+    }
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int order() {
+        return out.length;
+    }
+}
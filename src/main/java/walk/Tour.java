@@ -1,84 +1,181 @@
 package main.java.walk;
 
+import main.java.connection.Components;
+import main.java.connection.ConnectedComponents;
 import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Stack;
+import java.util.Arrays;
 
 public class Tour {
     /**
-     * Implements Fleury's Algorithm to find an Eulerian tour in a given graph.
-     * An Eulerian tour visits every edge of the graph exactly once.
+     * Implements Hierholzer's algorithm to find an Euler trail in a given graph.
+     * An Euler trail visits every edge of the graph exactly once.
      *
-     * @param graph the input graph to find the Eulerian tour for
-     * @return an ArrayList of integers representing the Eulerian tour
+     * <p>Each vertex keeps a cursor into its CSR row, so every edge is looked at once
+     * and the trail is found in {@code O(V + E)}. The walk is extended from an
+     * explicit stack until it returns to a vertex with no unused edges, which is then
+     * appended to the trail, so detours are spliced in where they start. An undirected
+     * edge is stored in both directions, and using one marks its reverse as well.
+     *
+     * <p>The trail is closed when every vertex is balanced, starting from the first
+     * vertex with an edge. Otherwise it starts at the one vertex with an extra outgoing
+     * edge, or for an undirected graph the first of the two vertices of odd degree.
+     *
+     * @param graph the input graph to find the Euler trail for
+     * @return the vertices of the trail, or null if the graph has none
      */
-    public static ArrayList<Integer> fleury(Graph graph) {
-        if (graph.order() == 0) {
-            return new ArrayList<>();
+    public static int[] hierholzer(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int order = csr.order();
+        if (order == 0) {
+            return new int[0];
         }
 
-        Graph copyGraph = graph.clone();
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        boolean directed = csr.isDirected();
+        int start = start(directed, Degrees.of(csr));
+        if (start == -1) {
+            return null;
+        }
 
-        int u = 0;
-        for (int v = 0; v < copyGraph.order(); v++) {
-            if (copyGraph.degreeOf(v) % 2 == 1) {
-                u = v;
-                break;
+        int[] mates = directed ? null : mates(offsets, targets);
+        boolean[] used = directed ? null : new boolean[targets.length];
+        int edges = targets.length;
+        if (!directed) {
+            int loops = 0;
+            for (int e = 0; e < targets.length; e++) {
+                loops += mates[e] == e ? 1 : 0;
             }
+            edges = (targets.length + loops) / 2;
         }
 
-        ArrayList<Integer> tour = new ArrayList<>();
-        tour.add(u);
-
-        ArrayList<Integer> neighbors;
-        while ((neighbors = new ArrayList<>(copyGraph.neighborsOf(u))).size() != 0) {
-            int next = -1;
-            for (int v : neighbors) {
-                int countBefore = countReachableVertices(copyGraph, u);
-                copyGraph.removeEdge(u, v);
-                int countAfter = countReachableVertices(copyGraph, v);
-                copyGraph.addEdge(u, v);
-
-                if (countBefore == countAfter) {
-                    next = v;
-                    break;
-                }
+        int[] cursors = Arrays.copyOf(offsets, order);
+        int[] stack = new int[edges + 1];
+        int[] trail = new int[edges + 1];
+        int top = 0;
+        int length = 0;
+        stack[top++] = start;
+
+        while (top > 0) {
+            int u = stack[top - 1];
+            int end = offsets[u + 1];
+            while (used != null && cursors[u] < end && used[cursors[u]]) {
+                cursors[u]++;
             }
 
-            if (next == -1) {
-                next = neighbors.get(0);
+            if (cursors[u] == end) {
+                trail[length++] = u;
+                top--;
+            } else {
+                int e = cursors[u]++;
+                if (used != null) {
+                    used[e] = true;
+                    used[mates[e]] = true;
+                }
+                stack[top++] = targets[e];
             }
+        }
+
+        // Edges out of reach of the start vertex were never walked.
+        if (length != edges + 1) {
+            return null;
+        }
 
-            tour.add(next);
-            copyGraph.removeEdge(u, next);
-            u = next;
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int vertex = trail[i];
+            trail[i] = trail[j];
+            trail[j] = vertex;
         }
 
-        return tour;
+        return trail;
     }
 
-    private static int countReachableVertices(Graph graph, int u) {
-        HashSet<Integer> visited = new HashSet<>();
-        Stack<Integer> stack = new Stack<>();
+    /**
+     * Checks whether a graph has a closed Euler trail: every vertex is balanced, with
+     * equal in-degree and out-degree if the graph is directed or even degree if it is not,
+     * and all edges lie in one weakly connected component.
+     *
+     * @param graph   the input graph
+     * @param degrees the degrees of the vertices of the graph
+     * @return true if the graph is Eulerian
+     */
+    public static boolean isEulerian(Graph graph, Degrees degrees) {
+        boolean directed = graph.isDirected();
+        for (int v = 0; v < degrees.order(); v++) {
+            if (directed ? degrees.in(v) != degrees.out(v) : degrees.out(v) % 2 == 1) {
+                return false;
+            }
+        }
 
-        stack.push(u);
+        Components components = ConnectedComponents.afforest(graph);
+        int component = -1;
+        for (int v = 0; v < degrees.order(); v++) {
+            if (degrees.out(v) == 0) {
+                continue;
+            }
+            if (component == -1) {
+                component = components.componentOf(v);
+            } else if (components.componentOf(v) != component) {
+                return false;
+            }
+        }
 
-        while (!stack.isEmpty()) {
-            int vertex = stack.pop();
+        return true;
+    }
+
+    /**
+     * Finds the index of the reverse of every edge of an undirected CSR graph, searching
+     * the sorted row of its target.
+     */
+    private static int[] mates(int[] offsets, int[] targets) {
+        int[] mates = new int[targets.length];
+        for (int u = 0; u + 1 < offsets.length; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                mates[e] = Arrays.binarySearch(targets, offsets[v], offsets[v + 1], u);
+            }
+        }
 
-            if (!visited.contains(vertex)) {
-                visited.add(vertex);
+        return mates;
+    }
 
-                for (int neighbor : graph.neighborsOf(vertex)) {
-                    if (!visited.contains(neighbor)) {
-                        stack.push(neighbor);
-                    }
+    /**
+     * Picks the vertex an Euler trail must start from.
+     *
+     * @return the start vertex, or -1 if the degrees rule out an Euler trail
+     */
+    private static int start(boolean directed, Degrees degrees) {
+        int first = -1;
+        int start = -1;
+        int unbalanced = 0;
+
+        for (int v = 0; v < degrees.order(); v++) {
+            if (first == -1 && degrees.out(v) > 0) {
+                first = v;
+            }
+
+            if (directed) {
+                int surplus = degrees.out(v) - degrees.in(v);
+                if (surplus == 1 && start == -1) {
+                    start = v;
+                } else if (surplus != 0 && surplus != -1) {
+                    return -1;
                 }
+                unbalanced += surplus != 0 ? 1 : 0;
+            } else if (degrees.out(v) % 2 == 1) {
+                if (start == -1) {
+                    start = v;
+                }
+                unbalanced++;
             }
         }
 
-        return visited.size();
+        if (unbalanced > 2 || (unbalanced == 2) != (start != -1)) {
+            return -1;
+        }
+
+        return start != -1 ? start : Math.max(first, 0);
     }
-}
\ No newline at end of file
+}
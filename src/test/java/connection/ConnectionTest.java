@@ -1,16 +1,267 @@
 package test.java.connection;
 
+import main.java.connection.Biconnectivity;
+import main.java.connection.Coarsening;
+import main.java.connection.Components;
+import main.java.connection.ConnectedComponents;
+import main.java.connection.Connection;
+import main.java.connection.Cuts;
+import main.java.connection.MinimumSpanningTree;
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.simple.SimpleGraph;
+import main.java.search.Search;
+import main.java.utils.structures.ConcurrentUnionFind;
 import main.java.utils.structures.Edge;
+import main.java.utils.structures.UnionFind;
 import main.java.graph.simple.UndirectedGraph;
 import org.junit.Assert;
 import org.junit.Test;
 import test.java.UnitTestClass;
 
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
 public class ConnectionTest extends UnitTestClass {
+    @Test
+    public void testAfforest() {
+        test(name -> {
+            UndirectedGraph graph = getUndirectedGraph(name);
+            Assert.assertEquals(getProfile(name).numWeakComponents, ConnectedComponents.afforest(graph).count());
+            Assert.assertEquals(Connection.tarjan(graph).count(), graph.getComponents().size());
+        }, "testAfforest");
+
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                for (int order : new int[] {0, 1, 100, 3000}) {
+                    if (order == 3000 && size != GraphBuilder.Size.SPARSE && size != GraphBuilder.Size.EMPTY) {
+                        continue;
+                    }
+
+                    Graph graph = new GraphBuilder().graphType(graphType).order(order).size(size).build();
+                    UnionFind expected = new UnionFind(order);
+                    for (Edge edge : graph.getEdges()) {
+                        expected.union(edge.v1, edge.v2);
+                    }
+
+                    Components components = ConnectedComponents.afforest(graph);
+                    Assert.assertEquals(expected.count(), components.count());
+                    for (int v = 0; v < order; v++) {
+                        int root = expected.find(v);
+                        Assert.assertEquals(components.componentOf(root), components.componentOf(v));
+                    }
+                }
+            }
+        }
+
+        int order = 100000;
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(order);
+        IntStream.range(0, order).parallel().forEach(v -> unionFind.union(v, (v * 7 + 3) % order));
+        IntStream.range(0, order).parallel().forEach(v -> unionFind.union(v, (v + order / 2) % order));
+        UnionFind expected = new UnionFind(order);
+        for (int v = 0; v < order; v++) {
+            expected.union(v, (v * 7 + 3) % order);
+            expected.union(v, (v + order / 2) % order);
+        }
+        for (int v = 0; v < order; v++) {
+            Assert.assertEquals(unionFind.find(expected.find(v)), unionFind.find(v));
+            Assert.assertTrue(unionFind.find(v) <= v);
+        }
+    }
+
+    @Test
+    public void testBiconnectivity() {
+        test(name -> {
+            UndirectedGraph graph = getUndirectedGraph(name);
+            Biconnectivity biconnectivity = graph.biconnectivity();
+            for (int v = 0; v < graph.order(); v++) {
+                UndirectedGraph clone = graph.clone();
+                clone.removeVertex(v);
+                Assert.assertEquals(graph.numComponents() < clone.numComponents(), biconnectivity.isCutVertex(v));
+            }
+            Assert.assertEquals(graph.cutVertices().size(), biconnectivity.blockCutTree().order() - biconnectivity.blockCount());
+        }, "testBiconnectivity");
+
+        for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+            for (int seed = 0; seed < 2; seed++) {
+                Graph graph = new GraphBuilder().graphType(GraphType.UNDIRECTED).order(20).size(size).build();
+                Biconnectivity biconnectivity = Biconnectivity.of(graph);
+                int[][] distances = new int[graph.order()][];
+                for (int v = 0; v < graph.order(); v++) {
+                    distances[v] = Search.bfsDistances(graph, v);
+                }
+
+                for (int x = 0; x < graph.order(); x++) {
+                    Graph clone = graph.clone();
+                    clone.removeVertex(x);
+                    for (int u = 0; u < graph.order(); u++) {
+                        int[] after = u == x ? null : Search.bfsDistances(clone, u < x ? u : u - 1);
+                        for (int v = 0; v < graph.order(); v++) {
+                            boolean expected = after != null && v != x && distances[u][v] != -1
+                                    && after[v < x ? v : v - 1] == -1;
+                            Assert.assertEquals(expected, biconnectivity.separates(x, u, v));
+                        }
+                    }
+                }
+
+                for (Edge edge : graph.getEdges()) {
+                    Graph clone = graph.clone();
+                    clone.removeEdge(edge);
+                    Assert.assertEquals(graph.isCutEdge(edge), biconnectivity.isBridge(edge.v1, edge.v2));
+                    for (int u = 0; u < graph.order(); u++) {
+                        int[] after = Search.bfsDistances(clone, u);
+                        for (int v = 0; v < graph.order(); v++) {
+                            boolean expected = distances[u][v] != -1 && after[v] == -1;
+                            Assert.assertEquals(expected, biconnectivity.separates(edge, u, v));
+                        }
+                    }
+                }
+
+                // Every edge lies in exactly one block, and blocks meet only at cut-vertices.
+                int blockEdges = 0;
+                for (int i = 0; i < biconnectivity.blockCount(); i++) {
+                    int[] block = biconnectivity.block(i);
+                    for (int a = 0; a < block.length; a++) {
+                        for (int b = a + 1; b < block.length; b++) {
+                            blockEdges += graph.hasEdge(block[a], block[b]) ? 1 : 0;
+                        }
+                    }
+                }
+                Assert.assertEquals(graph.size(), blockEdges);
+
+                Graph tree = biconnectivity.blockCutTree();
+                Assert.assertFalse(tree.isCyclic());
+
+                Components components = biconnectivity.twoEdgeConnectedComponents();
+                for (int u = 0; u < graph.order(); u++) {
+                    for (int v : graph.neighborsOf(u)) {
+                        Assert.assertEquals(!biconnectivity.isBridge(u, v),
+                                components.componentOf(u) == components.componentOf(v));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCoarsening() {
+        test(name -> {
+            UndirectedGraph graph = getUndirectedGraph(name);
+            Coarsening coarsening = Coarsening.coarsen(graph, 2);
+            SimpleGraph coarsest = coarsening.coarsest();
+            Assert.assertEquals(graph, coarsening.graph(0));
+            Assert.assertEquals(GraphType.UNDIRECTED, coarsest.getType());
+
+            // Contraction keeps the components apart and the total weight between them.
+            int[] labels = ConnectedComponents.afforest(coarsest).labels();
+            int[] projected = coarsening.project(labels);
+            Assert.assertEquals(graph.order(), projected.length);
+            Assert.assertEquals(ConnectedComponents.afforest(graph).count(), ConnectedComponents.afforest(coarsest).count());
+            Assert.assertEquals(graph.order(), IntStream.of(coarsening.sizes(coarsening.levels() - 1)).sum());
+            for (Edge edge : graph.getEdges()) {
+                Assert.assertEquals(projected[edge.v1], projected[edge.v2]);
+            }
+        }, "testCoarsening");
+
+        UndirectedGraph graph = (UndirectedGraph) new GraphBuilder().graphType(GraphType.UNDIRECTED)
+                .order(2000).size(GraphBuilder.Size.SPARSE).weighted(true).build();
+        long weight = graph.getEdges().stream().mapToLong(edge -> edge.weight).sum();
+        Coarsening coarsening = Coarsening.coarsen(graph, 50);
+        for (int level = 1; level < coarsening.levels(); level++) {
+            SimpleGraph coarse = coarsening.graph(level);
+            int[] mapping = coarsening.mapping(level - 1);
+            long internal = coarsening.graph(level - 1).getEdges().stream()
+                    .filter(edge -> mapping[edge.v1] == mapping[edge.v2]).mapToLong(edge -> edge.weight).sum();
+            Assert.assertTrue(coarse.order() * 2 >= coarsening.graph(level - 1).order());
+            Assert.assertEquals(weight - internal, coarse.getEdges().stream().mapToLong(edge -> edge.weight).sum());
+            weight -= internal;
+        }
+        Assert.assertTrue(coarsening.levels() > 2);
+        Assert.assertEquals(graph.numComponents(), ((UndirectedGraph) coarsening.coarsest()).numComponents());
+    }
+
+    @Test
+    public void testCuts() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            Assert.assertEquals(getProfile(name).directedCutEdges, graph.cutEdges());
+            Assert.assertEquals(getProfile(name).directedCutVertices, graph.cutVertices());
+        }, "testCuts");
+
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                for (int seed = 0; seed < 3; seed++) {
+                    Graph graph = new GraphBuilder().graphType(graphType).order(25).size(size).build();
+                    Cuts cuts = Cuts.of(graph);
+                    Cuts csrCuts = Cuts.of(CsrGraph.of(graph));
+                    int components = graph.numComponents();
+
+                    for (Edge edge : graph.getEdges()) {
+                        Graph clone = graph.clone();
+                        clone.removeEdge(edge);
+                        boolean expected = components < clone.numComponents();
+                        Assert.assertEquals(expected, cuts.isCutEdge(edge.v1, edge.v2));
+                        Assert.assertEquals(expected, csrCuts.isCutEdge(edge.v1, edge.v2));
+                    }
+
+                    for (int v = 0; v < graph.order(); v++) {
+                        Graph clone = graph.clone();
+                        clone.removeVertex(v);
+                        boolean expected = components < clone.numComponents();
+                        Assert.assertEquals(expected, cuts.isCutVertex(v));
+                        Assert.assertEquals(expected, csrCuts.isCutVertex(v));
+                    }
+                }
+            }
+        }
+
+        SimpleGraph cycle = new SimpleGraph(5);
+        for (int v = 0; v < 5; v++) {
+            cycle.addEdge(v, (v + 1) % 5);
+        }
+        Assert.assertEquals(5, cycle.cutEdges().size());
+        Assert.assertEquals(5, cycle.cutVertices().size());
+
+        cycle.addEdge(2, 0);
+        cycle.addEdge(0, 2);
+        Assert.assertFalse(cycle.isCutEdge(2, 0));
+        Assert.assertTrue(cycle.isCutEdge(2, 3));
+        Assert.assertTrue(cycle.isCutVertex(0));
+        Assert.assertFalse(cycle.isCutVertex(1));
+    }
+
     @Test
     public void testKirchhoff() {
-        test(name -> Assert.assertEquals(getProfile(name).numSpanningTrees, getUndirectedGraph(name).numSpanningTrees()),
+        test(name -> Assert.assertEquals(BigInteger.valueOf(getProfile(name).numSpanningTrees),
+                        getUndirectedGraph(name).numSpanningTrees()),
                 "testKirchhoff");
+
+        // Cayley's formula n^(n-2) for complete graphs, past both the long and the Bareiss range.
+        for (int order : new int[] {1, 2, 12, 40, 90}) {
+            Graph complete = new GraphBuilder().graphType(GraphType.UNDIRECTED).order(order)
+                    .size(GraphBuilder.Size.COMPLETE).build();
+            BigInteger expected = order == 1 ? BigInteger.ONE : BigInteger.valueOf(order).pow(order - 2);
+            Assert.assertEquals(expected, Connection.kirchhoff(complete));
+        }
+
+        // A cycle has one spanning tree per edge; K(m, n) has m^(n-1) n^(m-1).
+        UndirectedGraph cycle = new UndirectedGraph(200);
+        for (int v = 0; v < 200; v++) {
+            cycle.addEdge(v, (v + 1) % 200);
+        }
+        Assert.assertEquals(BigInteger.valueOf(200), cycle.numSpanningTrees());
+
+        UndirectedGraph bipartite = new UndirectedGraph(70);
+        for (int u = 0; u < 30; u++) {
+            for (int v = 30; v < 70; v++) {
+                bipartite.addEdge(u, v);
+            }
+        }
+        Assert.assertEquals(BigInteger.valueOf(30).pow(39).multiply(BigInteger.valueOf(40).pow(29)),
+                bipartite.numSpanningTrees());
+        Assert.assertEquals(BigInteger.ZERO, new UndirectedGraph(3).numSpanningTrees());
     }
 
     @Test
@@ -19,6 +270,45 @@ public class ConnectionTest extends UnitTestClass {
                 "testKosaraju");
     }
 
+    @Test
+    public void testTarjan() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            Components components = Connection.tarjan(graph);
+            Assert.assertEquals(graph.order() == 0 ? 0 : getProfile(name).numStrongComponents, components.count());
+            Assert.assertEquals(Connection.kosaraju(graph).size(), components.count());
+        }, "testTarjan");
+
+        for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+            Graph graph = new GraphBuilder().graphType(GraphType.SIMPLE).order(150).size(size).build();
+            Components components = Connection.tarjan(graph);
+            int[][] distances = new int[graph.order()][];
+            for (int v = 0; v < graph.order(); v++) {
+                distances[v] = Search.bfsDistances(graph, v);
+            }
+
+            for (int u = 0; u < graph.order(); u++) {
+                for (int v = 0; v < graph.order(); v++) {
+                    boolean strong = distances[u][v] != -1 && distances[v][u] != -1;
+                    Assert.assertEquals(strong, components.componentOf(u) == components.componentOf(v));
+                    if (graph.hasEdge(u, v)) {
+                        Assert.assertTrue(components.componentOf(u) >= components.componentOf(v));
+                    }
+                }
+            }
+        }
+
+        int order = 100000;
+        SimpleGraph cycle = new SimpleGraph(order);
+        for (int v = 0; v < order; v++) {
+            cycle.addEdge(v, (v + 1) % order);
+        }
+        Assert.assertEquals(1, Connection.tarjan(cycle).count());
+
+        cycle.removeEdge(order - 1, 0);
+        Assert.assertEquals(order, Connection.tarjan(cycle).count());
+    }
+
     @Test
     public void testKruskal() {
         test(name -> {
@@ -36,4 +326,49 @@ public class ConnectionTest extends UnitTestClass {
             }
         }, "testKruskal");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMinimumSpanningTree() {
+        test(name -> {
+            UndirectedGraph graph = getUndirectedGraph(name);
+            int expected = weight(MinimumSpanningTree.prim(graph));
+            Assert.assertEquals(expected, weight(MinimumSpanningTree.kruskal(graph)));
+            Assert.assertEquals(expected, weight(MinimumSpanningTree.boruvka(graph)));
+        }, "testMinimumSpanningTree");
+
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                for (int order : new int[] {1, 60, 1000}) {
+                    if (order == 1000 && (size == GraphBuilder.Size.DENSE || size == GraphBuilder.Size.COMPLETE)) {
+                        continue;
+                    }
+
+                    Graph graph = new GraphBuilder().graphType(graphType).order(order).size(size).weighted(true).build();
+                    UndirectedGraph kruskal = MinimumSpanningTree.kruskal(graph);
+                    UndirectedGraph prim = MinimumSpanningTree.prim(graph);
+                    UndirectedGraph boruvka = MinimumSpanningTree.boruvka(graph);
+                    UndirectedGraph compute = MinimumSpanningTree.compute(graph);
+
+                    int forestSize = graph.order() - Connection.tarjan(kruskal).count();
+                    for (UndirectedGraph forest : new UndirectedGraph[] {prim, boruvka, compute}) {
+                        Assert.assertEquals(weight(kruskal), weight(forest));
+                        Assert.assertEquals(forestSize, forest.size());
+                        Assert.assertFalse(forest.isCyclic());
+                    }
+                    if (!graph.isDirected()) {
+                        Assert.assertEquals(graph.numComponents(), Connection.tarjan(kruskal).count());
+                    }
+                }
+            }
+        }
+    }
+
+    private static int weight(Graph graph) {
+        int weight = 0;
+        for (Edge edge : graph.getEdges()) {
+            weight += edge.weight;
+        }
+
+        return weight / 2;
+    }
+}
@@ -1,14 +1,179 @@
 package test.java.distance;
 
+import main.java.distance.AllPairsShortestPaths;
+import main.java.distance.AltIndex;
+import main.java.distance.DeltaStepping;
 import main.java.distance.Distance;
+import main.java.distance.DistanceMatrix;
+import main.java.distance.Eccentricities;
+import main.java.distance.ShortestPathQuery;
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
 import main.java.graph.simple.SimpleGraph;
+import main.java.utils.structures.Edge;
 import org.junit.Assert;
 import org.junit.Test;
 import test.java.UnitTestClass;
 
-import java.util.Arrays;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
 
 public class DistanceTest extends UnitTestClass {
+    @Test
+    public void testAllPairsShortestPaths() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(150)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+                int[][] expected = floydWarshall(graph);
+
+                for (DistanceMatrix matrix : new DistanceMatrix[] {AllPairsShortestPaths.compute(graph),
+                        AllPairsShortestPaths.dijkstra(graph), AllPairsShortestPaths.floydWarshall(graph)}) {
+                    for (int v = 0; v < graph.order(); v++) {
+                        Assert.assertArrayEquals(expected[v], matrix.row(v));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAllPairsShortestPathsLimit() {
+        // 46341 squared is past Integer.MAX_VALUE.
+        Graph graph = GraphType.CSR.fromEdgeList(new Edge[0], 46341).orElseThrow();
+        Assert.assertThrows(IllegalArgumentException.class, () -> AllPairsShortestPaths.compute(graph));
+        Assert.assertThrows(IllegalArgumentException.class, () -> AllPairsShortestPaths.dijkstra(graph));
+        Assert.assertThrows(IllegalArgumentException.class, () -> AllPairsShortestPaths.floydWarshall(graph));
+    }
+
+    @Test
+    public void testDistanceMatrix() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            DistanceMatrix matrix = AllPairsShortestPaths.compute(graph);
+            Assert.assertEquals(getProfile(name).center, matrix.center());
+            Assert.assertArrayEquals(matrix.eccentricities(), AllPairsShortestPaths.eccentricities(graph));
+
+            int diameter = Distance.UNREACHABLE;
+            int radius = Integer.MAX_VALUE;
+            for (int eccentricity : matrix.eccentricities()) {
+                diameter = Math.max(diameter, eccentricity);
+                radius = eccentricity == Distance.UNREACHABLE ? radius : Math.min(radius, eccentricity);
+            }
+            Assert.assertEquals(diameter, matrix.diameter());
+            Assert.assertEquals(radius == Integer.MAX_VALUE ? Distance.UNREACHABLE : radius, matrix.radius());
+        }, "DistanceTest.testDistanceMatrix");
+    }
+
+    @Test
+    public void testAltIndex() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(30)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+                int[][] expected = floydWarshall(graph);
+
+                for (AltIndex.LandmarkSelection selection : AltIndex.LandmarkSelection.values()) {
+                    AltIndex index = AltIndex.build(graph, 4, selection, Long.MAX_VALUE);
+                    Assert.assertEquals(4, index.landmarks().length);
+
+                    for (int s = 0; s < graph.order(); s++) {
+                        for (int t = 0; t < graph.order(); t++) {
+                            Assert.assertEquals(expected[s][t], index.distance(s, t));
+                            assertPath(graph, s, t, expected[s][t], index.path(s, t));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAltIndexMemoryBudget() {
+        Graph graph = new GraphBuilder().graphType(GraphType.SIMPLE).order(50).size(GraphBuilder.Size.SPARSE).build();
+        // Each directed landmark stores two tables of 50 ints.
+        Assert.assertEquals(3, AltIndex.build(graph, 8, AltIndex.LandmarkSelection.FARTHEST, 3 * 400 + 399).landmarks().length);
+        Assert.assertEquals(0, AltIndex.build(graph, 8, AltIndex.LandmarkSelection.DEGREE, 0).distance(0, 0));
+    }
+
+    @Test
+    public void testAltIndexPersistence() throws IOException {
+        File file = File.createTempFile("alt_index", ".txt");
+        File altFile = new File(file.getPath() + ".alt");
+        file.deleteOnExit();
+        altFile.deleteOnExit();
+
+        Graph graph = new GraphBuilder().graphType(GraphType.SIMPLE).order(40).size(GraphBuilder.Size.MEDIUM).weighted(true).build();
+        Assert.assertTrue(AltIndex.read(graph, file.getPath()).isEmpty());
+
+        AltIndex built = AltIndex.load(graph, file.getPath(), 5, AltIndex.LandmarkSelection.FARTHEST, Long.MAX_VALUE);
+        Assert.assertTrue(altFile.exists());
+
+        AltIndex restored = AltIndex.read(graph, file.getPath()).orElseThrow();
+        Assert.assertArrayEquals(built.landmarks(), restored.landmarks());
+        int[][] expected = floydWarshall(graph);
+        for (int s = 0; s < graph.order(); s++) {
+            for (int t = 0; t < graph.order(); t++) {
+                Assert.assertEquals(expected[s][t], restored.distance(s, t));
+            }
+        }
+
+        // A landmark count whose tables could not be addressed is rejected before allocating them.
+        try (RandomAccessFile alt = new RandomAccessFile(altFile, "rw")) {
+            alt.seek(21);
+            alt.writeInt(Integer.MAX_VALUE);
+        }
+        Assert.assertTrue(AltIndex.read(graph, file.getPath()).isEmpty());
+
+        graph.addEdge(0, 1, 11);
+        Assert.assertTrue(AltIndex.read(graph, file.getPath()).isEmpty());
+    }
+
+    @Test
+    public void testDeltaStepping() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            if (graph.order() > 0) {
+                try (DeltaStepping deltaStepping = new DeltaStepping(graph)) {
+                    Assert.assertArrayEquals(getProfile(name).weightedDistance, deltaStepping.distances(0));
+                }
+            }
+        }, "DistanceTest.testDeltaStepping");
+    }
+
+    @Test
+    public void testDeltaSteppingOnRandomGraphs() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(300)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+
+                for (int delta : new int[] {1, 3, 10, 100}) {
+                    try (DeltaStepping deltaStepping = new DeltaStepping(graph, delta, 4)) {
+                        for (int v = 0; v < graph.order(); v += 37) {
+                            Assert.assertArrayEquals(Distance.distances(graph, v), deltaStepping.distances(v));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Test
     public void testDijkstra() {
         test(name -> {
@@ -23,4 +188,156 @@ public class DistanceTest extends UnitTestClass {
             }
         }, "DistanceTest.testDijkstra");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDistances() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            if (graph.order() > 0) {
+                Assert.assertArrayEquals(getProfile(name).weightedDistance, Distance.distances(graph, 0));
+            }
+        }, "DistanceTest.testDistances");
+    }
+
+    @Test
+    public void testDistancesOnRandomGraphs() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(40)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+                int[][] expected = floydWarshall(graph);
+
+                for (int v = 0; v < graph.order(); v++) {
+                    Assert.assertArrayEquals(expected[v], Distance.distances(graph, v));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShortestPathQuery() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(30)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+                int[][] expected = floydWarshall(graph);
+                ShortestPathQuery query = new ShortestPathQuery(graph);
+
+                for (int s = 0; s < graph.order(); s++) {
+                    for (int t = 0; t < graph.order(); t++) {
+                        Assert.assertEquals(expected[s][t], query.distance(s, t));
+                        Assert.assertEquals(expected[s][t], query.bidirectionalDistance(s, t));
+                        assertPath(graph, s, t, expected[s][t], query.path(s, t));
+                        assertPath(graph, s, t, expected[s][t], query.bidirectionalPath(s, t));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShortestPath() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            for (int v = 0; v < graph.order(); v++) {
+                int expected = getProfile(name).weightedDistance[v];
+                Assert.assertEquals(expected, graph.distance(0, v));
+                assertPath(graph, 0, v, expected, graph.shortestPath(0, v));
+            }
+        }, "DistanceTest.testShortestPath");
+    }
+
+    private static void assertPath(Graph graph, int s, int t, int distance, ArrayList<Integer> path) {
+        if (distance == Distance.UNREACHABLE) {
+            Assert.assertNull(path);
+            return;
+        }
+
+        Assert.assertNotNull(path);
+        Assert.assertEquals(s, path.get(0).intValue());
+        Assert.assertEquals(t, path.get(path.size() - 1).intValue());
+
+        int length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Assert.assertTrue(graph.hasEdge(path.get(i - 1), path.get(i)));
+            length += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        }
+        Assert.assertEquals(distance, length);
+    }
+
+    @Test
+    public void testEccentricities() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(60)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+                DistanceMatrix matrix = AllPairsShortestPaths.dijkstra(graph);
+
+                Assert.assertEquals(matrix.center(), new Eccentricities(graph).center());
+                Assert.assertEquals(matrix.radius(), new Eccentricities(graph).radius());
+                Assert.assertEquals(matrix.diameter(), new Eccentricities(graph).diameter());
+                Assert.assertArrayEquals(matrix.eccentricities(), new Eccentricities(graph).eccentricities());
+
+                Eccentricities eccentricities = new Eccentricities(graph);
+                Assert.assertEquals(matrix.diameter(), eccentricities.diameter());
+                Assert.assertEquals(matrix.center(), eccentricities.center());
+                Assert.assertArrayEquals(matrix.eccentricities(), eccentricities.eccentricities());
+            }
+        }
+    }
+
+    @Test
+    public void testEccentricitiesPruning() {
+        Graph graph = GraphType.UNDIRECTED.newInstance(1000);
+        for (int v = 1; v < graph.order(); v++) {
+            graph.addEdge(v - 1, v, 1 + v % 3);
+        }
+
+        Eccentricities eccentricities = new Eccentricities(graph);
+        Assert.assertEquals(AllPairsShortestPaths.compute(graph).center(), eccentricities.center());
+        Assert.assertTrue(eccentricities.traversals() < 10);
+    }
+
+    static int[][] floydWarshall(Graph graph) {
+        int order = graph.order();
+        int[][] distances = new int[order][order];
+
+        for (int i = 0; i < order; i++) {
+            for (int j = 0; j < order; j++) {
+                distances[i][j] = i == j ? 0 : graph.hasEdge(i, j) ? graph.getEdgeWeight(i, j) : Integer.MAX_VALUE;
+            }
+        }
+
+        for (int k = 0; k < order; k++) {
+            for (int i = 0; i < order; i++) {
+                for (int j = 0; j < order; j++) {
+                    if (distances[i][k] != Integer.MAX_VALUE && distances[k][j] != Integer.MAX_VALUE) {
+                        distances[i][j] = Math.min(distances[i][j], distances[i][k] + distances[k][j]);
+                    }
+                }
+            }
+        }
+
+        for (int[] row : distances) {
+            for (int j = 0; j < order; j++) {
+                if (row[j] == Integer.MAX_VALUE) {
+                    row[j] = Distance.UNREACHABLE;
+                }
+            }
+        }
+
+        return distances;
+    }
+}
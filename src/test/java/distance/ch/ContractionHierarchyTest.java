@@ -0,0 +1,123 @@
+package test.java.distance.ch;
+
+import main.java.distance.Distance;
+import main.java.distance.ch.ContractionHierarchy;
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
+import main.java.graph.simple.SimpleGraph;
+import org.junit.Assert;
+import org.junit.Test;
+import test.java.UnitTestClass;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+public class ContractionHierarchyTest extends UnitTestClass {
+    @Test
+    public void testDistance() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            ContractionHierarchy ch = ContractionHierarchy.build(graph);
+            for (int v = 0; v < graph.order(); v++) {
+                Assert.assertEquals(getProfile(name).weightedDistance[v], ch.distance(0, v));
+            }
+        }, "ContractionHierarchyTest.testDistance");
+    }
+
+    @Test
+    public void testDistancesOnRandomGraphs() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(40)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+
+                for (int witnessLimit : new int[] {1, ContractionHierarchy.DEFAULT_WITNESS_LIMIT}) {
+                    ContractionHierarchy ch = ContractionHierarchy.build(graph, witnessLimit);
+                    for (int s = 0; s < graph.order(); s++) {
+                        int[] expected = Distance.distances(graph, s);
+                        for (int t = 0; t < graph.order(); t++) {
+                            Assert.assertEquals(expected[t], ch.distance(s, t));
+                            assertPath(graph, s, t, expected[t], ch.path(s, t));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        File file = File.createTempFile("contraction_hierarchy", ".ch");
+        file.deleteOnExit();
+
+        Graph graph = new GraphBuilder().graphType(GraphType.UNDIRECTED).order(50).size(GraphBuilder.Size.SPARSE).weighted(true).build();
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        ch.write(file.getPath());
+
+        ContractionHierarchy restored = ContractionHierarchy.read(file.getPath()).orElseThrow();
+        Assert.assertEquals(ch.order(), restored.order());
+        Assert.assertEquals(ch.size(), restored.size());
+        for (int s = 0; s < graph.order(); s++) {
+            for (int t = 0; t < graph.order(); t++) {
+                Assert.assertEquals(ch.distance(s, t), restored.distance(s, t));
+                Assert.assertEquals(ch.path(s, t), restored.path(s, t));
+            }
+        }
+
+        // Corrupt lengths are rejected before anything is allocated from them.
+        int order = graph.order();
+        long upOffsets = 8 + 4L * order;
+        Assert.assertTrue(ContractionHierarchy.read(corruptCopy(file, 4, -1)).isEmpty());
+        Assert.assertTrue(ContractionHierarchy.read(corruptCopy(file, 4, Integer.MAX_VALUE)).isEmpty());
+        Assert.assertTrue(ContractionHierarchy.read(corruptCopy(file, upOffsets, 1)).isEmpty());
+        Assert.assertTrue(ContractionHierarchy.read(corruptCopy(file, upOffsets + 4, -1)).isEmpty());
+        Assert.assertTrue(ContractionHierarchy.read(corruptCopy(file, upOffsets + 4L * order, Integer.MAX_VALUE)).isEmpty());
+
+        String truncated = corruptCopy(file, 4, order);
+        try (RandomAccessFile out = new RandomAccessFile(truncated, "rw")) {
+            out.setLength(out.length() - 4);
+        }
+        Assert.assertTrue(ContractionHierarchy.read(truncated).isEmpty());
+    }
+
+    /**
+     * Copies a hierarchy file to a new temporary file with one int overwritten.
+     */
+    private static String corruptCopy(File file, long position, int value) throws IOException {
+        File copy = File.createTempFile("contraction_hierarchy", ".ch");
+        copy.deleteOnExit();
+        Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        try (RandomAccessFile out = new RandomAccessFile(copy, "rw")) {
+            out.seek(position);
+            out.writeInt(value);
+        }
+
+        return copy.getPath();
+    }
+
+    private static void assertPath(Graph graph, int s, int t, int distance, ArrayList<Integer> path) {
+        if (distance == Distance.UNREACHABLE) {
+            Assert.assertNull(path);
+            return;
+        }
+
+        Assert.assertEquals(s, path.get(0).intValue());
+        Assert.assertEquals(t, path.get(path.size() - 1).intValue());
+
+        int length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Assert.assertTrue(graph.hasEdge(path.get(i - 1), path.get(i)));
+            length += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        }
+        Assert.assertEquals(distance, length);
+    }
+}
@@ -0,0 +1,44 @@
+package test.java.graph;
+
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
+import main.java.utils.structures.Edge;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphBuilderTest {
+    @Test
+    public void testBuild() {
+        GraphType[] graphTypes = new GraphType[] {
+                GraphType.SIMPLE,
+                GraphType.UNDIRECTED,
+                GraphType.CSR,
+                GraphType.UNDIRECTED_CSR
+        };
+
+        for (GraphType graphType : graphTypes) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder()
+                        .graphType(graphType)
+                        .order(20)
+                        .size(size)
+                        .weighted(true)
+                        .build();
+
+                Assert.assertEquals(graphType, graph.getType());
+                Assert.assertEquals(20, graph.order());
+                for (Edge edge : graph.getEdges()) {
+                    Assert.assertNotEquals(edge.v1, edge.v2);
+                    Assert.assertTrue(edge.weight >= 1 && edge.weight <= 10);
+                    if (!graph.isDirected()) {
+                        Assert.assertEquals(edge.weight, graph.getEdgeWeight(edge.v2, edge.v1));
+                    }
+                }
+            }
+
+            Graph complete = new GraphBuilder().graphType(graphType).order(10).size(GraphBuilder.Size.COMPLETE).build();
+            Assert.assertEquals(complete.isDirected() ? 90 : 45, complete.size());
+        }
+    }
+}
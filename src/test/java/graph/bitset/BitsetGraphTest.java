@@ -0,0 +1,184 @@
+package test.java.graph.bitset;
+
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
+import main.java.graph.NeighborCursor;
+import main.java.graph.bitset.BitsetGraph;
+import main.java.graph.simple.SimpleGraph;
+import main.java.utils.structures.Edge;
+import org.junit.Assert;
+import org.junit.Test;
+import test.java.UnitTestClass;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+public class BitsetGraphTest extends UnitTestClass {
+    @Test
+    public void testAdjacencyMatrix() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            BitsetGraph bitset = BitsetGraph.fromAdjacencyMatrix(graph.getAdjacencyMatrix());
+
+            Assert.assertArrayEquals(graph.getAdjacencyMatrix(), bitset.getAdjacencyMatrix());
+            Assert.assertEquals(graph.getEdges(), bitset.getEdges());
+            Assert.assertEquals(graph.size(), bitset.size());
+            Assert.assertEquals(graph.isComplete(), bitset.isComplete());
+            Assert.assertEquals(graph, bitset.toSimpleGraph());
+            for (int v = 0; v < graph.order(); v++) {
+                Assert.assertEquals(graph.neighborsOf(v), bitset.neighborsOf(v));
+                Assert.assertEquals(getProfile(name).degrees[v], bitset.degreeOf(v));
+            }
+        }, "testAdjacencyMatrix");
+    }
+
+    @Test
+    public void testNeighborCursor() {
+        test(name -> {
+            BitsetGraph bitset = BitsetGraph.fromAdjacencyMatrix(getSimpleGraph(name).getAdjacencyMatrix());
+            NeighborCursor cursor = bitset.neighborCursor(0);
+
+            for (int v = 0; v < bitset.order(); v++) {
+                HashSet<Integer> neighbors = new HashSet<>();
+                cursor.reset(v);
+                while (cursor.next()) {
+                    neighbors.add(cursor.target());
+                    Assert.assertEquals(bitset.getEdgeWeight(v, cursor.target()), cursor.weight());
+                }
+                Assert.assertFalse(cursor.next());
+                Assert.assertEquals(bitset.neighborsOf(v), neighbors);
+                Assert.assertEquals(bitset.degreeOf(v), bitset.neighborsArray(v).length);
+            }
+        }, "testNeighborCursor");
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(23);
+        for (int order : new int[] {0, 1, 63, 64, 65, 130}) {
+            SimpleGraph graph1 = randomGraph(random, order, 0.6);
+            SimpleGraph graph2 = randomGraph(random, order + random.nextInt(3), 0.3);
+            BitsetGraph bitset1 = BitsetGraph.fromAdjacencyMatrix(graph1.getAdjacencyMatrix());
+            BitsetGraph bitset2 = BitsetGraph.fromAdjacencyMatrix(graph2.getAdjacencyMatrix());
+
+            Assert.assertEquals(graph1.complement().getEdges(), bitset1.complement().getEdges());
+            Assert.assertEquals(graph1.complement().size(), bitset1.complement().size());
+            Assert.assertEquals(graph1.transpose().getEdges(), bitset1.transpose().getEdges());
+            Assert.assertEquals(graph1.intersect(graph2).getEdges(), bitset1.intersect(bitset2).getEdges());
+            Assert.assertEquals(graph1.intersect(graph2).getEdges(), bitset1.intersect(graph2).getEdges());
+            Assert.assertEquals(graph1.intersect(graph2).size(), bitset1.intersect(bitset2).size());
+            Assert.assertEquals(graph1.union(graph2).getEdges(), bitset1.union(bitset2).getEdges());
+            Assert.assertEquals(graph1.union(graph2).order(), bitset1.union(bitset2).order());
+            Assert.assertEquals(graph1.isEdgeDisjoint(graph2), bitset1.isEdgeDisjoint(bitset2));
+            Assert.assertTrue(bitset1.isEdgeDisjoint(bitset1.complement()));
+            Assert.assertTrue(bitset1.intersect(bitset2).isSubgraphOf(bitset1));
+            Assert.assertTrue(bitset1.intersect(bitset2).isSubgraphOf(graph2));
+            Assert.assertEquals(graph1.isSubgraphOf(graph2), bitset1.isSubgraphOf(bitset2));
+            Assert.assertTrue(bitset1.union(bitset1.complement()).isComplete());
+        }
+    }
+
+    @Test
+    public void testMutationsAgainstSimpleGraph() {
+        Random random = new Random(31);
+        SimpleGraph graph = new SimpleGraph(60);
+        BitsetGraph bitset = new BitsetGraph(60);
+
+        for (int step = 0; step < 4000; step++) {
+            int order = graph.order();
+            int operation = random.nextInt(order < 20 ? 4 : 8);
+            if (operation <= 2 && order > 1) {
+                int v1 = random.nextInt(order);
+                int v2 = random.nextInt(order);
+                int weight = 1 + random.nextInt(2) * random.nextInt(5);
+                graph.addEdge(v1, v2, weight);
+                bitset.addEdge(v1, v2, weight);
+            } else if (operation == 3) {
+                int v = random.nextInt(order + 1);
+                graph.addVertex(v);
+                bitset.addVertex(v);
+            } else if (operation == 4 && order > 0) {
+                int v1 = random.nextInt(order);
+                int v2 = random.nextInt(order);
+                graph.removeEdge(v1, v2);
+                bitset.removeEdge(v1, v2);
+            } else if (operation == 5 && order > 0) {
+                int v1 = random.nextInt(order);
+                int v2 = random.nextInt(order);
+                graph.swap(v1, v2);
+                bitset.swap(v1, v2);
+            } else if (operation == 6 && order > 1) {
+                int v1 = random.nextInt(order);
+                int v2 = random.nextInt(order);
+                graph.contract(v1, v2);
+                bitset.contract(v1, v2);
+            } else if (order > 0) {
+                int v = random.nextInt(order);
+                graph.removeVertex(v);
+                bitset.removeVertex(v);
+            }
+
+            Assert.assertEquals(graph.order(), bitset.order());
+            Assert.assertEquals(graph.size(), bitset.size());
+            if (step % 20 == 0) {
+                Assert.assertArrayEquals(graph.getAdjacencyMatrix(), bitset.getAdjacencyMatrix());
+                Assert.assertEquals(bitset, bitset.clone());
+            }
+        }
+        Assert.assertArrayEquals(graph.getAdjacencyMatrix(), bitset.getAdjacencyMatrix());
+    }
+
+    @Test
+    public void testTypeSelection() {
+        Graph dense = new GraphBuilder().graphType(GraphType.SIMPLE).order(100).size(GraphBuilder.Size.COMPLETE).build();
+        Graph sparse = new GraphBuilder().graphType(GraphType.SIMPLE).order(100).size(GraphBuilder.Size.SPARSE).build();
+        Graph small = getSimpleGraph(COMPLETE);
+
+        Assert.assertTrue(BitsetGraph.isDense(dense.getAdjacencyMatrix()));
+        Assert.assertFalse(BitsetGraph.isDense(sparse.getAdjacencyMatrix()));
+        Assert.assertFalse(BitsetGraph.isDense(small.getAdjacencyMatrix()));
+
+        // The bitset form is only ever chosen explicitly.
+        Assert.assertEquals(GraphType.SIMPLE,
+                GraphType.SIMPLE.fromAdjacencyMatrix(dense.getAdjacencyMatrix()).orElseThrow().getType());
+        Assert.assertEquals(GraphType.DENSE_BITSET,
+                GraphType.DENSE_BITSET.fromAdjacencyMatrix(dense.getAdjacencyMatrix()).orElseThrow().getType());
+        Assert.assertEquals(GraphType.DENSE_BITSET, GraphType.fromString("dense_bitset"));
+        Assert.assertEquals(dense.getEdges(),
+                GraphType.DENSE_BITSET.fromAdjacencyMatrix(dense.getAdjacencyMatrix()).orElseThrow().getEdges());
+
+        // GRAPH picks the representation from the data, whichever form it arrives in.
+        for (Graph graph : new Graph[] {dense, sparse, small}) {
+            GraphType expected = BitsetGraph.isDense(graph.getAdjacencyMatrix()) ? GraphType.DENSE_BITSET : GraphType.SIMPLE;
+            HashMap<Integer, HashSet<Integer>> adjacencyList = new HashMap<>();
+            for (int v = 0; v < graph.order(); v++) {
+                adjacencyList.put(v, graph.neighborsOf(v));
+            }
+
+            Graph fromMatrix = GraphType.GRAPH.fromAdjacencyMatrix(graph.getAdjacencyMatrix()).orElseThrow();
+            Graph fromList = GraphType.GRAPH.fromAdjacencyList(adjacencyList, graph.order()).orElseThrow();
+            Graph fromEdges = GraphType.GRAPH.fromEdgeList(graph.getEdges().toArray(new Edge[0]), graph.order()).orElseThrow();
+            for (Graph read : new Graph[] {fromMatrix, fromList, fromEdges}) {
+                Assert.assertEquals(expected, read.getType());
+                Assert.assertEquals(graph.getEdges(), read.getEdges());
+            }
+        }
+        Assert.assertEquals(GraphType.DENSE_BITSET,
+                new GraphBuilder().graphType(GraphType.GRAPH).order(100).size(GraphBuilder.Size.COMPLETE).build().getType());
+    }
+
+    private SimpleGraph randomGraph(Random random, int order, double density) {
+        SimpleGraph graph = new SimpleGraph(order);
+        for (int v1 = 0; v1 < order; v1++) {
+            for (int v2 = 0; v2 < order; v2++) {
+                if (v1 != v2 && random.nextDouble() < density) {
+                    graph.addEdge(v1, v2, 1 + random.nextInt(3));
+                }
+            }
+        }
+
+        return graph;
+    }
+}
@@ -0,0 +1,157 @@
+package test.java.graph.csr;
+
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.GraphType;
+import main.java.graph.NeighborCursor;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.simple.SimpleGraph;
+import main.java.search.Search;
+import main.java.utils.io.FileType;
+import org.junit.Assert;
+import org.junit.Test;
+import test.java.UnitTestClass;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Optional;
+
+public class CsrGraphTest extends UnitTestClass {
+    private static final String TEST_LOCATION = "src/data/graphs/test_csr_graph.txt";
+
+    @Test
+    public void testAdjacencyMatrix() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            CsrGraph csr = CsrGraph.of(graph);
+
+            Assert.assertArrayEquals(graph.getAdjacencyMatrix(), csr.getAdjacencyMatrix());
+            Assert.assertEquals(graph.getEdges(), csr.getEdges());
+            for (int v = 0; v < graph.order(); v++) {
+                Assert.assertEquals(graph.neighborsOf(v), csr.neighborsOf(v));
+            }
+        }, "testAdjacencyMatrix");
+    }
+
+    @Test
+    public void testCenter() {
+        test(name -> Assert.assertEquals(getProfile(name).center, CsrGraph.of(getSimpleGraph(name)).center()),
+                "testCenter");
+    }
+
+    @Test
+    public void testDegreeOf() {
+        test(name -> {
+            CsrGraph csr = CsrGraph.of(getSimpleGraph(name));
+            for (int v = 0; v < csr.order(); v++) {
+                Assert.assertEquals(getProfile(name).degrees[v], csr.degreeOf(v));
+            }
+            Assert.assertEquals(getProfile(name).maxDegree, csr.maxDegree());
+            Assert.assertEquals(getProfile(name).minDegree, csr.minDegree());
+        }, "testDegreeOf");
+    }
+
+    @Test
+    public void testDijkstra() {
+        test(name -> {
+            CsrGraph csr = CsrGraph.of(getSimpleGraph(name));
+            for (int v = 0; v < csr.order(); v++) {
+                int expected = getProfile(name).weightedDistance[v];
+                Integer distance = Distance.dijkstra(csr, 0, v);
+                Assert.assertEquals(expected, distance == null ? -1 : distance.intValue());
+            }
+        }, "testDijkstra");
+    }
+
+    @Test
+    public void testDfs() {
+        test(name -> {
+            ArrayList<Integer> dfsPath = Search.dfs(CsrGraph.of(getSimpleGraph(name)), 0);
+            for (int i = 0; i < dfsPath.size(); i++) {
+                Assert.assertEquals(getProfile(name).dfsPath[i], dfsPath.get(i).intValue());
+            }
+        }, "testDfs");
+    }
+
+    @Test
+    public void testEulerTour() {
+        test(name -> Assert.assertEquals(getSimpleGraph(name).getEulerTour(),
+                CsrGraph.of(getSimpleGraph(name)).getEulerTour()), "testEulerTour");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        CsrGraph.of(getSimpleGraph(SIMPLE)).addEdge(0, 3);
+    }
+
+    @Test
+    public void testIsCyclic() {
+        test(name -> {
+            Assert.assertEquals(getProfile(name).directedCyclic, CsrGraph.of(getSimpleGraph(name)).isCyclic());
+            Assert.assertEquals(getProfile(name).undirectedCyclic, CsrGraph.of(getUndirectedGraph(name)).isCyclic());
+        }, "testIsCyclic");
+    }
+
+    @Test
+    public void testNeighborCursor() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            CsrGraph csr = CsrGraph.of(graph);
+            NeighborCursor cursor = csr.neighborCursor(0);
+
+            for (int v = 0; v < csr.order(); v++) {
+                int[] neighbors = csr.neighborsArray(v);
+                int i = 0;
+
+                cursor.reset(v);
+                while (cursor.next()) {
+                    Assert.assertEquals(neighbors[i++], cursor.target());
+                    Assert.assertEquals(graph.getEdgeWeight(v, cursor.target()), cursor.weight());
+                }
+                Assert.assertEquals(graph.degreeOf(v), i);
+            }
+        }, "testNeighborCursor");
+    }
+
+    @Test
+    public void testNumComponents() {
+        test(name -> {
+            Assert.assertEquals(getProfile(name).numStrongComponents,
+                    CsrGraph.of(getSimpleGraph(name)).numComponents());
+            Assert.assertEquals(getProfile(name).numWeakComponents,
+                    CsrGraph.of(getUndirectedGraph(name)).numComponents());
+        }, "testNumComponents");
+    }
+
+    @Test
+    public void testReadAndWrite() {
+        for (FileType fileType : new FileType[] {FileType.ADJACENCY_MATRIX, FileType.EDGE_LIST}) {
+            CsrGraph graph = CsrGraph.of(getSimpleGraph(LARGE));
+            graph.write(fileType, TEST_LOCATION);
+            Optional<Graph> newGraph = Graph.read(TEST_LOCATION);
+            Assert.assertTrue(new File(TEST_LOCATION).delete());
+
+            Assert.assertTrue(newGraph.isPresent());
+            Assert.assertEquals(GraphType.CSR, newGraph.get().getType());
+            Assert.assertEquals(graph, newGraph.get());
+        }
+    }
+
+    @Test
+    public void testSize() {
+        test(name -> {
+            Assert.assertEquals(getProfile(name).order, CsrGraph.of(getSimpleGraph(name)).order());
+            Assert.assertEquals(getProfile(name).size, CsrGraph.of(getSimpleGraph(name)).size());
+            Assert.assertEquals(getUndirectedGraph(name).size(), CsrGraph.of(getUndirectedGraph(name)).size());
+        }, "testSize");
+    }
+
+    @Test
+    public void testTranspose() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            Assert.assertArrayEquals(graph.transpose().getAdjacencyMatrix(),
+                    CsrGraph.of(graph).transpose().getAdjacencyMatrix());
+        }, "testTranspose");
+    }
+}
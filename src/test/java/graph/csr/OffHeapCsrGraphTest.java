@@ -0,0 +1,90 @@
+package test.java.graph.csr;
+
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.csr.OffHeapCsrGraph;
+import main.java.graph.simple.SimpleGraph;
+import main.java.graph.simple.UndirectedGraph;
+import main.java.search.Search;
+import main.java.utils.structures.Edge;
+import org.junit.Assert;
+import org.junit.Test;
+import test.java.UnitTestClass;
+
+import java.util.SplittableRandom;
+
+public class OffHeapCsrGraphTest extends UnitTestClass {
+    @Test
+    public void testAgainstCsrGraph() {
+        test(name -> {
+            for (Graph graph : new Graph[] {getSimpleGraph(name), getUndirectedGraph(name)}) {
+                CsrGraph csr = CsrGraph.of(graph);
+                try (OffHeapCsrGraph offHeap = OffHeapCsrGraph.of(graph)) {
+                    Assert.assertEquals(csr.isDirected(), offHeap.isDirected());
+                    Assert.assertEquals(csr.size(), offHeap.size());
+                    Assert.assertArrayEquals(csr.getAdjacencyMatrix(), offHeap.getAdjacencyMatrix());
+                    Assert.assertEquals(csr.getEdges(), offHeap.getEdges());
+                    Assert.assertEquals(csr, offHeap.toCsrGraph());
+                    Assert.assertEquals(csr.numComponents(), offHeap.numComponents());
+                    Assert.assertEquals(csr.isCyclic(), offHeap.isCyclic());
+                    Assert.assertEquals(csr.isEulerian(), offHeap.isEulerian());
+                    Assert.assertEquals(csr.cutVertices(), offHeap.cutVertices());
+                    Assert.assertArrayEquals(Distance.distances(csr, 0), Distance.distances(offHeap, 0));
+                    Assert.assertArrayEquals(Search.bfsDistances(csr, 0), Search.bfsDistances(offHeap, 0));
+                    Assert.assertEquals(Search.dfs(csr, 0), Search.dfs(offHeap, 0));
+                    for (int v = 0; v < csr.order(); v++) {
+                        Assert.assertArrayEquals(csr.neighborsArray(v), offHeap.neighborsArray(v));
+                        Assert.assertEquals(csr.degreeOf(v), offHeap.degreeOf(v));
+                    }
+                }
+            }
+        }, "testAgainstCsrGraph");
+    }
+
+    @Test
+    public void testFromEdges() {
+        SplittableRandom random = new SplittableRandom(24);
+        for (boolean directed : new boolean[] {true, false}) {
+            Edge[] edges = new Edge[20_000];
+            for (int i = 0; i < edges.length; i++) {
+                edges[i] = new Edge(random.nextInt(-1, 501), random.nextInt(-1, 501), random.nextInt(0, 10));
+            }
+
+            CsrGraph expected = CsrGraph.fromEdgeList(edges, 500, directed);
+            try (OffHeapCsrGraph offHeap = OffHeapCsrGraph.fromEdges(500, directed, action -> {
+                for (Edge edge : edges) {
+                    action.accept(edge.v1, edge.v2, edge.weight);
+                }
+            })) {
+                Assert.assertEquals(expected, offHeap.toCsrGraph());
+                Assert.assertEquals(expected.size(), offHeap.size());
+                Assert.assertEquals(offHeap, OffHeapCsrGraph.of(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testLifetime() {
+        SimpleGraph graph = getSimpleGraph(SIMPLE);
+        OffHeapCsrGraph offHeap = OffHeapCsrGraph.of(graph);
+        Assert.assertFalse(offHeap.isClosed());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> offHeap.addEdge(0, 1));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> offHeap.removeVertex(0));
+
+        offHeap.close();
+        offHeap.close();
+        Assert.assertTrue(offHeap.isClosed());
+        Assert.assertEquals(graph.order(), offHeap.order());
+        Assert.assertThrows(IllegalStateException.class, () -> offHeap.hasEdge(0, 1));
+        Assert.assertThrows(IllegalStateException.class, () -> offHeap.neighborCursor(0));
+        Assert.assertThrows(IllegalStateException.class, offHeap::size);
+        Assert.assertThrows(IllegalStateException.class, () -> Distance.distances(offHeap, 0));
+
+        UndirectedGraph empty = getUndirectedGraph(ZERO);
+        try (OffHeapCsrGraph offHeapEmpty = OffHeapCsrGraph.of(empty)) {
+            Assert.assertEquals(0, offHeapEmpty.order());
+            Assert.assertTrue(offHeapEmpty.isEmpty());
+        }
+    }
+}
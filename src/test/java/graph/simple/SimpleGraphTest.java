@@ -2,12 +2,15 @@ package test.java.graph.simple;
 
 import main.java.utils.structures.Edge;
 import main.java.graph.Graph;
+import main.java.graph.NeighborCursor;
 import main.java.graph.simple.SimpleGraph;
 import org.junit.Assert;
 import org.junit.Test;
 import test.java.UnitTestClass;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Random;
 
 public class SimpleGraphTest extends UnitTestClass {
     @Test
@@ -85,6 +88,53 @@ public class SimpleGraphTest extends UnitTestClass {
         SimpleGraph singleEdgeGraph = getSimpleGraph(SINGLE_EDGE).clone();
         singleEdgeGraph.contract(0, 1);
         Assert.assertTrue(singleEdgeGraph.isEmpty());
+
+        // Vertex 1 carries more edges than vertex 4, so the two swap IDs before merging.
+        SimpleGraph star = new SimpleGraph(5);
+        star.addEdge(1, 0, 2);
+        star.addEdge(1, 2, 3);
+        star.addEdge(3, 1, 4);
+        star.addEdge(4, 0, 5);
+        star.addEdge(2, 4, 6);
+        star.addEdge(4, 1, 7);
+        star.contract(1, 4);
+        Assert.assertEquals(4, star.order());
+        Assert.assertEquals(7, star.getEdgeWeight(3, 0));
+        Assert.assertEquals(3, star.getEdgeWeight(3, 1));
+        Assert.assertEquals(6, star.getEdgeWeight(1, 3));
+        Assert.assertEquals(4, star.getEdgeWeight(2, 3));
+        Assert.assertEquals(4, star.size());
+    }
+
+    @Test
+    public void testContractAll() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            int[] identity = new int[graph.order()];
+            for (int v = 0; v < graph.order(); v++) {
+                identity[v] = v;
+            }
+            Assert.assertEquals(graph, graph.contractAll(identity));
+            Assert.assertEquals(graph.getType(), graph.contractAll(identity).getType());
+
+            if (graph.order() < 2) {
+                return;
+            }
+
+            // Merging the first two vertices is one contraction into the second.
+            int[] mapping = new int[graph.order()];
+            for (int v = 1; v < graph.order(); v++) {
+                mapping[v] = v - 1;
+            }
+            SimpleGraph contracted = graph.clone();
+            contracted.contract(0, 1);
+            Assert.assertEquals(contracted, graph.contractAll(mapping));
+        }, "SimpleGraphTest.testContractAll");
+
+        SimpleGraph graph = getSimpleGraph(SIMPLE);
+        Assert.assertThrows(IllegalArgumentException.class, () -> graph.contractAll(new int[graph.order() + 1]));
+        Assert.assertEquals(1, graph.contractAll(new int[graph.order()]).order());
+        Assert.assertTrue(graph.contractAll(new int[graph.order()]).isEmpty());
     }
 
     @Test
@@ -205,8 +255,29 @@ public class SimpleGraphTest extends UnitTestClass {
 
     @Test
     public void testIsEulerian() {
-        test(name -> Assert.assertEquals(getProfile(name).eulerian, getSimpleGraph(name).isEulerian()),
+        // The profiles describe the undirected graphs; a directed graph must balance in and out.
+        test(name -> Assert.assertEquals(getProfile(name).eulerian, getUndirectedGraph(name).isEulerian()),
                 "SimpleGraphTest.testIsEulerian");
+
+        SimpleGraph cycle = new SimpleGraph(4);
+        cycle.addEdge(0, 1);
+        cycle.addEdge(1, 2);
+        cycle.addEdge(2, 0);
+        Assert.assertTrue(cycle.isEulerian());
+        cycle.addEdge(0, 3);
+        Assert.assertFalse(cycle.isEulerian());
+        cycle.addEdge(3, 0);
+        Assert.assertTrue(cycle.isEulerian());
+        Assert.assertTrue(getSimpleGraph(COMPLETE).isEulerian());
+
+        // Two balanced cycles that share no vertex have no single tour.
+        SimpleGraph disjoint = new SimpleGraph(4);
+        disjoint.addEdge(0, 1);
+        disjoint.addEdge(1, 0);
+        disjoint.addEdge(2, 3);
+        disjoint.addEdge(3, 2);
+        Assert.assertFalse(disjoint.isEulerian());
+        Assert.assertNull(disjoint.getEulerTour());
     }
 
     @Test
@@ -229,6 +300,50 @@ public class SimpleGraphTest extends UnitTestClass {
                 "SimpleGraphTest.testMinDegree");
     }
 
+    @Test
+    public void testNeighborCursor() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            NeighborCursor cursor = graph.neighborCursor(0);
+
+            for (int v = 0; v < graph.order(); v++) {
+                HashSet<Integer> neighbors = new HashSet<>();
+                cursor.reset(v);
+                while (cursor.next()) {
+                    neighbors.add(cursor.target());
+                    Assert.assertEquals(graph.getEdgeWeight(v, cursor.target()), cursor.weight());
+                }
+
+                HashSet<Integer> forEach = new HashSet<>();
+                graph.forEachNeighbor(v, forEach::add);
+
+                Assert.assertEquals(graph.neighborsOf(v), neighbors);
+                Assert.assertEquals(graph.neighborsOf(v), forEach);
+                Assert.assertEquals(graph.degreeOf(v), graph.neighborsArray(v).length);
+            }
+        }, "SimpleGraphTest.testNeighborCursor");
+    }
+
+    @Test
+    public void testNeighborsOf() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name).clone();
+            if (graph.order() < 2) {
+                return;
+            }
+
+            // The result is a copy both before and after a removal breaks the identity mapping.
+            for (int round = 0; round < 2; round++) {
+                int degree = graph.degreeOf(0);
+                graph.neighborsOf(0).clear();
+                graph.neighborsOf(0).add(graph.order() - 1);
+                Assert.assertEquals(degree, graph.degreeOf(0));
+
+                graph.removeVertex(1);
+            }
+        }, "SimpleGraphTest.testNeighborsOf");
+    }
+
     @Test
     public void testOrder() {
         test(name -> Assert.assertEquals(getProfile(name).order, getSimpleGraph(name).order()),
@@ -266,6 +381,86 @@ public class SimpleGraphTest extends UnitTestClass {
         }
     }
 
+    @Test
+    public void testRemoveInsertSwapAgainstMatrix() {
+        Random random = new Random(21);
+        SimpleGraph graph = new SimpleGraph(40);
+        ArrayList<ArrayList<Integer>> matrix = new ArrayList<>();
+        for (int v = 0; v < 40; v++) {
+            matrix.add(new ArrayList<>());
+            for (int n = 0; n < 40; n++) {
+                matrix.get(v).add(0);
+            }
+        }
+
+        for (int step = 0; step < 3000; step++) {
+            int order = matrix.size();
+            int operation = random.nextInt(order < 10 ? 4 : 7);
+            if (operation <= 2 && order > 1) {
+                int v1 = random.nextInt(order);
+                int v2 = random.nextInt(order);
+                int weight = v1 == v2 ? 0 : random.nextInt(4);
+                if (weight == 0) {
+                    graph.removeEdge(v1, v2);
+                } else {
+                    graph.addEdge(v1, v2, weight);
+                }
+                matrix.get(v1).set(v2, weight);
+            } else if (operation == 3) {
+                int v = random.nextInt(order + 1);
+                graph.addVertex(v);
+                for (ArrayList<Integer> row : matrix) {
+                    row.add(v, 0);
+                }
+                matrix.add(v, new ArrayList<>());
+                for (int n = 0; n <= order; n++) {
+                    matrix.get(v).add(0);
+                }
+            } else if (operation == 4) {
+                int v1 = random.nextInt(order);
+                int v2 = random.nextInt(order);
+                graph.swap(v1, v2);
+                swapRows(matrix, v1, v2);
+            } else if (operation == 5 && step % 50 == 0) {
+                graph.compact();
+            } else if (order > 0) {
+                int v = random.nextInt(order);
+                graph.removeVertex(v);
+                matrix.remove(v);
+                for (ArrayList<Integer> row : matrix) {
+                    row.remove(v);
+                }
+            }
+
+            assertMatches(matrix, graph);
+        }
+
+        graph.compact();
+        assertMatches(matrix, graph);
+        Assert.assertEquals(graph, graph.clone());
+    }
+
+    @Test
+    public void testCompact() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            SimpleGraph clone = graph.clone();
+            clone.addVertex(0);
+            clone.swap(0, clone.order() - 1);
+            clone.swap(0, clone.order() - 1);
+            clone.removeVertex(0);
+            Assert.assertEquals(graph, clone);
+            Assert.assertEquals(graph.getEdges(), clone.getEdges());
+
+            clone.compact();
+            Assert.assertEquals(graph, clone);
+            Assert.assertEquals(graph.getEdges(), clone.getEdges());
+            for (int v = 0; v < graph.order(); v++) {
+                Assert.assertEquals(graph.neighborsOf(v), clone.neighborsOf(v));
+            }
+        }, "SimpleGraphTest.testCompact");
+    }
+
     @Test
     public void testSize() {
         test(name -> Assert.assertEquals(getProfile(name).size, getSimpleGraph(name).size()),
@@ -338,6 +533,35 @@ public class SimpleGraphTest extends UnitTestClass {
         return scaledGraph;
     }
 
+    private void assertMatches(ArrayList<ArrayList<Integer>> matrix, SimpleGraph graph) {
+        Assert.assertEquals(matrix.size(), graph.order());
+        int size = 0;
+        for (int v = 0; v < matrix.size(); v++) {
+            HashSet<Integer> neighbors = new HashSet<>();
+            for (int n = 0; n < matrix.size(); n++) {
+                Assert.assertEquals((int) matrix.get(v).get(n), graph.getEdgeWeight(v, n));
+                if (matrix.get(v).get(n) != 0) {
+                    neighbors.add(n);
+                }
+            }
+            Assert.assertEquals(neighbors, graph.neighborsOf(v));
+            size += neighbors.size();
+        }
+        Assert.assertEquals(size, graph.size());
+        Assert.assertEquals(size, graph.getEdges().size());
+    }
+
+    private void swapRows(ArrayList<ArrayList<Integer>> matrix, int v1, int v2) {
+        ArrayList<Integer> row = matrix.get(v1);
+        matrix.set(v1, matrix.get(v2));
+        matrix.set(v2, row);
+        for (ArrayList<Integer> r : matrix) {
+            int weight = r.get(v1);
+            r.set(v1, r.get(v2));
+            r.set(v2, weight);
+        }
+    }
+
     private void testAddEdge(SimpleGraph graph, Edge edge, boolean assertChanged) {
         int weightBefore = graph.getEdgeWeight(edge);
 
@@ -1,6 +1,14 @@
 package test.java.search;
 
+import main.java.distance.Distance;
+import main.java.graph.Graph;
+import main.java.graph.GraphBuilder;
+import main.java.graph.GraphType;
 import main.java.graph.simple.SimpleGraph;
+import main.java.graph.simple.UndirectedGraph;
+import main.java.search.BreadthFirstSearch;
+import main.java.search.DepthFirstSearch;
+import main.java.search.ParallelBreadthFirstSearch;
 import main.java.search.Search;
 import org.junit.Assert;
 import org.junit.Test;
@@ -26,6 +34,87 @@ public class SearchTest extends UnitTestClass {
         }, "SearchTest.testBfs");
     }
 
+    @Test
+    public void testBfsDistances() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            if (graph.order() > 0) {
+                Assert.assertArrayEquals(getProfile(name).unweightedDistance, Search.bfsDistances(graph, 0));
+            }
+        }, "SearchTest.testBfsDistances");
+    }
+
+    @Test
+    public void testBreadthFirstSearchModes() {
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder().graphType(graphType).order(200).size(size).build();
+
+                for (BreadthFirstSearch.Mode mode : BreadthFirstSearch.Mode.values()) {
+                    BreadthFirstSearch bfs = new BreadthFirstSearch(graph, mode);
+                    for (int s = 0; s < graph.order(); s += 13) {
+                        int[] expected = Distance.distances(graph, s);
+                        Assert.assertArrayEquals(expected, bfs.distances(s));
+                        Assert.assertArrayEquals(new int[] {expected[7], expected[s], expected[199]},
+                                bfs.distances(s, 7, s, 199));
+
+                        for (int t = 0; t < graph.order(); t += 11) {
+                            ArrayList<Integer> path = bfs.path(s, t);
+                            if (expected[t] == Distance.UNREACHABLE) {
+                                Assert.assertNull(path);
+                                continue;
+                            }
+
+                            Assert.assertEquals(expected[t], path.size() - 1);
+                            Assert.assertEquals(s, path.get(0).intValue());
+                            Assert.assertEquals(t, path.get(path.size() - 1).intValue());
+                            for (int i = 1; i < path.size(); i++) {
+                                Assert.assertTrue(graph.hasEdge(path.get(i - 1), path.get(i)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelBreadthFirstSearch() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            try (ParallelBreadthFirstSearch bfs = new ParallelBreadthFirstSearch(graph, 4)) {
+                if (graph.order() > 0) {
+                    Assert.assertArrayEquals(getProfile(name).unweightedDistance, bfs.distances(0));
+                }
+            }
+        }, "SearchTest.testParallelBreadthFirstSearch");
+
+        for (GraphType graphType : new GraphType[] {GraphType.SIMPLE, GraphType.UNDIRECTED}) {
+            for (GraphBuilder.Size size : GraphBuilder.Size.values()) {
+                Graph graph = new GraphBuilder().graphType(graphType).order(1000).size(size).build();
+                BreadthFirstSearch sequential = new BreadthFirstSearch(graph);
+
+                try (ParallelBreadthFirstSearch parallel = new ParallelBreadthFirstSearch(graph, 4)) {
+                    for (int s = 0; s < graph.order(); s += 201) {
+                        int[] expected = sequential.distances(s);
+                        Assert.assertArrayEquals(expected, parallel.distances(s));
+
+                        for (int t = 0; t < graph.order(); t += 97) {
+                            ArrayList<Integer> path = parallel.path(s, t);
+                            Assert.assertEquals(sequential.path(s, t) == null, path == null);
+                            if (path != null) {
+                                Assert.assertEquals(expected[t], path.size() - 1);
+                                for (int i = 1; i < path.size(); i++) {
+                                    Assert.assertTrue(graph.hasEdge(path.get(i - 1), path.get(i)));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Test
     public void testDfs() {
         test(name -> {
@@ -38,4 +127,52 @@ public class SearchTest extends UnitTestClass {
             }
         }, "SearchTest.testDfs");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDepthFirstSearch() {
+        test(name -> {
+            SimpleGraph graph = getSimpleGraph(name);
+            DepthFirstSearch search = new DepthFirstSearch(graph);
+            for (int v = 0; v < graph.order(); v++) {
+                search.run(v);
+            }
+
+            for (int v = 0; v < graph.order(); v++) {
+                Assert.assertTrue(search.isVisited(v));
+                Assert.assertTrue(search.discovery()[v] < search.finish()[v]);
+
+                int parent = search.parents()[v];
+                if (parent != -1) {
+                    Assert.assertTrue(graph.hasEdge(parent, v));
+                    Assert.assertTrue(search.discovery()[parent] < search.discovery()[v]);
+                    Assert.assertTrue(search.finish()[v] < search.finish()[parent]);
+                }
+            }
+        }, "SearchTest.testDepthFirstSearch");
+
+        int order = 100000;
+        UndirectedGraph path = new UndirectedGraph(order);
+        for (int v = 1; v < order; v++) {
+            path.addEdge(v - 1, v);
+        }
+
+        ArrayList<Integer> dfsPath = Search.dfs(path, 0);
+        Assert.assertEquals(order, dfsPath.size());
+        Assert.assertEquals(order - 1, dfsPath.get(order - 1).intValue());
+        Assert.assertEquals(order, Search.dfs(path, 0, order - 1).size());
+        Assert.assertFalse(path.isCyclic());
+
+        path.addEdge(order - 1, 0);
+        Assert.assertTrue(path.isCyclic());
+
+        DepthFirstSearch search = new DepthFirstSearch(path);
+        int[] visits = new int[1];
+        Assert.assertTrue(search.run(0, new DepthFirstSearch.Visitor() {
+            @Override
+            public boolean preOrder(int v, int parent) {
+                return ++visits[0] == 10;
+            }
+        }));
+        Assert.assertEquals(10, visits[0]);
+    }
+}
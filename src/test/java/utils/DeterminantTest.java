@@ -0,0 +1,86 @@
+package test.java.utils;
+
+import main.java.utils.Determinant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public class DeterminantTest {
+    @Test
+    public void testBareiss() {
+        Assert.assertEquals(BigInteger.ONE, Determinant.bareiss(new long[0][0]));
+        Assert.assertEquals(BigInteger.valueOf(-7), Determinant.bareiss(new long[][] {{-7}}));
+        Assert.assertEquals(BigInteger.valueOf(-2), Determinant.bareiss(new long[][] {{1, 2}, {3, 4}}));
+        // The first pivot is zero, so a row swap flips the sign.
+        Assert.assertEquals(BigInteger.valueOf(-1), Determinant.bareiss(new long[][] {{0, 1}, {1, 0}}));
+        Assert.assertEquals(BigInteger.ZERO, Determinant.bareiss(new long[][] {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}}));
+
+        // Large entries overflow long and finish in BigInteger.
+        long big = 1L << 40;
+        BigInteger expected = BigInteger.valueOf(big).pow(2).subtract(BigInteger.ONE);
+        Assert.assertEquals(expected, Determinant.bareiss(new long[][] {{big, 1}, {1, big}}));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> Determinant.bareiss(new long[][] {{1, 2}}));
+    }
+
+    @Test
+    public void testDixon() {
+        Random random = new Random(23);
+        for (int n : new int[] {1, 10, 40}) {
+            long[][] matrix = new long[n][n];
+            for (long[] row : matrix) {
+                for (int j = 0; j < n; j++) {
+                    row[j] = random.nextInt(201) - 100;
+                }
+            }
+
+            BigInteger expected = Determinant.bareiss(matrix);
+            Assert.assertEquals(expected, Determinant.dixon(matrix, Determinant.hadamardBits(matrix)));
+
+            // A common factor in every entry leaves a large cofactor for the residues to find.
+            long[][] scaled = new long[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    scaled[i][j] = 30 * matrix[i][j];
+                }
+            }
+            Assert.assertEquals(expected.multiply(BigInteger.valueOf(30).pow(n)),
+                    Determinant.dixon(scaled, Determinant.hadamardBits(scaled)));
+
+            matrix[n - 1] = matrix[0].clone();
+            Assert.assertEquals(n == 1 ? expected : BigInteger.ZERO,
+                    Determinant.dixon(matrix, Determinant.hadamardBits(matrix)));
+        }
+
+        // Entries too large to lift in a long fall back to the multi-modular method.
+        long[][] large = {{1L << 40, 3}, {5, 1L << 41}};
+        Assert.assertEquals(Determinant.bareiss(large), Determinant.dixon(large, Determinant.hadamardBits(large)));
+    }
+
+    @Test
+    public void testMultiModular() {
+        Random random = new Random(19);
+        for (int n : new int[] {1, 5, 30, 60}) {
+            long[][] matrix = new long[n][n];
+            for (long[] row : matrix) {
+                for (int j = 0; j < n; j++) {
+                    row[j] = random.nextInt(2001) - 1000;
+                }
+            }
+
+            BigInteger expected = Determinant.bareiss(matrix);
+            Assert.assertEquals(expected, Determinant.multiModular(matrix, Determinant.hadamardBits(matrix)));
+            Assert.assertEquals(expected, Determinant.compute(matrix));
+
+            matrix[n - 1] = matrix[0].clone();
+            Assert.assertEquals(n == 1 ? expected : BigInteger.ZERO,
+                    Determinant.multiModular(matrix, Determinant.hadamardBits(matrix)));
+        }
+
+        long prime = 1_000_003;
+        Assert.assertEquals(prime - 2, Determinant.modular(new long[][] {{1, 2}, {3, 4}}, prime));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Determinant.modular(new long[][] {{1}}, 1L << 40));
+    }
+}
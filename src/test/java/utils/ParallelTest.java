@@ -0,0 +1,38 @@
+package test.java.utils;
+
+import main.java.utils.Parallel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ParallelTest {
+    @Test
+    public void testForEach() {
+        for (int count : new int[] {0, 1, 7, 100, 10_000}) {
+            for (int chunk : new int[] {1, 3, 64, 20_000}) {
+                AtomicIntegerArray visits = new AtomicIntegerArray(count);
+                Parallel.forEach(count, chunk, visits::incrementAndGet);
+                for (int i = 0; i < count; i++) {
+                    Assert.assertEquals(1, visits.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testForRanges() {
+        AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+        Parallel.forRanges(1000, 64, (from, to) -> {
+            Assert.assertTrue(from < to && to - from <= 64);
+            for (int i = from; i < to; i++) {
+                visits.incrementAndGet(i);
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(1, visits.get(i));
+        }
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> Parallel.forEach(10, 0, i -> { }));
+    }
+}
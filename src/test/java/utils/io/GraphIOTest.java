@@ -3,12 +3,18 @@ package test.java.utils.io;
 import main.java.graph.Graph;
 import main.java.graph.GraphBuilder;
 import main.java.graph.GraphType;
+import main.java.graph.csr.CsrGraph;
+import main.java.graph.csr.OffHeapCsrGraph;
 import main.java.utils.Log;
 import main.java.utils.io.FileType;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Optional;
 
@@ -22,6 +28,108 @@ public class GraphIOTest {
         testReadAndWriteFileType(FileType.EDGE_LIST);
     }
 
+    @Test
+    public void testBinaryCsr() throws IOException {
+        // Each case gets its own file, so no file is rewritten or deleted while it is mapped.
+        for (Graph graph : getTestGraphs(true)) {
+            String path = binaryTestFile();
+            graph.write(FileType.BINARY_CSR, path);
+            Optional<Graph> newGraph = Graph.read(path);
+
+            Assert.assertTrue(newGraph.isPresent());
+            Assert.assertTrue(newGraph.get() instanceof OffHeapCsrGraph);
+            try (OffHeapCsrGraph mapped = (OffHeapCsrGraph) newGraph.get()) {
+                Assert.assertEquals(graph.isDirected(), mapped.isDirected());
+
+                CsrGraph expected = CsrGraph.of(graph);
+                CsrGraph actual = mapped.toCsrGraph();
+                Assert.assertArrayEquals(expected.offsets(), actual.offsets());
+                Assert.assertArrayEquals(expected.targets(), actual.targets());
+                Assert.assertArrayEquals(expected.weights(), actual.weights());
+            }
+        }
+
+        Graph graph = new GraphBuilder().graphType(GraphType.SIMPLE).order(10).size(GraphBuilder.Size.MEDIUM).build();
+
+        // Writing a mapped graph back to its own file replaces the file instead of truncating the
+        // pages it is reading, and both the old and the new mapping stay readable.
+        String mappedPath = binaryTestFile();
+        graph.write(FileType.BINARY_CSR, mappedPath);
+        OffHeapCsrGraph mapped = (OffHeapCsrGraph) Graph.read(mappedPath).orElseThrow();
+        mapped.write(FileType.BINARY_CSR, mappedPath);
+        OffHeapCsrGraph rewritten = (OffHeapCsrGraph) Graph.read(mappedPath).orElseThrow();
+        CsrGraph expected = CsrGraph.of(graph);
+        for (OffHeapCsrGraph read : new OffHeapCsrGraph[] {mapped, rewritten}) {
+            Assert.assertArrayEquals(expected.targets(), read.toCsrGraph().targets());
+            Assert.assertArrayEquals(expected.weights(), read.toCsrGraph().weights());
+        }
+        Assert.assertEquals(1, new File(mappedPath).getParentFile()
+                .list((dir, name) -> name.startsWith(new File(mappedPath).getName())).length);
+
+        String truncated = binaryTestFile();
+        graph.write(FileType.BINARY_CSR, truncated);
+        try (RandomAccessFile file = new RandomAccessFile(truncated, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        Assert.assertTrue(Graph.read(truncated).isEmpty());
+
+        String unknownVersion = binaryTestFile();
+        graph.write(FileType.BINARY_CSR, unknownVersion);
+        try (RandomAccessFile file = new RandomAccessFile(unknownVersion, "rw")) {
+            file.seek(4);
+            file.write(2);
+        }
+        Assert.assertTrue(Graph.read(unknownVersion).isEmpty());
+    }
+
+    @Test
+    public void testDenseRoundTrip() throws IOException {
+        Graph simple = new GraphBuilder()
+                .graphType(GraphType.SIMPLE)
+                .order(100)
+                .size(GraphBuilder.Size.COMPLETE)
+                .weighted(true)
+                .build();
+        Graph bitset = GraphType.DENSE_BITSET.fromAdjacencyMatrix(simple.getAdjacencyMatrix()).orElseThrow();
+
+        for (Graph graph : new Graph[] {simple, bitset}) {
+            graph.write(FileType.ADJACENCY_MATRIX, TEST_LOCATION);
+            Optional<Graph> newGraph = Graph.read(TEST_LOCATION);
+            deleteTestFile();
+
+            Assert.assertTrue(newGraph.isPresent());
+            Assert.assertEquals(graph.getType(), newGraph.get().getType());
+            Assert.assertEquals(graph, newGraph.get());
+        }
+
+        // A file that names no graph type is read as GRAPH, which picks the bitset form here.
+        for (String header : new String[] {"!amatrix", "!amatrix !graph"}) {
+            simple.write(FileType.ADJACENCY_MATRIX, TEST_LOCATION);
+            String text = Files.readString(Path.of(TEST_LOCATION));
+            Files.writeString(Path.of(TEST_LOCATION), header + text.substring(text.indexOf('\n')));
+            Optional<Graph> newGraph = Graph.read(TEST_LOCATION);
+            deleteTestFile();
+
+            Assert.assertEquals(GraphType.DENSE_BITSET, newGraph.orElseThrow().getType());
+            Assert.assertEquals(simple.getEdges(), newGraph.get().getEdges());
+        }
+    }
+
+    private String binaryTestFile() throws IOException {
+        File file = File.createTempFile("test_graph", ".bcsr");
+        file.deleteOnExit();
+        return file.getPath();
+    }
+
+    private void deleteTestFile() {
+        File testFile = new File(TEST_LOCATION);
+        if (testFile.delete()) {
+            Log.d("Successfully deleted the test file");
+        } else {
+            Log.w("Failed to delete the test file");
+        }
+    }
+
     private ArrayList<Graph> getTestGraphs(boolean weighted) {
         ArrayList<Graph> testGraphs = new ArrayList<>();
 
@@ -57,13 +165,7 @@ public class GraphIOTest {
     private void testReadAndWriteFileType(Graph graph, FileType fileType) {
         graph.write(fileType, TEST_LOCATION);
         Optional<Graph> newGraph = Graph.read(TEST_LOCATION);
-
-        File testFile = new File(TEST_LOCATION);
-        if (testFile.delete()) {
-            Log.d("Successfully deleted the test file");
-        } else {
-            Log.w("Failed to delete the test file");
-        }
+        deleteTestFile();
 
         Assert.assertFalse(newGraph.isEmpty());
         Assert.assertEquals(graph, newGraph.get());
@@ -0,0 +1,67 @@
+package test.java.utils.structures;
+
+import main.java.utils.structures.FenwickTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class FenwickTreeTest {
+    @Test
+    public void testAgainstArray() {
+        Random random = new Random(7);
+        ArrayList<Integer> counts = new ArrayList<>();
+        FenwickTree tree = new FenwickTree(1);
+
+        for (int step = 0; step < 5000; step++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || counts.isEmpty()) {
+                int count = random.nextInt(3);
+                counts.add(count);
+                tree.append(count);
+            } else if (operation == 1) {
+                int i = random.nextInt(counts.size());
+                counts.set(i, counts.get(i) + 1);
+                tree.add(i, 1);
+            } else if (operation == 2 && counts.size() > 1 && random.nextInt(4) == 0) {
+                int size = random.nextInt(counts.size());
+                counts.subList(size, counts.size()).clear();
+                tree.truncate(size);
+            }
+
+            Assert.assertEquals(counts.size(), tree.size());
+            int i = random.nextInt(counts.size() + 1);
+            int prefix = 0;
+            for (int j = 0; j < i; j++) {
+                prefix += counts.get(j);
+            }
+            Assert.assertEquals(prefix, tree.prefix(i));
+        }
+
+        int total = tree.prefix(tree.size());
+        for (int k = 0; k < total; k++) {
+            int position = tree.select(k);
+            Assert.assertTrue(tree.prefix(position) <= k);
+            Assert.assertTrue(tree.prefix(position + 1) > k);
+        }
+        Assert.assertEquals(tree.size(), tree.select(total));
+    }
+
+    @Test
+    public void testBuild() {
+        int[] counts = {1, 0, 2, 1, 1, 0, 0, 3, 1};
+        FenwickTree built = new FenwickTree(counts, counts.length);
+        FenwickTree appended = new FenwickTree(0);
+        for (int count : counts) {
+            appended.append(count);
+        }
+
+        for (int i = 0; i <= counts.length; i++) {
+            Assert.assertEquals(appended.prefix(i), built.prefix(i));
+        }
+        Assert.assertEquals(2, built.select(1));
+        Assert.assertEquals(7, built.select(5));
+        Assert.assertEquals(built.prefix(counts.length), new FenwickTree(built).prefix(counts.length));
+    }
+}
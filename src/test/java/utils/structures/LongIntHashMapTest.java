@@ -0,0 +1,68 @@
+package test.java.utils.structures;
+
+import main.java.utils.structures.EdgeList;
+import main.java.utils.structures.LongIntHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+public class LongIntHashMapTest {
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap();
+        HashMap<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = EdgeList.key(random.nextInt(200), random.nextInt(200));
+            int value = random.nextInt(10) + 1;
+
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                Assert.assertEquals(removed == null ? 0 : removed, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, value);
+                Assert.assertEquals(previous == null ? 0 : previous, map.put(key, value));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+
+        for (int v1 = 0; v1 < 200; v1++) {
+            for (int v2 = 0; v2 < 200; v2++) {
+                long key = EdgeList.key(v1, v2);
+                Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+                Assert.assertEquals(expected.getOrDefault(key, 0).intValue(), map.get(key));
+            }
+        }
+
+        HashMap<Long, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        Assert.assertEquals(expected, visited);
+        Assert.assertEquals(map, new LongIntHashMap(map));
+    }
+
+    @Test
+    public void testExtremeKeys() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        map.put(Long.MIN_VALUE, 3);
+        map.put(Long.MAX_VALUE, 4);
+        map.put(0, 5);
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(3, map.get(Long.MIN_VALUE));
+        Assert.assertEquals(4, map.get(Long.MAX_VALUE));
+        Assert.assertEquals(3, map.remove(Long.MIN_VALUE));
+        Assert.assertFalse(map.containsKey(Long.MIN_VALUE));
+        Assert.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testKeyEncoding() {
+        long key = EdgeList.key(7, Integer.MAX_VALUE);
+        Assert.assertEquals(7, EdgeList.v1(key));
+        Assert.assertEquals(Integer.MAX_VALUE, EdgeList.v2(key));
+        Assert.assertNotEquals(EdgeList.key(1, 2), EdgeList.key(2, 1));
+    }
+}
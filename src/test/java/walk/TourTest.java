@@ -1,15 +1,22 @@
 package test.java.walk;
 
+import main.java.graph.Graph;
+import main.java.graph.simple.SimpleGraph;
+import main.java.graph.simple.UndirectedGraph;
+import main.java.utils.structures.Edge;
+import main.java.walk.Tour;
 import org.junit.Assert;
 import org.junit.Test;
 import test.java.UnitTestClass;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
 
 public class TourTest extends UnitTestClass {
     @Test
-    public void testFleury() {
+    public void testHierholzer() {
         Assert.assertEquals(
                 new ArrayList<>(Arrays.asList(0, 2, 0, 3, 1, 2, 1, 3, 0)),
                 getSimpleGraph(BIPARTITE).getEulerTour()
@@ -26,5 +33,52 @@ public class TourTest extends UnitTestClass {
                 new ArrayList<>(),
                 getSimpleGraph(ZERO).getEulerTour()
         );
+
+        // An open trail starts at the vertex with an extra outgoing edge, or an odd vertex.
+        SimpleGraph path = new SimpleGraph(3);
+        path.addEdge(1, 0);
+        path.addEdge(0, 2);
+        Assert.assertArrayEquals(new int[] {1, 0, 2}, Tour.hierholzer(path));
+        Assert.assertNull(path.getEulerTour());
+        Assert.assertNull(Tour.hierholzer(getUndirectedGraph(STAR)));
+        assertTrail(getUndirectedGraph(PATH), Tour.hierholzer(getUndirectedGraph(PATH)));
+
+        // A union of edge-disjoint cycles is balanced in both senses.
+        Random random = new Random(20);
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph graph = directed ? new SimpleGraph(500) : new UndirectedGraph(500);
+            for (int c = 0; c < 400; c++) {
+                int[] cycle = random.ints(0, 500).distinct().limit(6).toArray();
+                boolean disjoint = true;
+                for (int i = 0; i < cycle.length; i++) {
+                    int u = cycle[i];
+                    int v = cycle[(i + 1) % cycle.length];
+                    disjoint &= !graph.hasEdge(u, v) && !graph.hasEdge(v, u);
+                }
+                for (int i = 0; disjoint && i < cycle.length; i++) {
+                    graph.addEdge(cycle[i], cycle[(i + 1) % cycle.length]);
+                }
+            }
+
+            Assert.assertTrue(graph.isEulerian());
+            assertTrail(graph, Tour.hierholzer(graph));
+            Assert.assertEquals(graph.size() + 1, graph.getEulerTour().size());
+        }
+    }
+
+    /**
+     * Checks that a trail walks along every edge of a graph exactly once.
+     */
+    private static void assertTrail(Graph graph, int[] trail) {
+        Assert.assertNotNull(trail);
+        Assert.assertEquals(graph.size() + 1, trail.length);
+
+        HashSet<Edge> walked = new HashSet<>();
+        for (int i = 0; i + 1 < trail.length; i++) {
+            Assert.assertTrue(graph.hasEdge(trail[i], trail[i + 1]));
+            Edge edge = graph.isDirected() ? new Edge(trail[i], trail[i + 1])
+                    : new Edge(Math.min(trail[i], trail[i + 1]), Math.max(trail[i], trail[i + 1]));
+            Assert.assertTrue(walked.add(edge));
+        }
     }
-}
\ No newline at end of file
+}